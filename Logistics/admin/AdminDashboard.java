@@ -2,6 +2,8 @@ package admin;
 
 import admin.management.*;
 import logistics.login.Login;
+import logistics.ui.AppScheduler;
+import logistics.ui.ImageCache;
 
 import javax.swing.*;
 import java.awt.*;
@@ -157,11 +159,9 @@ public class AdminDashboard extends JFrame {
         JPanel leftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 15));
         leftPanel.setOpaque(false);
 
-        ImageIcon logoIcon = loadLogo("logo.at.png");
+        ImageIcon logoIcon = ImageCache.getInstance().getIcon(getClass(), "logo.at.png", 50, 50);
         if (logoIcon != null) {
-            Image img = logoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(50, 50, Image.SCALE_SMOOTH);
-            JLabel logoLabel = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoLabel = new JLabel(logoIcon);
             leftPanel.add(logoLabel);
         } else {
             JLabel logoLabel = new JLabel("LX");
@@ -196,10 +196,9 @@ public class AdminDashboard extends JFrame {
         timeLabel.setForeground(Color.WHITE);
         timePanel.add(timeLabel);
 
-        Timer timer = new Timer(1000, e -> 
+        AppScheduler.getInstance().everyNow(this, "clock", 1000, () ->
             timeLabel.setText(new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss").format(new Date()))
         );
-        timer.start();
 
         rightPanel.add(timePanel);
 
@@ -241,11 +240,9 @@ public class AdminDashboard extends JFrame {
         logoPanel.setOpaque(false);
         logoPanel.setBorder(BorderFactory.createEmptyBorder(30, 15, 25, 15));
 
-        ImageIcon mainLogoIcon = loadLogo("logo.a.jpeg");
+        ImageIcon mainLogoIcon = ImageCache.getInstance().getIcon(getClass(), "logo.a.jpeg", 80, 80);
         if (mainLogoIcon != null) {
-            Image img = mainLogoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-            JLabel logoImage = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoImage = new JLabel(mainLogoIcon);
             logoImage.setHorizontalAlignment(SwingConstants.CENTER);
             logoPanel.add(logoImage, BorderLayout.NORTH);
         } else {
@@ -426,23 +423,6 @@ public class AdminDashboard extends JFrame {
         return btn;
     }
 
-    private ImageIcon loadLogo(String filename) {
-        try {
-            java.net.URL imgURL = getClass().getResource(filename);
-            if (imgURL != null) {
-                return new ImageIcon(imgURL);
-            } else {
-                java.io.File file = new java.io.File(filename);
-                if (file.exists()) {
-                    return new ImageIcon(file.getAbsolutePath());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Could not load logo: " + filename);
-        }
-        return null;
-    }
-
     // ================= CONTENT PANEL =================
     private JPanel createContentPanel() {
         cardLayout = new CardLayout();
@@ -535,7 +515,7 @@ public class AdminDashboard extends JFrame {
         status.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         status.setForeground(TEXT_GRAY);
         
-        Timer statusTimer = new Timer(30000, e -> {
+        AppScheduler.getInstance().everyNow(this, "status-bar", 30000, () -> {
             try {
                 int orders = orderManagement != null ? orderManagement.getTotalCount() : 0;
                 int vehicles = vehicleManagement != null ? vehicleManagement.getTotalCount() : 0;
@@ -546,8 +526,6 @@ public class AdminDashboard extends JFrame {
                 status.setText("  System Status: ● Online | Loading stats...");
             }
         });
-        statusTimer.setInitialDelay(0);
-        statusTimer.start();
         
         bar.add(status, BorderLayout.WEST);
 
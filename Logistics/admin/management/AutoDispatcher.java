@@ -0,0 +1,301 @@
+package admin.management;
+
+import logistics.driver.Driver;
+import logistics.driver.DriverBalancer;
+import logistics.driver.DriverStorage;
+import logistics.geo.DistanceMatrix;
+import logistics.geo.Location;
+import logistics.orders.EtaModel;
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+import logistics.orders.OrderStorage;
+
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns every unassigned Pending order, and every unassigned order the SLA
+ * monitor has already marked Delayed, to a driver in one pass.
+ *
+ * A driver takes part only if they are approved and Available, have spare
+ * capacity (Driver.MAX_ACTIVE_ORDERS), and their vehicle is Active, has valid
+ * road tax and is a type their licence allows. An order only goes to a driver
+ * whose vehicle still has room for it by weight and volume (LoadPlanner). The
+ * cost of giving an order to a driver is the road distance from where the
+ * driver is - the destination of their last current order, or their home
+ * address - to the pickup, plus LOAD_PENALTY_KM for every order already planned
+ * for them and for their DriverBalancer load, so work is spread out and the
+ * drivers the balancer would suggest come first. Each order's candidates are
+ * ranked in parallel; the plan is then built greedily from the cheapest offer
+ * across all orders, Express orders first.
+ *
+ * plan() does not change anything; commit() writes orders.txt and drivers.txt
+ * once each for the whole plan.
+ */
+public class AutoDispatcher {
+    private static final double LOAD_PENALTY_KM = 25;
+    private static final int PARALLEL_PAIRS = 20000;
+
+    private final DistanceMatrix distances;
+
+    public AutoDispatcher(DistanceMatrix distances) {
+        this.distances = distances;
+    }
+
+    public AutoDispatcher() {
+        this(DistanceMatrix.getInstance());
+    }
+
+    public static class Assignment {
+        public final Order order;
+        public final Driver driver;
+        public final double pickupKm;
+        public final String vehicleType;
+
+        Assignment(Order order, Driver driver, double pickupKm, String vehicleType) {
+            this.order = order;
+            this.driver = driver;
+            this.pickupKm = pickupKm;
+            this.vehicleType = vehicleType;
+        }
+    }
+
+    public static class Plan {
+        private final List<Assignment> assignments = new ArrayList<>();
+        private final List<Order> unassigned = new ArrayList<>();
+        private final Map<String, String> skippedDrivers = new LinkedHashMap<>();
+
+        public List<Assignment> getAssignments() {
+            return assignments;
+        }
+
+        /** Pending orders no eligible driver had room for. */
+        public List<Order> getUnassigned() {
+            return unassigned;
+        }
+
+        /** Driver id to the reason the driver was left out. */
+        public Map<String, String> getSkippedDrivers() {
+            return skippedDrivers;
+        }
+
+        public double getTotalPickupKm() {
+            double total = 0;
+            for (Assignment a : assignments) total += a.pickupKm;
+            return total;
+        }
+
+        public boolean isEmpty() {
+            return assignments.isEmpty();
+        }
+    }
+
+    /** True for orders the dispatcher will pick up. */
+    public static boolean isDispatchable(Order o) {
+        return ("Pending".equals(o.status) || "Delayed".equals(o.status))
+            && (o.driverId == null || o.driverId.isEmpty());
+    }
+
+    /** Why the driver cannot be dispatched with the vehicle, or null if they can. */
+    public static String ineligibility(Driver d, VehicleManagement.Vehicle vehicle) {
+        if (!d.isAvailable()) return "not available";
+        if (d.getCurrentOrderCount() >= Driver.MAX_ACTIVE_ORDERS) return "at capacity";
+        if (d.vehicleId == null || d.vehicleId.isEmpty()) return "no vehicle";
+        if (vehicle == null) return "vehicle " + d.vehicleId + " not found";
+        if (!"Active".equals(vehicle.status)) return "vehicle " + vehicle.id + " is " + vehicle.status;
+        if (VehicleManagement.isRoadTaxExpired(vehicle)) return "road tax expired on " + vehicle.id;
+        if (!VehicleManagement.canDriverDriveVehicleType(d.licenseType, vehicle.type)) {
+            return "licence " + d.licenseType + " does not cover " + vehicle.type;
+        }
+        return null;
+    }
+
+    public Plan plan(List<Order> orders, List<Driver> drivers, List<VehicleManagement.Vehicle> vehicles) {
+        Plan plan = new Plan();
+
+        Map<String, VehicleManagement.Vehicle> vehiclesById = new HashMap<>();
+        for (VehicleManagement.Vehicle v : vehicles) vehiclesById.put(v.id, v);
+
+        List<Driver> eligible = new ArrayList<>();
+        for (Driver d : drivers) {
+            String reason = ineligibility(d, vehiclesById.get(d.vehicleId));
+            if (reason == null) {
+                eligible.add(d);
+            } else if (d.isApproved()) {
+                plan.skippedDrivers.put(d.id, reason);
+            }
+        }
+
+        List<Order> pending = new ArrayList<>();
+        for (Order o : orders) {
+            if (isDispatchable(o)) pending.add(o);
+        }
+        if (pending.isEmpty()) return plan;
+        if (eligible.isEmpty()) {
+            plan.unassigned.addAll(pending);
+            return plan;
+        }
+
+        int driverCount = eligible.size();
+        int[] driverAt = new int[driverCount];
+        int[] room = new int[driverCount];
+        double[] busyKm = new double[driverCount];
+        LoadPlanner.Load[] loads = new LoadPlanner.Load[driverCount];
+        for (int d = 0; d < driverCount; d++) {
+            Driver driver = eligible.get(d);
+            driverAt[d] = distances.indexOf(positionOf(driver));
+            room[d] = Driver.MAX_ACTIVE_ORDERS - driver.getCurrentOrderCount();
+            busyKm[d] = DriverBalancer.loadOf(driver) * LOAD_PENALTY_KM;
+            loads[d] = new LoadPlanner.Load(vehiclesById.get(driver.vehicleId));
+            for (String id : driver.getCurrentOrderIds()) {
+                Order onBoard = OrderIndex.getInstance().get(id);
+                if (onBoard != null) loads[d].addOnBoard(onBoard);
+            }
+        }
+
+        // Every driver ranked by distance to each order's pickup plus how busy they already are
+        int orderCount = pending.size();
+        float[][] km = new float[orderCount][];
+        int[][] ranked = new int[orderCount][];
+        IntStream range = IntStream.range(0, orderCount);
+        if ((long) orderCount * driverCount >= PARALLEL_PAIRS) range = range.parallel();
+        range.forEach(o -> {
+            int pickup = distances.indexOf(pending.get(o).getOrigin());
+            float[] row = new float[driverCount];
+            Integer[] order = new Integer[driverCount];
+            for (int d = 0; d < driverCount; d++) {
+                row[d] = (float) distances.km(driverAt[d], pickup);
+                order[d] = d;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(row[a] + busyKm[a], row[b] + busyKm[b]));
+            int[] ranking = new int[driverCount];
+            for (int i = 0; i < driverCount; i++) ranking[i] = order[i];
+            km[o] = row;
+            ranked[o] = ranking;
+        });
+
+        // Cheapest offer first. An offer made before its driver took another order
+        // is re-priced with the new load and put back rather than accepted.
+        int[] load = new int[driverCount];
+        boolean[] placed = new boolean[orderCount];
+        PriorityQueue<Offer> offers = new PriorityQueue<>();
+        for (int o = 0; o < orderCount; o++) {
+            int d = ranked[o][0];
+            offers.add(new Offer(o, 0, d, km[o][d] + busyKm[d], 0, pending.get(o).isExpress()));
+        }
+
+        while (!offers.isEmpty()) {
+            Offer offer = offers.poll();
+            if (placed[offer.order]) continue;
+
+            int d = offer.driver;
+            if (load[d] >= room[d] || !loads[d].fits(pending.get(offer.order))) {
+                int next = offer.rank + 1;
+                if (next < driverCount) {
+                    int nd = ranked[offer.order][next];
+                    offers.add(new Offer(offer.order, next, nd,
+                        km[offer.order][nd] + busyKm[nd] + LOAD_PENALTY_KM * load[nd], load[nd], offer.express));
+                }
+                continue;
+            }
+            if (load[d] != offer.load) {
+                offers.add(new Offer(offer.order, offer.rank, d,
+                    km[offer.order][d] + busyKm[d] + LOAD_PENALTY_KM * load[d], load[d], offer.express));
+                continue;
+            }
+
+            placed[offer.order] = true;
+            load[d]++;
+            loads[d].add(pending.get(offer.order));
+            plan.assignments.add(new Assignment(pending.get(offer.order), eligible.get(d), km[offer.order][d],
+                loads[d].getVehicle().type));
+        }
+
+        for (int o = 0; o < orderCount; o++) {
+            if (!placed[o]) plan.unassigned.add(pending.get(o));
+        }
+        return plan;
+    }
+
+    /**
+     * Applies the plan: each order becomes Assigned with its driver's vehicle and
+     * a fresh delivery estimate from EtaModel, each driver takes their orders, and both files
+     * are written once. Orders that are no longer dispatchable in the file (taken
+     * by someone else since the plan was made) are left alone. Returns the number
+     * of orders assigned.
+     */
+    public int commit(Plan plan, OrderStorage storage, DriverStorage driverStorage) {
+        if (plan.isEmpty()) return 0;
+
+        storage.loadOrders();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        List<Order> changedOrders = new ArrayList<>();
+        Map<String, Driver> changedDrivers = new LinkedHashMap<>();
+
+        for (Assignment a : plan.assignments) {
+            Order order = storage.findOrder(a.order.id);
+            if (order == null || !isDispatchable(order)) continue;
+
+            Driver driver = changedDrivers.get(a.driver.id);
+            if (driver == null) driver = driverStorage.findDriver(a.driver.id);
+            if (driver == null) continue;
+
+            Date estimate = EtaModel.getInstance().estimateDelivery(order.getOrigin(), order.getDestination(),
+                order.isExpress(), a.vehicleType);
+
+            order.driverId = driver.id;
+            order.vehicleId = driver.vehicleId;
+            if ("Delayed".equals(order.status)) order.reason = null;
+            order.status = "Assigned";
+            order.estimatedDelivery = dateFormat.format(estimate);
+            driver.assignOrder(order.id);
+
+            changedOrders.add(order);
+            changedDrivers.put(driver.id, driver);
+        }
+
+        if (changedOrders.isEmpty()) return 0;
+        storage.updateOrders(changedOrders);
+        driverStorage.updateDrivers(changedDrivers.values());
+        System.out.println("Auto-dispatched " + changedOrders.size() + " orders to "
+            + changedDrivers.size() + " drivers");
+        return changedOrders.size();
+    }
+
+    // Where the driver will be when they are free for a new pickup
+    private static Location positionOf(Driver d) {
+        List<String> current = d.getCurrentOrderIds();
+        for (int i = current.size() - 1; i >= 0; i--) {
+            Order last = OrderIndex.getInstance().get(current.get(i));
+            if (last != null && !last.getDestination().isUnknown()) {
+                return last.getDestination();
+            }
+        }
+        return Location.parse(d.address);
+    }
+
+    private static class Offer implements Comparable<Offer> {
+        final int order;
+        final int rank;
+        final int driver;
+        final double cost;
+        final int load;
+        final boolean express;
+
+        Offer(int order, int rank, int driver, double cost, int load, boolean express) {
+            this.order = order;
+            this.rank = rank;
+            this.driver = driver;
+            this.cost = cost;
+            this.load = load;
+            this.express = express;
+        }
+
+        @Override
+        public int compareTo(Offer other) {
+            if (express != other.express) return express ? -1 : 1;
+            return Double.compare(cost, other.cost);
+        }
+    }
+}
@@ -4,7 +4,13 @@ import javax.swing.*;
 import javax.swing.border.LineBorder;
 import javax.swing.border.TitledBorder;
 
+import logistics.geo.DistanceMatrix;
+import logistics.geo.Location;
+import logistics.orders.EtaModel;
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
 import logistics.orders.OrderStorage;
+import logistics.orders.QuoteEngine;
 import sender.SenderOrder;
 import sender.SenderOrderRepository;
 
@@ -71,11 +77,6 @@ public class CreateOrderPanel extends JPanel {
     
     private static final String ORDERS_FILE = "orders.txt";
     
-    private static final double INSURANCE_RATE = 0.015;
-    private static final double MIN_INSURANCE = 5.0;
-    private static final double RATE_PER_KG = 4.50;
-    private static final double RATE_PER_KM = 0.25;
-    private static final double BASE_RATE = 5.00;
     
     // Malaysian Banks list sorted alphabetically
     private static final String[] MALAYSIAN_BANKS = {
@@ -350,7 +351,7 @@ public class CreateOrderPanel extends JPanel {
         });
         weightPanel.add(weightField, BorderLayout.CENTER);
         
-        JLabel perKgRateLabel = new JLabel("  (RM " + RATE_PER_KG + " per kg)");
+        JLabel perKgRateLabel = new JLabel("  (RM " + QuoteEngine.getInstance().getRates().ratePerKg + " per kg)");
         perKgRateLabel.setFont(new Font("Segoe UI", Font.ITALIC, 11));
         perKgRateLabel.setForeground(new Color(108, 117, 125));
         weightPanel.add(perKgRateLabel, BorderLayout.EAST);
@@ -1579,43 +1580,17 @@ public class CreateOrderPanel extends JPanel {
         calculateEstimate();
     }
 
-    private double calculateDistance(String fromState, String toState) {
-        if (fromState == null || toState == null || fromState.isEmpty() || toState.isEmpty()) return 0;
-        if (fromState.equals(toState)) return 50.0;
-        
-        List<String> eastMalaysia = Arrays.asList("Sabah", "Sarawak", "Labuan");
-        List<String> westMalaysia = Arrays.asList("Selangor", "Kuala Lumpur", "Penang", "Johor", "Perak", 
-                "Negeri Sembilan", "Melaka", "Pahang", "Kedah", "Kelantan", "Terengganu", "Perlis");
-        
-        boolean fromEast = eastMalaysia.contains(fromState);
-        boolean toEast = eastMalaysia.contains(toState);
-        
-        if (fromEast != toEast) return 1500.0;
-        
-        if (westMalaysia.contains(fromState) && westMalaysia.contains(toState)) {
-            Map<String, Double> distances = new HashMap<>();
-            distances.put("Penang", 350.0); distances.put("Johor", 320.0); distances.put("Perak", 200.0);
-            distances.put("Negeri Sembilan", 70.0); distances.put("Melaka", 150.0); distances.put("Pahang", 250.0);
-            distances.put("Kedah", 400.0); distances.put("Kelantan", 450.0); distances.put("Terengganu", 400.0);
-            distances.put("Perlis", 450.0);
-            if (distances.containsKey(fromState)) return distances.get(fromState);
-            if (distances.containsKey(toState)) return distances.get(toState);
-        }
-        return 300.0;
-    }
-
-    private double getTypeMultiplier(String type) {
-        if (type == null) return 1.0;
-        if (type.equals("Other") || (customPackageType != null && !customPackageType.isEmpty())) return 1.0;
-        switch(type) {
-            case "Fragile Items": return 1.5;
-            case "Electronics": return 1.3;
-            case "Documents": return 0.8;
-            case "Food": return 1.2;
-            default: return 1.0;
-        }
+    private double calculateDistance(Location from, Location to) {
+        return DistanceMatrix.getInstance().km(from, to);
     }
     
+    // Null until a state is picked; the city and postcode narrow it down when set
+    private Location selectedLocation(JComboBox<String> stateCombo, JComboBox<String> cityCombo, JTextField postcodeField) {
+        String state = (String) stateCombo.getSelectedItem();
+        if (state == null || state.isEmpty()) return null;
+        return new Location((String) cityCombo.getSelectedItem(), state, postcodeField.getText());
+    }
+
     private String getSelectedPackageType() {
         String selected = (String) packageTypeCombo.getSelectedItem();
         if (selected == null) return null;
@@ -1632,25 +1607,21 @@ public class CreateOrderPanel extends JPanel {
             
             double weight = Double.parseDouble(weightText);
             String packageType = getSelectedPackageType();
-            String fromState = (String) fromStateCombo.getSelectedItem();
-            String toState = (String) toStateCombo.getSelectedItem();
+            Location from = selectedLocation(fromStateCombo, fromCityCombo, fromPostcodeField);
+            Location to = selectedLocation(toStateCombo, toCityCombo, toPostcodeField);
             
-            if (fromState == null || toState == null || fromState.isEmpty() || toState.isEmpty() || packageType == null) {
+            if (from == null || to == null || packageType == null) {
                 distanceLabel.setText("-- km");
                 return 0;
             }
             
-            double distance = calculateDistance(fromState, toState);
+            // Priced by the combo's choice, so custom types pay the plain rate
+            QuoteEngine.Quote quote = QuoteEngine.getInstance().quote(weight, (String) packageTypeCombo.getSelectedItem(),
+                from, to, expressSpeedRadio.isSelected(), 0);
+            double distance = quote.getDistanceKm();
             distanceLabel.setText(distance > 0 ? String.format("%.0f km", distance) : "-- km");
             
-            double total = BASE_RATE + (weight * RATE_PER_KG) + (distance * RATE_PER_KM);
-            total *= getTypeMultiplier(packageType);
-            
-            if (expressSpeedRadio.isSelected()) {
-                total *= 1.5;
-            }
-            
-            return total;
+            return quote.getShippingCost();
         } catch (NumberFormatException e) {
             return 0;
         }
@@ -1661,8 +1632,7 @@ public class CreateOrderPanel extends JPanel {
         try {
             String declaredStr = declaredValueField.getText().trim();
             if (declaredStr.isEmpty() || declaredStr.equals("Enter declared value")) return 0;
-            double declaredValue = Double.parseDouble(declaredStr);
-            return declaredValue <= 0 ? 0 : Math.max(declaredValue * INSURANCE_RATE, MIN_INSURANCE);
+            return QuoteEngine.getInstance().insuranceCost(Double.parseDouble(declaredStr));
         } catch (NumberFormatException e) {
             return 0;
         }
@@ -1754,7 +1724,7 @@ public class CreateOrderPanel extends JPanel {
                 }
                 
                 if (!hasHeader || existingLines.isEmpty()) {
-                    writer.println("# id|customerName|customerPhone|customerEmail|customerAddress|recipientName|recipientPhone|recipientAddress|status|orderDate|estimatedDelivery|actualDelivery|driverId|vehicleId|weight|dimensions|notes|reason|pickupTime|deliveryTime|distance|fuelUsed|deliveryPhoto|recipientSignature|onTime|paymentStatus|paymentMethod|transactionId|paymentDate");
+                    writer.println(Order.FILE_HEADER);
                 }
                 
                 // 写入所有现有的行，但排除要更新的订单（如果存在）
@@ -1778,6 +1748,7 @@ public class CreateOrderPanel extends JPanel {
                 writer.println(buildOrderLine(order));
                 writer.flush();
             }
+            OrderIndex.getInstance().reload();
             
             System.out.println("Order saved successfully: " + order.getId());
             
@@ -1795,7 +1766,7 @@ public class CreateOrderPanel extends JPanel {
 private String buildOrderLine(SenderOrder order) {
     SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm");
     String currentDateTime = sdf.format(new Date());
-    String estimatedDeliveryDate = calculateEstimatedDeliveryDate();
+    String estimatedDeliveryDate = calculateEstimatedDeliveryDate(order);
     String cleanNotes = order.getNotes() != null ? order.getNotes().replace("|", ";").replace("\n", " ").replace("\r", " ") : "";
     
     // 字段索引 20 对应 outForDeliveryTime，设置为空字符串
@@ -1831,15 +1802,26 @@ private String buildOrderLine(SenderOrder order) {
         "Paid",                              // 27 - paymentStatus
         safeString(order.getPaymentMethod()),// 28 - paymentMethod
         safeString(order.getTransactionId()),// 29 - transactionId
-        safeString(order.getPaymentDate() != null ? order.getPaymentDate() : currentDateTime) // 30 - paymentDate
+        safeString(order.getPaymentDate() != null ? order.getPaymentDate() : currentDateTime), // 30 - paymentDate
+        Order.formatAmount(order.getShippingCost()),  // 31 - shippingCost
+        Order.formatAmount(order.getInsuranceCost()), // 32 - insuranceCost
+        Order.formatAmount(order.getTotalAmount()),   // 33 - totalAmount
+        safeString(order.getPackageType()),           // 34 - packageType
+        order.getServiceLevel(),                      // 35 - serviceLevel
+        Order.formatAmount(order.getDeclaredValue()), // 36 - declaredValue
+        order.getOrigin().getCity(),                  // 37 - originCity
+        order.getOrigin().getState(),                 // 38 - originState
+        order.getOrigin().getPostcode(),              // 39 - originPostcode
+        order.getDestination().getCity(),             // 40 - destinationCity
+        order.getDestination().getState(),            // 41 - destinationState
+        order.getDestination().getPostcode()          // 42 - destinationPostcode
     );
 }
     
-    private String calculateEstimatedDeliveryDate() {
-        int days = standardSpeedRadio.isSelected() ? 3 : 1;
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, days);
-        return new SimpleDateFormat("yyyy-MM-dd").format(cal.getTime());
+    private String calculateEstimatedDeliveryDate(SenderOrder order) {
+        Date estimate = EtaModel.getInstance().estimateDelivery(order.getOrigin(), order.getDestination(),
+            !standardSpeedRadio.isSelected(), null);
+        return new SimpleDateFormat("yyyy-MM-dd").format(estimate);
     }
     
     private String safeString(String s) { 
@@ -2002,26 +1984,32 @@ private String buildOrderLine(SenderOrder order) {
             String selectedSpeed = expressSpeedRadio.isSelected() ? "Express" : "Standard";
             order.setEstimatedDelivery(expressSpeedRadio.isSelected() ? "Express: 1-2 business days" : "Standard: 3-5 business days");
             
-            double distance = calculateDistance(fromState, toState);
+            double distance = calculateDistance(new Location(fromCity, fromState, fromPostcode),
+                new Location(toCity, toState, toPostcode));
             String packageType = getSelectedPackageType();
             if (packageType == null) packageType = "Standard";
+            QuoteEngine.RateTable rates = QuoteEngine.getInstance().getRates();
             
             StringBuilder notes = new StringBuilder();
             notes.append("Package Type: ").append(packageType);
             notes.append("; Shipping Speed: ").append(selectedSpeed);
             notes.append("; Distance: ").append(String.format("%.0f", distance)).append(" km");
-            notes.append("; Rate per kg: RM ").append(RATE_PER_KG);
-            notes.append("; Rate per km: RM ").append(RATE_PER_KM);
-            notes.append("; Base Fee: RM ").append(BASE_RATE);
+            notes.append("; Rate per kg: RM ").append(rates.ratePerKg);
+            notes.append("; Rate per km: RM ").append(rates.ratePerKm);
+            notes.append("; Base Fee: RM ").append(rates.baseRate);
             notes.append("; Weight: ").append(weight).append(" kg");
-            notes.append("; Weight Cost: RM ").append(String.format("%.2f", weight * RATE_PER_KG));
-            notes.append("; Distance Cost: RM ").append(String.format("%.2f", distance * RATE_PER_KM));
+            notes.append("; Weight Cost: RM ").append(String.format("%.2f", weight * rates.ratePerKg));
+            notes.append("; Distance Cost: RM ").append(String.format("%.2f", distance * rates.ratePerKm));
             notes.append("; Shipping Cost: RM ").append(String.format("%.2f", shippingCost));
             notes.append("; Payment Method: ").append(paymentMethod);
             
+            double declaredValue = 0;
             if (insuranceCheckBox.isSelected()) {
                 String declaredVal = declaredValueField.getText().trim();
                 if (declaredVal.equals("Enter declared value")) declaredVal = "";
+                try {
+                    declaredValue = Double.parseDouble(declaredVal);
+                } catch (NumberFormatException e) {}
                 notes.append("; Insurance: YES (Declared Value: RM ").append(declaredVal);
                 notes.append(", Insurance Cost: RM ").append(String.format("%.2f", insuranceCost)).append(")");
             } else {
@@ -2033,6 +2021,14 @@ private String buildOrderLine(SenderOrder order) {
             if (description.equals("Describe the package contents...")) description = "";
             notes.append("; Description: ").append(description);
             order.setNotes(notes.toString());
+            order.setShippingCost(shippingCost);
+            order.setInsuranceCost(insuranceCost);
+            order.setTotalAmount(totalCost);
+            order.setPackageType(packageType);
+            order.setServiceLevel(selectedSpeed);
+            order.setDeclaredValue(declaredValue);
+            order.setOrigin(new Location(fromCity, fromState, fromPostcode));
+            order.setDestination(new Location(toCity, toState, toPostcode));
             
             // Save the order - this now preserves existing orders
             saveOrderToFile(order);
@@ -2256,7 +2252,7 @@ private String buildOrderLine(SenderOrder order) {
                 if (declaredValue > 50000) {
                     int confirm = JOptionPane.showConfirmDialog(this,
                         "Declared value is RM " + String.format("%.2f", declaredValue) + 
-                        ". Insurance premium will be RM " + String.format("%.2f", Math.max(declaredValue * INSURANCE_RATE, MIN_INSURANCE)) +
+                        ". Insurance premium will be RM " + String.format("%.2f", QuoteEngine.getInstance().insuranceCost(declaredValue)) +
                         ". Do you want to continue?",
                         "High Value Item",
                         JOptionPane.YES_NO_OPTION);
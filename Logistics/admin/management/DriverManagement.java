@@ -2,6 +2,7 @@ package admin.management;
 
 import logistics.driver.Driver;
 import logistics.driver.DriverStorage;
+import logistics.ui.ThumbnailService;
 
 import javax.swing.*;
 import javax.swing.border.*;
@@ -793,11 +794,7 @@ public class DriverManagement extends AdminManagementModule {
         JLabel detailPhotoLabel = new JLabel();
         detailPhotoLabel.setPreferredSize(new Dimension(96, 96));
         
-        if (driver.photoPath != null) {
-            detailPhotoLabel.setIcon(loadDriverPhoto(driver.photoPath, 96, 96));
-        } else {
-            detailPhotoLabel.setIcon(createDefaultPhoto(96, 96, driver.name));
-        }
+        loadDriverPhotoAsync(detailPhotoLabel, driver.photoPath, 96, 96, driver.name);
         
         photoPanel.add(detailPhotoLabel);
         
@@ -956,13 +953,7 @@ public class DriverManagement extends AdminManagementModule {
         licensePhotoIconLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
         if (licensePhotoPath != null && !licensePhotoPath.isEmpty()) {
-            ImageIcon icon = loadDriverPhoto(licensePhotoPath, 100, 100);
-            if (icon != null) {
-                licensePhotoIconLabel.setIcon(icon);
-            } else {
-                licensePhotoIconLabel.setText("No Image");
-                licensePhotoIconLabel.setFont(SMALL_FONT);
-            }
+            loadDriverPhotoAsync(licensePhotoIconLabel, licensePhotoPath, 100, 100, null);
         } else {
             licensePhotoIconLabel.setText("No License Photo");
             licensePhotoIconLabel.setFont(SMALL_FONT);
@@ -1486,24 +1477,19 @@ public class DriverManagement extends AdminManagementModule {
     
     // ==================== IMAGE LOADING METHODS ====================
     
-    private ImageIcon loadDriverPhoto(String photoPath, int width, int height) {
+    // Shows the placeholder right away and swaps in the cached thumbnail once it is ready;
+    // the full-resolution image is only decoded by showFullSizeImage
+    private void loadDriverPhotoAsync(JLabel target, String photoPath, int width, int height, String initial) {
+        target.setIcon(createDefaultPhoto(width, height, initial));
         if (photoPath == null || photoPath.isEmpty()) {
-            return createDefaultPhoto(width, height, null);
+            return;
         }
         
-        try {
-            File photoFile = new File(photoPath);
-            if (!photoFile.exists()) {
-                return createDefaultPhoto(width, height, null);
+        ThumbnailService.getInstance().requestThumbnailIcon(photoPath, width, height, icon -> {
+            if (icon != null) {
+                target.setIcon(icon);
             }
-            
-            BufferedImage img = ImageIO.read(photoFile);
-            Image scaledImg = img.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-            return new ImageIcon(scaledImg);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return createDefaultPhoto(width, height, null);
-        }
+        });
     }
     
     private ImageIcon createDefaultPhoto(int width, int height, String initial) {
@@ -0,0 +1,233 @@
+package admin.management;
+
+import logistics.orders.Order;
+
+import java.util.*;
+
+/**
+ * Packs orders into vehicles by weight, volume and longest side.
+ *
+ * Each vehicle type has a Capacity. A Load is one vehicle with the orders it
+ * already carries, so what is left is the capacity minus the parcels on board.
+ * plan() places the largest parcels first: each goes into the vehicle already
+ * in use that it fills most tightly, and only when none has room is another
+ * vehicle brought in, the smallest type that can take the parcel. Parcels
+ * without readable dimensions count by weight alone, and vehicles of a type
+ * with no known capacity are left out.
+ */
+public class LoadPlanner {
+    private static final Map<String, Capacity> CAPACITIES = new LinkedHashMap<>();
+
+    static {
+        // Smallest first, so the first type with room is the cheapest to send
+        CAPACITIES.put("Motorcycle", new Capacity("Motorcycle", 30, 100, 60));
+        CAPACITIES.put("Car", new Capacity("Car", 200, 400, 120));
+        CAPACITIES.put("Van", new Capacity("Van", 1000, 6000, 300));
+        CAPACITIES.put("Truck", new Capacity("Truck", 8000, 40000, 700));
+    }
+
+    public static final class Capacity {
+        public final String vehicleType;
+        public final double maxKg;
+        public final double maxLitres;
+        public final double maxSideCm;
+
+        Capacity(String vehicleType, double maxKg, double maxLitres, double maxSideCm) {
+            this.vehicleType = vehicleType;
+            this.maxKg = maxKg;
+            this.maxLitres = maxLitres;
+            this.maxSideCm = maxSideCm;
+        }
+
+        /** True if the parcel could go in an empty vehicle of this type. */
+        public boolean canCarry(Order o) {
+            return o.weight <= maxKg && o.getVolumeLitres() <= maxLitres && o.getLongestSideCm() <= maxSideCm;
+        }
+    }
+
+    /** Capacity of the vehicle type ("MTC" is a motorcycle), or null if the type is not known. */
+    public static Capacity capacityOf(String vehicleType) {
+        if (vehicleType == null) return null;
+        if ("MTC".equalsIgnoreCase(vehicleType)) vehicleType = "Motorcycle";
+        for (Capacity c : CAPACITIES.values()) {
+            if (c.vehicleType.equalsIgnoreCase(vehicleType.trim())) return c;
+        }
+        return null;
+    }
+
+    public static class Load {
+        private final VehicleManagement.Vehicle vehicle;
+        private final Capacity capacity;
+        private final List<Order> orders = new ArrayList<>();
+        private double kg;
+        private double litres;
+        private int onBoard;
+
+        public Load(VehicleManagement.Vehicle vehicle) {
+            this.vehicle = vehicle;
+            this.capacity = capacityOf(vehicle != null ? vehicle.type : null);
+        }
+
+        /** Counts an order the vehicle is already carrying. */
+        public void addOnBoard(Order o) {
+            add(o);
+            onBoard++;
+        }
+
+        /** True if the order fits in what is left; vehicles of unknown type take anything. */
+        public boolean fits(Order o) {
+            return fits(o.weight, o.getVolumeLitres(), o.getLongestSideCm());
+        }
+
+        boolean fits(double parcelKg, double parcelLitres, double sideCm) {
+            if (capacity == null) return true;
+            return kg + parcelKg <= capacity.maxKg
+                && litres + parcelLitres <= capacity.maxLitres
+                && sideCm <= capacity.maxSideCm;
+        }
+
+        public void add(Order o) {
+            add(o, o.getVolumeLitres());
+        }
+
+        void add(Order o, double parcelLitres) {
+            orders.add(o);
+            kg += o.weight;
+            litres += parcelLitres;
+        }
+
+        public VehicleManagement.Vehicle getVehicle() {
+            return vehicle;
+        }
+
+        public Capacity getCapacity() {
+            return capacity;
+        }
+
+        /** Orders placed by the plan, not counting those already on board. */
+        public List<Order> getPlannedOrders() {
+            return orders.subList(onBoard, orders.size());
+        }
+
+        public double getKg() {
+            return kg;
+        }
+
+        public double getLitres() {
+            return litres;
+        }
+
+        /** Fullest of weight and volume, from 0 to 1. */
+        public double getFill() {
+            if (capacity == null) return 0;
+            return Math.max(kg / capacity.maxKg, litres / capacity.maxLitres);
+        }
+
+        // Room left after adding the order, as a fraction of capacity; smaller is a tighter fit
+        double slackAfter(double parcelKg, double parcelLitres) {
+            if (capacity == null) return 2;
+            return (capacity.maxKg - kg - parcelKg) / capacity.maxKg
+                + (capacity.maxLitres - litres - parcelLitres) / capacity.maxLitres;
+        }
+    }
+
+    public static class Plan {
+        private final List<Load> loads = new ArrayList<>();
+        private final List<Order> unplaced = new ArrayList<>();
+
+        /** Vehicles that were given at least one order, fullest first. */
+        public List<Load> getLoads() {
+            return loads;
+        }
+
+        /** Orders no available vehicle had room for. */
+        public List<Order> getUnplaced() {
+            return unplaced;
+        }
+
+        public int getPlacedCount() {
+            int placed = 0;
+            for (Load load : loads) placed += load.getPlannedOrders().size();
+            return placed;
+        }
+    }
+
+    /**
+     * Packs the orders into the vehicles. onBoardByVehicle gives the orders each
+     * vehicle is already carrying; it may be empty.
+     */
+    public Plan plan(List<Order> orders, List<VehicleManagement.Vehicle> vehicles,
+                     Map<String, List<Order>> onBoardByVehicle) {
+        Plan plan = new Plan();
+
+        // Vehicles already carrying something are in use; the rest wait by type
+        List<Load> inUse = new ArrayList<>();
+        Map<String, Deque<Load>> idleByType = new LinkedHashMap<>();
+        for (String type : CAPACITIES.keySet()) idleByType.put(type, new ArrayDeque<>());
+        for (VehicleManagement.Vehicle v : vehicles) {
+            Load load = new Load(v);
+            // Without a capacity there is nothing to pack against
+            if (load.capacity == null) continue;
+            List<Order> onBoard = onBoardByVehicle.get(v.id);
+            if (onBoard != null && !onBoard.isEmpty()) {
+                for (Order o : onBoard) load.addOnBoard(o);
+                inUse.add(load);
+            } else {
+                idleByType.get(load.capacity.vehicleType).add(load);
+            }
+        }
+
+        // Dimensions are parsed once per parcel, not once per vehicle tried
+        int n = orders.size();
+        double[] litres = new double[n];
+        double[] side = new double[n];
+        Integer[] bySize = new Integer[n];
+        double[] size = new double[n];
+        Capacity largest = CAPACITIES.get("Truck");
+        for (int i = 0; i < n; i++) {
+            Order o = orders.get(i);
+            litres[i] = o.getVolumeLitres();
+            side[i] = o.getLongestSideCm();
+            size[i] = Math.max(o.weight / largest.maxKg, litres[i] / largest.maxLitres);
+            bySize[i] = i;
+        }
+        Arrays.sort(bySize, (a, b) -> Double.compare(size[b], size[a]));
+
+        Set<Load> used = new LinkedHashSet<>();
+        for (int i : bySize) {
+            Order o = orders.get(i);
+            Load best = null;
+            double bestSlack = Double.MAX_VALUE;
+            for (Load load : inUse) {
+                if (!load.fits(o.weight, litres[i], side[i])) continue;
+                double slack = load.slackAfter(o.weight, litres[i]);
+                if (slack < bestSlack) {
+                    bestSlack = slack;
+                    best = load;
+                }
+            }
+
+            if (best == null) {
+                for (Deque<Load> idle : idleByType.values()) {
+                    Load next = idle.peek();
+                    if (next != null && next.capacity.canCarry(o)) {
+                        best = idle.poll();
+                        inUse.add(best);
+                        break;
+                    }
+                }
+            }
+
+            if (best == null) {
+                plan.unplaced.add(o);
+            } else {
+                best.add(o, litres[i]);
+                used.add(best);
+            }
+        }
+
+        plan.loads.addAll(used);
+        plan.loads.sort((a, b) -> Double.compare(b.getFill(), a.getFill()));
+        return plan;
+    }
+}
@@ -1,5 +1,7 @@
 package admin.management;
 
+import logistics.ui.TableStatusIndex;
+
 import javax.swing.*;
 import javax.swing.table.*;
 import javax.swing.border.*;
@@ -26,6 +28,7 @@ public class MaintenanceManagement {
     private JTable maintenanceTable;
     private DefaultTableModel tableModel;
     private TableRowSorter<DefaultTableModel> rowSorter;
+    private TableStatusIndex statusIndex;
     private JLabel[] statLabels;
     private JPanel[] statCards;
     private JPanel statsPanel;
@@ -552,13 +555,7 @@ public class MaintenanceManagement {
         if (status == null) {
             rowSorter.setRowFilter(null);
         } else {
-            final String finalFilterStatus = status;
-            rowSorter.setRowFilter(new RowFilter<DefaultTableModel, Integer>() {
-                @Override
-                public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> entry) {
-                    return finalFilterStatus.equals(entry.getStringValue(3));
-                }
-            });
+            rowSorter.setRowFilter(statusIndex.statusFilter(status));
         }
     }
     
@@ -627,6 +624,7 @@ public class MaintenanceManagement {
 
         rowSorter = new TableRowSorter<>(tableModel);
         maintenanceTable.setRowSorter(rowSorter);
+        statusIndex = new TableStatusIndex(tableModel, 3);
 
         maintenanceTable.getColumnModel().getColumn(0).setPreferredWidth(80);
         maintenanceTable.getColumnModel().getColumn(1).setPreferredWidth(90);
@@ -1,12 +1,24 @@
 package admin.management;
 
+import logistics.ContactIndex;
+import logistics.orders.EtaModel;
 import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+import logistics.orders.OrderSearchIndex;
 import logistics.orders.OrderStorage;
 import logistics.driver.Driver;
+import logistics.driver.DriverBalancer;
 import logistics.driver.DriverStorage;
+import logistics.geo.GeoIndex;
+import logistics.ui.AppScheduler;
+import logistics.ui.PrefixIndex;
+import logistics.ui.TableStatusIndex;
+import logistics.ui.Typeahead;
 
 import javax.swing.*;
 import javax.swing.border.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -26,9 +38,21 @@ public class OrderManagement extends AdminManagementModule {
     private static final Color ASSIGNED_COLOR = new Color(111, 66, 193);
     private static final Color PICKUP_COLOR = new Color(0, 150, 136);
     private static final Color OUT_FOR_DELIVERY_COLOR = new Color(255, 87, 34);
+    private static final int SEARCH_DEBOUNCE_MS = 200;
     
     private String currentStatusFilter = null;
     private int currentFilterIndex = -1;
+    private TableStatusIndex statusIndex;
+    private JTextField searchField;
+    private String currentSearchQuery = null;
+    private JComboBox<String> serviceLevelCombo;
+    private String currentServiceLevel = null;
+    private JComboBox<String> pickupAreaCombo;
+    private String currentPickupArea = null;
+    private boolean updatingAreas = false;
+    // Query the rank order was last applied for; null when no search ranking is active
+    private String rankedQuery = null;
+    private final Map<String, Integer> searchRanks = new HashMap<>();
 
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
     
@@ -76,6 +100,7 @@ public class OrderManagement extends AdminManagementModule {
     protected void initializeUI() {
         createTable();
         createHeaderPanel();
+        headerPanel.add(createSearchBox(), BorderLayout.EAST);
         createStatsPanelContainer(8);
         createButtonPanel();
         createStatusBar();
@@ -223,6 +248,7 @@ public class OrderManagement extends AdminManagementModule {
         
         rowSorter = new TableRowSorter<>(tableModel);
         table.setRowSorter(rowSorter);
+        statusIndex = new TableStatusIndex(tableModel, 2);
         
         // Set column widths
         table.getColumnModel().getColumn(0).setPreferredWidth(100);
@@ -273,6 +299,16 @@ public class OrderManagement extends AdminManagementModule {
                 o.getFormattedEstimatedCost()
             });
         }
+        
+        if (serviceLevelCombo != null) {
+            serviceLevelCombo.setToolTipText("Orders by service level: " + OrderIndex.getInstance().countByServiceLevel());
+        }
+        updatePickupAreas();
+        
+        // Re-run the search so new and edited orders are matched
+        if (currentSearchQuery != null || currentServiceLevel != null || currentPickupArea != null) {
+            applyFilters();
+        }
     }
     
     @Override
@@ -316,7 +352,7 @@ public class OrderManagement extends AdminManagementModule {
             currentStatusFilter = null;
             currentFilterIndex = -1;
             currentStatusFilter = null;
-            rowSorter.setRowFilter(null);
+            applyFilters();
         } else {
             currentStatusFilter = status;
             currentFilterIndex = cardIndex;
@@ -338,7 +374,7 @@ public class OrderManagement extends AdminManagementModule {
         if (currentFilterIndex == cardIndex) {
             currentStatusFilter = null;
             currentFilterIndex = -1;
-            rowSorter.setRowFilter(null);
+            applyFilters();
         } else {
             currentStatusFilter = status;
             currentFilterIndex = cardIndex;
@@ -356,11 +392,30 @@ public class OrderManagement extends AdminManagementModule {
     }
     
     private void applyFilters() {
-        if (currentStatusFilter == null) {
-            rowSorter.setRowFilter(null);
-            return;
+        List<RowFilter<TableModel, Integer>> filters = new ArrayList<>();
+        if (currentStatusFilter != null) {
+            filters.add(statusIndex.statusFilter(toOrderStatus(currentStatusFilter)));
+        }
+        if (currentSearchQuery != null) {
+            filters.add(searchFilter(currentSearchQuery));
+        }
+        if (currentServiceLevel != null) {
+            filters.add(serviceLevelFilter(currentServiceLevel));
+        }
+        if (currentPickupArea != null) {
+            filters.add(pickupAreaFilter(currentPickupArea));
         }
         
+        if (filters.isEmpty()) {
+            rowSorter.setRowFilter(null);
+        } else if (filters.size() == 1) {
+            rowSorter.setRowFilter(filters.get(0));
+        } else {
+            rowSorter.setRowFilter(RowFilter.andFilter(filters));
+        }
+    }
+    
+    private String toOrderStatus(String cardTitle) {
         String filterValue;
         switch(currentStatusFilter) {
             case "Pickup": filterValue = "Picked Up"; break;
@@ -371,26 +426,174 @@ public class OrderManagement extends AdminManagementModule {
             case "Delayed": filterValue = "Delayed"; break;
             case "Delivered": filterValue = "Delivered"; break;
             case "Failed": filterValue = "Failed"; break;
-            default: filterValue = currentStatusFilter;
+            default: filterValue = cardTitle;
         }
-        
-        final String finalFilterValue = filterValue;
-        rowSorter.setRowFilter(new RowFilter<DefaultTableModel, Integer>() {
-            @Override
-            public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> entry) {
-                String status = (String) entry.getValue(2);
-                return finalFilterValue.equals(status);
-            }
-        });
+        return filterValue;
     }
     
     private void clearAllFilters() {
         resetCardBorders();
         currentStatusFilter = null;
         currentFilterIndex = -1;
+        currentSearchQuery = null;
+        if (searchField != null && !searchField.getText().isEmpty()) {
+            searchField.setText("");
+        }
+        currentServiceLevel = null;
+        if (serviceLevelCombo != null && serviceLevelCombo.getSelectedIndex() != 0) {
+            serviceLevelCombo.setSelectedIndex(0);
+        }
+        currentPickupArea = null;
+        if (pickupAreaCombo != null && pickupAreaCombo.getSelectedIndex() != 0) {
+            pickupAreaCombo.setSelectedIndex(0);
+        }
+        clearSearchRanking();
         rowSorter.setRowFilter(null);
     }
     
+    // ==================== SEARCH ====================
+    
+    private JPanel createSearchBox() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 10));
+        panel.setBackground(BG_COLOR);
+        
+        JLabel searchLabel = new JLabel("Search:");
+        searchLabel.setFont(HEADER_FONT);
+        searchLabel.setForeground(TEXT_SECONDARY);
+        
+        searchField = createStyledTextField();
+        searchField.setToolTipText("Name, phone, email, address, notes or order ID - all words must match");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { scheduleSearch(); }
+            @Override public void removeUpdate(DocumentEvent e) { scheduleSearch(); }
+            @Override public void changedUpdate(DocumentEvent e) { scheduleSearch(); }
+        });
+        
+        serviceLevelCombo = new JComboBox<>(new String[]{"All Services", Order.SERVICE_EXPRESS, Order.SERVICE_STANDARD});
+        serviceLevelCombo.setFont(REGULAR_FONT);
+        serviceLevelCombo.addActionListener(e -> {
+            int selected = serviceLevelCombo.getSelectedIndex();
+            currentServiceLevel = selected <= 0 ? null : (String) serviceLevelCombo.getSelectedItem();
+            applyFilters();
+        });
+        
+        pickupAreaCombo = new JComboBox<>(new String[]{"All Pickup Areas"});
+        pickupAreaCombo.setFont(REGULAR_FONT);
+        pickupAreaCombo.setToolTipText("Orders picked up in a postal district (first two postcode digits)");
+        pickupAreaCombo.addActionListener(e -> {
+            if (updatingAreas) return;
+            int selected = pickupAreaCombo.getSelectedIndex();
+            currentPickupArea = selected <= 0 ? null : GeoIndex.areaOf((String) pickupAreaCombo.getSelectedItem());
+            applyFilters();
+        });
+        updatePickupAreas();
+        
+        panel.add(pickupAreaCombo);
+        panel.add(serviceLevelCombo);
+        panel.add(searchLabel);
+        panel.add(searchField);
+        return panel;
+    }
+    
+    private void scheduleSearch() {
+        AppScheduler.getInstance().runLater(this, "search", SEARCH_DEBOUNCE_MS, () -> {
+            String query = searchField.getText().trim();
+            currentSearchQuery = query.isEmpty() ? null : query;
+            if (currentSearchQuery == null) {
+                clearSearchRanking();
+            }
+            applyFilters();
+        });
+    }
+    
+    // Keeps only search hits and, until the admin sorts by another column, shows the best match first.
+    // A whole phone number or email finds every order using it, however it was formatted.
+    private RowFilter<TableModel, Integer> searchFilter(String query) {
+        List<String> hits = ContactIndex.getInstance().getOrderIds(query);
+        if (hits.isEmpty()) {
+            hits = OrderSearchIndex.getInstance().search(query, Integer.MAX_VALUE);
+        }
+        Map<String, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            ranks.put(hits.get(i), i);
+        }
+        setSearchRanking(query, ranks);
+        
+        return new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return ranks.containsKey(entry.getStringValue(0));
+            }
+        };
+    }
+    
+    private RowFilter<TableModel, Integer> serviceLevelFilter(String serviceLevel) {
+        Set<String> ids = new HashSet<>(OrderIndex.getInstance().getIdsByServiceLevel(serviceLevel));
+        return new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return ids.contains(entry.getStringValue(0));
+            }
+        };
+    }
+    
+    private RowFilter<TableModel, Integer> pickupAreaFilter(String area) {
+        Set<String> ids = new HashSet<>(GeoIndex.getInstance().getOriginIds(area));
+        return new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return ids.contains(entry.getStringValue(0));
+            }
+        };
+    }
+    
+    // Lists each pickup district with its order count, keeping the current selection
+    private void updatePickupAreas() {
+        if (pickupAreaCombo == null) return;
+        Map<String, Integer> counts = GeoIndex.getInstance().countOriginsByArea();
+        updatingAreas = true;
+        try {
+            pickupAreaCombo.removeAllItems();
+            pickupAreaCombo.addItem("All Pickup Areas");
+            int selected = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                if (entry.getKey().isEmpty()) continue;
+                if (entry.getKey().equals(currentPickupArea)) selected = pickupAreaCombo.getItemCount();
+                pickupAreaCombo.addItem(entry.getKey() + "xxx (" + entry.getValue() + ")");
+            }
+            if (currentPickupArea != null && selected == 0) {
+                selected = pickupAreaCombo.getItemCount();
+                pickupAreaCombo.addItem(currentPickupArea + "xxx (0)");
+            }
+            pickupAreaCombo.setSelectedIndex(selected);
+        } finally {
+            updatingAreas = false;
+        }
+    }
+    
+    // Refreshes update the ranks but leave the sort alone; best-match-first is applied only
+    // when the query text changes, so a column the admin sorted by stays sorted.
+    private void setSearchRanking(String query, Map<String, Integer> ranks) {
+        searchRanks.clear();
+        searchRanks.putAll(ranks);
+        if (query.equals(rankedQuery)) return;
+        
+        if (rankedQuery == null) {
+            rowSorter.setComparator(0, Comparator.comparingInt(
+                (String id) -> searchRanks.getOrDefault(id, Integer.MAX_VALUE)));
+        }
+        rowSorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        rankedQuery = query;
+    }
+    
+    private void clearSearchRanking() {
+        if (rankedQuery == null) return;
+        rowSorter.setComparator(0, null);
+        rowSorter.setSortKeys(null);
+        searchRanks.clear();
+        rankedQuery = null;
+    }
+    
     @Override
     protected void clearFilters() {
         clearAllFilters();
@@ -405,16 +608,24 @@ public class OrderManagement extends AdminManagementModule {
         JButton addBtn = createStyledButton("Add Order", SUCCESS, 100, 32);
         JButton deleteBtn = createStyledButton("Delete", DANGER, 100, 32);
         JButton assignBtn = createStyledButton("Assign Driver", PRIMARY, 100, 32);
+        JButton dispatchBtn = createStyledButton("Auto Dispatch", ASSIGNED_COLOR, 110, 32);
+        dispatchBtn.setToolTipText("Assign all pending orders to the nearest eligible drivers");
+        JButton loadPlanBtn = createStyledButton("Load Plan", INFO, 100, 32);
+        loadPlanBtn.setToolTipText("Pack pending orders into available vehicles by weight and volume");
         
         viewBtn.addActionListener(e -> showEnhancedOrderDetails());
         addBtn.addActionListener(e -> showCreateOrderPanel());
         deleteBtn.addActionListener(e -> deleteOrder());
         assignBtn.addActionListener(e -> assignDriver());
+        dispatchBtn.addActionListener(e -> autoDispatch());
+        loadPlanBtn.addActionListener(e -> showLoadPlan());
         
         buttonPanel.add(viewBtn);
         buttonPanel.add(addBtn);
         buttonPanel.add(deleteBtn);
         buttonPanel.add(assignBtn);
+        buttonPanel.add(dispatchBtn);
+        buttonPanel.add(loadPlanBtn);
         
         return buttonPanel;
     }
@@ -659,7 +870,7 @@ public class OrderManagement extends AdminManagementModule {
     private void showDriverAndVehicleSelection(Order order, List<Driver> availableDrivers) {
         JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this), 
                                       "Assign Driver to Order", true);
-        dialog.setSize(550, 480);
+        dialog.setSize(550, 520);
         dialog.setLocationRelativeTo(this);
         dialog.setResizable(false);
         
@@ -704,12 +915,51 @@ public class OrderManagement extends AdminManagementModule {
         for (int i = 0; i < availableDrivers.size(); i++) {
             Driver d = availableDrivers.get(i);
             String vehicleInfo = d.vehicleId != null ? "Vehicle: " + d.vehicleId : "No Vehicle";
-            driverOptions[i] = String.format("%s - %s | %s", d.id, d.name, vehicleInfo);
+            driverOptions[i] = String.format("%s - %s | %s | Orders: %d", d.id, d.name, vehicleInfo, d.getCurrentOrderCount());
         }
         JComboBox<String> driverCombo = new JComboBox<>(driverOptions);
         driverCombo.setFont(REGULAR_FONT);
         driverCombo.setPreferredSize(new Dimension(400, 35));
-        selectionPanel.add(driverCombo, gbc);
+        
+        // Preselect the least busy of the listed drivers
+        Set<String> listedIds = new HashSet<>();
+        for (Driver d : availableDrivers) listedIds.add(d.id);
+        Driver suggested = DriverBalancer.getInstance().suggest(d -> listedIds.contains(d.id));
+        for (int i = 0; suggested != null && i < availableDrivers.size(); i++) {
+            if (availableDrivers.get(i).id.equals(suggested.id)) {
+                driverCombo.setSelectedIndex(i);
+                break;
+            }
+        }
+        
+        // Type a driver ID, name, vehicle ID or plate instead of scrolling the list
+        PrefixIndex.Builder<String> driverKeys = PrefixIndex.builder();
+        for (int i = 0; i < availableDrivers.size(); i++) {
+            Driver d = availableDrivers.get(i);
+            driverKeys.add(d.id, driverOptions[i]);
+            driverKeys.addWords(d.name, driverOptions[i]);
+            driverKeys.add(d.vehicleId, driverOptions[i]);
+            if (vehicleManagement != null && d.vehicleId != null && !d.vehicleId.isEmpty()) {
+                VehicleManagement.Vehicle v = vehicleManagement.getVehicleById(d.vehicleId);
+                if (v != null && v.numberPlate != null) {
+                    driverKeys.add(v.numberPlate, driverOptions[i]);
+                    driverKeys.add(v.numberPlate.replace(" ", ""), driverOptions[i]);
+                }
+            }
+        }
+        PrefixIndex<String> driverIndex = driverKeys.build();
+        
+        JTextField driverFindField = createStyledTextField();
+        driverFindField.setPreferredSize(new Dimension(400, 35));
+        driverFindField.setToolTipText("Find by driver ID, name, vehicle ID or number plate");
+        Typeahead.attach(driverFindField, text -> driverIndex.lookup(text, 8), option -> option,
+            option -> driverCombo.setSelectedItem(option));
+        
+        JPanel driverPickPanel = new JPanel(new BorderLayout(0, 6));
+        driverPickPanel.setBackground(CARD_BG);
+        driverPickPanel.add(driverFindField, BorderLayout.NORTH);
+        driverPickPanel.add(driverCombo, BorderLayout.CENTER);
+        selectionPanel.add(driverPickPanel, gbc);
         
         // Vehicle info
         gbc.gridx = 0;
@@ -755,16 +1005,27 @@ public class OrderManagement extends AdminManagementModule {
         selectionPanel.add(dateLabel, gbc);
         
         gbc.gridx = 1;
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, 3);
-        SpinnerDateModel dateModel = new SpinnerDateModel(cal.getTime(), null, null, Calendar.DAY_OF_MONTH);
+        Driver firstDriver = availableDrivers.get(driverCombo.getSelectedIndex());
+        SpinnerDateModel dateModel = new SpinnerDateModel(estimateDeliveryWith(order, firstDriver), null, null, Calendar.DAY_OF_MONTH);
         JSpinner dateSpinner = new JSpinner(dateModel);
         JSpinner.DateEditor dateEditor = new JSpinner.DateEditor(dateSpinner, "yyyy-MM-dd");
         dateSpinner.setEditor(dateEditor);
         dateSpinner.setFont(REGULAR_FONT);
         dateSpinner.setPreferredSize(new Dimension(400, 35));
+        dateSpinner.putClientProperty("estimate", dateSpinner.getValue());
         selectionPanel.add(dateSpinner, gbc);
         
+        // The estimate depends on the vehicle type, so follow the driver choice
+        // until the admin picks a date of their own
+        driverCombo.addActionListener(e -> {
+            int idx = driverCombo.getSelectedIndex();
+            if (idx < 0 || idx >= availableDrivers.size()) return;
+            if (!dateSpinner.getValue().equals(dateSpinner.getClientProperty("estimate"))) return;
+            Date estimate = estimateDeliveryWith(order, availableDrivers.get(idx));
+            dateSpinner.putClientProperty("estimate", estimate);
+            dateSpinner.setValue(estimate);
+        });
+        
         // Info panel
         gbc.gridx = 0;
         gbc.gridy = 3;
@@ -818,6 +1079,11 @@ public class OrderManagement extends AdminManagementModule {
                 }
             }
             
+            String overload = capacityProblem(order, selectedDriver);
+            if (overload != null && !confirmAction(overload + "\n\nDo you still want to proceed?", "Vehicle Capacity")) {
+                return;
+            }
+            
             assignDriverToOrder(order, selectedDriver, estimatedDate);
             dialog.dispose();
         });
@@ -835,6 +1101,17 @@ public class OrderManagement extends AdminManagementModule {
         dialog.setVisible(true);
     }
     
+    // Learned ETA for the order carried in the driver's vehicle
+    private Date estimateDeliveryWith(Order order, Driver driver) {
+        String vehicleType = null;
+        if (vehicleManagement != null && driver.vehicleId != null && !driver.vehicleId.isEmpty()) {
+            VehicleManagement.Vehicle v = vehicleManagement.getVehicleById(driver.vehicleId);
+            if (v != null) vehicleType = v.type;
+        }
+        return EtaModel.getInstance().estimateDelivery(order.getOrigin(), order.getDestination(),
+            order.isExpress(), vehicleType);
+    }
+    
     private void assignDriverToOrder(Order order, Driver driver, Date estimatedDate) {
         String oldStatus = order.status;
         order.driverId = driver.id;
@@ -883,6 +1160,151 @@ public class OrderManagement extends AdminManagementModule {
             "\nAmount: " + order.getFormattedEstimatedCost());
     }
     
+    // ==================== AUTO DISPATCH ====================
+    
+    private void autoDispatch() {
+        if (vehicleManagement == null) {
+            showWarning("Vehicle Management module not available.");
+            return;
+        }
+        
+        storage.loadOrders();
+        driverStorage = new DriverStorage();
+        AutoDispatcher dispatcher = new AutoDispatcher();
+        AutoDispatcher.Plan plan = dispatcher.plan(storage.getPendingOrders(), driverStorage.getAllDrivers(),
+            vehicleManagement.getAllVehicles());
+        
+        if (plan.isEmpty()) {
+            StringBuilder msg = new StringBuilder();
+            msg.append(plan.getUnassigned().isEmpty() ? "There are no unassigned pending orders."
+                : plan.getUnassigned().size() + " pending order(s) but no eligible drivers.");
+            appendSkippedDrivers(msg, plan);
+            showWarning(msg.toString());
+            return;
+        }
+        
+        Map<String, Integer> perDriver = new LinkedHashMap<>();
+        for (AutoDispatcher.Assignment a : plan.getAssignments()) {
+            perDriver.merge(a.driver.id + " - " + a.driver.name, 1, Integer::sum);
+        }
+        StringBuilder msg = new StringBuilder();
+        msg.append(String.format("Assign %d pending order(s) to %d driver(s)?%n%n",
+            plan.getAssignments().size(), perDriver.size()));
+        for (Map.Entry<String, Integer> entry : perDriver.entrySet()) {
+            msg.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append(" order(s)\n");
+        }
+        msg.append(String.format("%nTotal pickup distance: %.0f km", plan.getTotalPickupKm()));
+        if (!plan.getUnassigned().isEmpty()) {
+            msg.append("\nLeft pending (no driver capacity): ").append(plan.getUnassigned().size());
+        }
+        appendSkippedDrivers(msg, plan);
+        if (!confirmAction(msg.toString(), "Auto Dispatch")) {
+            return;
+        }
+        
+        int assigned = dispatcher.commit(plan, storage, driverStorage);
+        
+        if (driverManagement != null) {
+            driverManagement.refreshData();
+        }
+        refreshTable();
+        showSuccess("✓ " + assigned + " order(s) assigned." +
+            (assigned < plan.getAssignments().size()
+                ? "\n" + (plan.getAssignments().size() - assigned) + " order(s) changed in the meantime and were skipped." : ""));
+    }
+    
+    private void appendSkippedDrivers(StringBuilder msg, AutoDispatcher.Plan plan) {
+        if (plan.getSkippedDrivers().isEmpty()) return;
+        msg.append("\n\nDrivers not used:");
+        int shown = 0;
+        for (Map.Entry<String, String> entry : plan.getSkippedDrivers().entrySet()) {
+            if (shown++ == 8) {
+                msg.append("\n  ... and ").append(plan.getSkippedDrivers().size() - 8).append(" more");
+                break;
+            }
+            msg.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+    }
+    
+    // ==================== LOAD PLANNING ====================
+    
+    // Why the order would not fit in the driver's vehicle next to what it already carries, or null
+    private String capacityProblem(Order order, Driver driver) {
+        if (vehicleManagement == null || driver.vehicleId == null || driver.vehicleId.isEmpty()) return null;
+        LoadPlanner.Load load = new LoadPlanner.Load(vehicleManagement.getVehicleById(driver.vehicleId));
+        if (load.getCapacity() == null) return null;
+        
+        for (Order onBoard : storage.getActiveOrdersByDriver(driver.id)) {
+            if (!onBoard.id.equals(order.id)) load.addOnBoard(onBoard);
+        }
+        if (load.fits(order)) return null;
+        
+        LoadPlanner.Capacity cap = load.getCapacity();
+        return String.format("Order %s (%.1f kg, %.0f L) does not fit in %s's %s.%n" +
+            "Already carrying %.1f / %.0f kg and %.0f / %.0f L; longest side allowed %.0f cm.",
+            order.id, order.weight, order.getVolumeLitres(), driver.name, cap.vehicleType,
+            load.getKg(), cap.maxKg, load.getLitres(), cap.maxLitres, cap.maxSideCm);
+    }
+    
+    private void showLoadPlan() {
+        if (vehicleManagement == null) {
+            showWarning("Vehicle Management module not available.");
+            return;
+        }
+        
+        storage.loadOrders();
+        List<Order> pending = new ArrayList<>();
+        for (Order o : storage.getPendingOrders()) {
+            if (AutoDispatcher.isDispatchable(o)) pending.add(o);
+        }
+        if (pending.isEmpty()) {
+            showInfo("There are no unassigned pending orders to plan.");
+            return;
+        }
+        
+        List<VehicleManagement.Vehicle> available = new ArrayList<>();
+        for (VehicleManagement.Vehicle v : vehicleManagement.getAllVehicles()) {
+            if ("Active".equals(v.status) && !VehicleManagement.isRoadTaxExpired(v)) available.add(v);
+        }
+        Map<String, List<Order>> onBoard = new HashMap<>();
+        for (Order o : storage.getAllOrders()) {
+            if (o.vehicleId != null && !o.vehicleId.isEmpty() && o.driverId != null && !o.driverId.isEmpty()
+                    && !"Delivered".equals(o.status) && !"Cancelled".equals(o.status) && !"Failed".equals(o.status)) {
+                onBoard.computeIfAbsent(o.vehicleId, k -> new ArrayList<>()).add(o);
+            }
+        }
+        
+        LoadPlanner.Plan plan = new LoadPlanner().plan(pending, available, onBoard);
+        
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d of %d pending order(s) fit in %d vehicle(s).%n%n",
+            plan.getPlacedCount(), pending.size(), plan.getLoads().size()));
+        for (LoadPlanner.Load load : plan.getLoads()) {
+            VehicleManagement.Vehicle v = load.getVehicle();
+            LoadPlanner.Capacity cap = load.getCapacity();
+            text.append(String.format("%s  %-10s %-10s %3.0f%% full  %.1f/%.0f kg  %.0f/%.0f L%n",
+                v.id, cap.vehicleType, v.numberPlate, load.getFill() * 100, load.getKg(), cap.maxKg,
+                load.getLitres(), cap.maxLitres));
+            for (Order o : load.getPlannedOrders()) {
+                text.append(String.format("    %s  %.1f kg  %s%n", o.id, o.weight,
+                    o.dimensions != null && !o.dimensions.isEmpty() ? o.dimensions + " cm" : "no dimensions"));
+            }
+        }
+        if (!plan.getUnplaced().isEmpty()) {
+            text.append(String.format("%nNo room for %d order(s):%n", plan.getUnplaced().size()));
+            for (Order o : plan.getUnplaced()) {
+                text.append(String.format("    %s  %.1f kg  %s%n", o.id, o.weight, o.dimensions));
+            }
+        }
+        
+        JTextArea area = new JTextArea(text.toString());
+        area.setEditable(false);
+        area.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JScrollPane scroll = new JScrollPane(area);
+        scroll.setPreferredSize(new Dimension(620, 420));
+        JOptionPane.showMessageDialog(this, scroll, "Load Plan", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
     // ==================== ENHANCED ORDER DETAILS ====================
     
     private void showEnhancedOrderDetails() {
@@ -1065,7 +1487,7 @@ public class OrderManagement extends AdminManagementModule {
         int row = 0;
         addDetailRow(packagePanel, "Weight:", order.getFormattedWeight(), gbc, row++);
         addDetailRow(packagePanel, "Dimensions:", order.dimensions + " cm", gbc, row++);
-        addDetailRow(packagePanel, "Package Type:", extractPackageType(order.notes), gbc, row++);
+        addDetailRow(packagePanel, "Package Type:", order.packageType, gbc, row++);
         addDetailRow(packagePanel, "Order Amount:", order.getFormattedEstimatedCost(), gbc, row++);
         
         panel.add(packagePanel, BorderLayout.NORTH);
@@ -1291,19 +1713,6 @@ public class OrderManagement extends AdminManagementModule {
         panel.add(valueComp, gbc);
     }
     
-    private String extractPackageType(String notes) {
-        if (notes == null || notes.isEmpty()) return "Standard";
-        if (notes.contains("Package Type:")) {
-            int start = notes.indexOf("Package Type:") + 13;
-            int end = notes.indexOf(";", start);
-            if (end == -1) end = notes.indexOf("|", start);
-            if (end == -1) end = notes.length();
-            String type = notes.substring(start, end).trim();
-            return type.isEmpty() ? "Standard" : type;
-        }
-        return "Standard";
-    }
-    
     private Color getColorForStatus(String status) {
         switch(status) {
             case "Pending": return WARNING;
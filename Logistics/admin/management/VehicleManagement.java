@@ -1,5 +1,10 @@
 package admin.management;
 
+import logistics.ui.AppScheduler;
+import logistics.ui.PrefixIndex;
+import logistics.ui.TableStatusIndex;
+import logistics.ui.Typeahead;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.*;
@@ -17,6 +22,7 @@ public class VehicleManagement {
     private JTable vehiclesTable;
     private DefaultTableModel tableModel;
     private TableRowSorter<DefaultTableModel> rowSorter;
+    private TableStatusIndex statusIndex;
     private List<Vehicle> vehicles = new ArrayList<>();
     private Map<String, Integer> typeCounters = new HashMap<>();
     private List<DriverReport> driverReports = new ArrayList<>();
@@ -125,13 +131,13 @@ public class VehicleManagement {
     
     // ========== ROAD TAX EXPIRY CHECK ==========
     
-    private boolean isRoadTaxExpired(Vehicle vehicle) {
+    public static boolean isRoadTaxExpired(Vehicle vehicle) {
         if (vehicle == null || vehicle.roadTaxExpiry == null) return true;
         Date now = new Date();
         return vehicle.roadTaxExpiry.before(now);
     }
     
-    private boolean canDriverDriveVehicleType(String licenseType, String vehicleType) {
+    public static boolean canDriverDriveVehicleType(String licenseType, String vehicleType) {
         if (licenseType == null) return false;
         String upperLicense = licenseType.toUpperCase();
         
@@ -363,6 +369,24 @@ public class VehicleManagement {
         JComboBox<String> driverCombo = new JComboBox<>(driverOptions);
         driverCombo.setFont(REGULAR_FONT);
         
+        PrefixIndex.Builder<String> driverKeys = PrefixIndex.builder();
+        for (int i = 0; i < availableDrivers.size(); i++) {
+            driverKeys.add(availableDrivers.get(i).id, driverOptions[i]);
+            driverKeys.addWords(availableDrivers.get(i).name, driverOptions[i]);
+        }
+        PrefixIndex<String> driverIndex = driverKeys.build();
+        
+        JTextField driverFindField = new JTextField();
+        driverFindField.setFont(REGULAR_FONT);
+        driverFindField.setToolTipText("Find by driver ID or name");
+        Typeahead.attach(driverFindField, text -> driverIndex.lookup(text, 8), option -> option,
+            option -> driverCombo.setSelectedItem(option));
+        
+        JPanel pickPanel = new JPanel(new BorderLayout(0, 6));
+        pickPanel.setBackground(CARD_BG);
+        pickPanel.add(driverFindField, BorderLayout.NORTH);
+        pickPanel.add(driverCombo, BorderLayout.CENTER);
+        
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBackground(CARD_BG);
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -372,7 +396,7 @@ public class VehicleManagement {
         label.setForeground(TEXT_PRIMARY);
         
         panel.add(label, BorderLayout.NORTH);
-        panel.add(driverCombo, BorderLayout.CENTER);
+        panel.add(pickPanel, BorderLayout.CENTER);
         
         int result = JOptionPane.showConfirmDialog(mainPanel, panel,
             "Assign Driver to " + vehicle.id,
@@ -1042,7 +1066,7 @@ public class VehicleManagement {
             ));
             statCards[cardIndex].setBackground(color.brighter());
             
-            rowSorter.setRowFilter(RowFilter.regexFilter("^" + status + "$", 6));
+            rowSorter.setRowFilter(statusIndex.statusFilter(status));
         }
     }
 
@@ -1063,13 +1087,7 @@ public class VehicleManagement {
             ));
             statCards[cardIndex].setBackground(color.brighter());
             
-            rowSorter.setRowFilter(new RowFilter<DefaultTableModel, Integer>() {
-                @Override
-                public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> entry) {
-                    Date taxDate = (Date) entry.getValue(4);
-                    return taxDate != null && taxDate.before(new Date());
-                }
-            });
+            rowSorter.setRowFilter(statusIndex.flagFilter("Tax Expired"));
         }
     }
 
@@ -1231,6 +1249,11 @@ public class VehicleManagement {
         
         rowSorter = new TableRowSorter<>(tableModel);
         vehiclesTable.setRowSorter(rowSorter);
+        statusIndex = new TableStatusIndex(tableModel, 6)
+            .addFlag("Tax Expired", (model, row) -> {
+                Object taxDate = model.getValueAt(row, 4);
+                return taxDate instanceof Date && ((Date) taxDate).before(new Date());
+            });
         
         vehiclesTable.getColumnModel().getColumn(0).setPreferredWidth(80);
         vehiclesTable.getColumnModel().getColumn(1).setPreferredWidth(200);
@@ -1743,9 +1766,7 @@ public class VehicleManagement {
         
         notification.setVisible(true);
         
-        Timer timer = new Timer(3000, e -> notification.dispose());
-        timer.setRepeats(false);
-        timer.start();
+        AppScheduler.getInstance().runLater(notification, "dismiss", 3000, notification::dispose);
     }
 
     private void showError(String msg) { 
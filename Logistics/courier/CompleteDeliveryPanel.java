@@ -1,6 +1,7 @@
 package courier;
 
 import logistics.orders.Order;
+import logistics.orders.OrderIndex;
 import logistics.orders.OrderStorage;
 
 import javax.swing.*;
@@ -661,6 +662,9 @@ public class CompleteDeliveryPanel extends JPanel {
                         order.actualDelivery = new SimpleDateFormat("yyyy-MM-dd").format(new Date());
                         System.out.println("Set actualDelivery: '" + order.actualDelivery + "'");
                     }
+                    if (order.distance <= 0 && parentDashboard != null) {
+                        order.distance = parentDashboard.getPlannedKm(order.id);
+                    }
                     order.status = "Delivered";
                     break;
                 case "Delayed":
@@ -760,7 +764,7 @@ public class CompleteDeliveryPanel extends JPanel {
                     }
                 }
                 if (!hasHeader) {
-                    lines.add(0, "# id|customerName|customerPhone|customerEmail|customerAddress|recipientName|recipientPhone|recipientAddress|status|orderDate|estimatedDelivery|actualDelivery|driverId|vehicleId|weight|dimensions|notes|reason|pickupTime|inTransitTime|outForDeliveryTime|deliveryTime|distance|fuelUsed|deliveryPhoto|recipientSignature|onTime|paymentStatus|paymentMethod|transactionId|paymentDate");
+                    lines.add(0, Order.FILE_HEADER);
                 }
                 lines.add(orderLine);
                 System.out.println("Added new order");
@@ -772,6 +776,7 @@ public class CompleteDeliveryPanel extends JPanel {
                 writer.println(line);
             }
             writer.flush();
+            OrderIndex.getInstance().reload();
             
             System.out.println("File written successfully");
             
@@ -795,44 +800,13 @@ public class CompleteDeliveryPanel extends JPanel {
     }
     
     private String buildOrderFileString(Order order) {
-        String[] fields = new String[31];
-        fields[0] = safeString(order.id);
-        fields[1] = safeString(order.customerName);
-        fields[2] = safeString(order.customerPhone);
-        fields[3] = safeString(order.customerEmail);
-        fields[4] = safeString(order.customerAddress);
-        fields[5] = safeString(order.recipientName);
-        fields[6] = safeString(order.recipientPhone);
-        fields[7] = safeString(order.recipientAddress);
-        fields[8] = safeString(order.status);
-        fields[9] = safeString(order.orderDate);
-        fields[10] = safeString(order.estimatedDelivery);
-        fields[11] = safeString(order.actualDelivery);
-        fields[12] = safeString(order.driverId);
-        fields[13] = safeString(order.vehicleId);
-        fields[14] = String.valueOf(order.weight);
-        fields[15] = safeString(order.dimensions);
-        fields[16] = safeString(order.notes != null ? order.notes.replace("\n", " ").replace("\r", " ") : "");
-        fields[17] = safeString(order.reason);
-        fields[18] = safeString(order.pickupTime);
-        fields[19] = safeString(order.inTransitTime);
-        fields[20] = safeString(order.outForDeliveryTime);
-        fields[21] = safeString(order.deliveryTime);
-        fields[22] = String.valueOf(order.distance);
-        fields[23] = String.valueOf(order.fuelUsed);
-        fields[24] = safeString(order.deliveryPhoto);
-        fields[25] = safeString(order.recipientSignature);
-        fields[26] = String.valueOf(order.onTime);
-        fields[27] = safeString(order.paymentStatus);
-        fields[28] = safeString(order.paymentMethod);
-        fields[29] = safeString(order.transactionId);
-        fields[30] = safeString(order.paymentDate);
+        String line = order.toFileString();
         
         System.out.println("=== BUILD ORDER STRING ===");
-        System.out.println("outForDeliveryTime at index 20: '" + fields[20] + "'");
-        System.out.println("deliveryTime at index 21: '" + fields[21] + "'");
+        System.out.println("outForDeliveryTime at index 20: '" + safeString(order.outForDeliveryTime) + "'");
+        System.out.println("deliveryTime at index 21: '" + safeString(order.deliveryTime) + "'");
         
-        return String.join("|", fields);
+        return line;
     }
     
     private void verifySavedOrder(String orderId) {
@@ -4,6 +4,9 @@ import logistics.driver.Driver;
 import logistics.driver.DriverStorage;
 import logistics.orders.Order;
 import logistics.orders.OrderStorage;
+import logistics.orders.RouteOptimizer;
+import logistics.ui.AppScheduler;
+import logistics.ui.ImageCache;
 
 import javax.swing.Timer;
 import javax.swing.*;
@@ -52,6 +55,8 @@ public class CourierDashboard extends JFrame {
     // Separated panels
     private DeliveriesPanel deliveriesPanel;
     private CompleteDeliveryPanel completeDeliveryPanel;
+    // Last route from Plan Route, used to record the distance driven for each delivery
+    private RouteOptimizer.Route plannedRoute;
 
     public CourierDashboard(Driver driver) {
         this.driverStorage = new DriverStorage();
@@ -150,8 +155,7 @@ public class CourierDashboard extends JFrame {
     }
     
     private void startAutoRefresh() {
-        Timer timer = new Timer(30000, e -> SwingUtilities.invokeLater(this::refreshData));
-        timer.start();
+        AppScheduler.getInstance().every(this, "auto-refresh", 30000, this::refreshData);
     }
 
     private void initUI() {
@@ -198,11 +202,9 @@ public class CourierDashboard extends JFrame {
         JPanel leftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 15));
         leftPanel.setOpaque(false);
 
-        ImageIcon logoIcon = loadLogo("logo.c.png");
+        ImageIcon logoIcon = ImageCache.getInstance().getIcon(getClass(), "logo.c.png", 50, 50);
         if (logoIcon != null) {
-            Image img = logoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(50, 50, Image.SCALE_SMOOTH);
-            JLabel logoLabel = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoLabel = new JLabel(logoIcon);
             leftPanel.add(logoLabel);
         }
 
@@ -232,10 +234,9 @@ public class CourierDashboard extends JFrame {
         timeLabel.setForeground(Color.WHITE);
         timePanel.add(timeLabel);
 
-        Timer timer = new Timer(1000, e -> 
+        AppScheduler.getInstance().everyNow(this, "clock", 1000, () ->
             timeLabel.setText(new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss").format(new Date()))
         );
-        timer.start();
 
         rightPanel.add(timePanel);
 
@@ -267,11 +268,9 @@ public class CourierDashboard extends JFrame {
         logoPanel.setOpaque(false);
         logoPanel.setBorder(BorderFactory.createEmptyBorder(30, 15, 25, 15));
 
-        ImageIcon mainLogoIcon = loadLogo("logo.c.png");
+        ImageIcon mainLogoIcon = ImageCache.getInstance().getIcon(getClass(), "logo.c.png", 80, 80);
         if (mainLogoIcon != null) {
-            Image img = mainLogoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-            JLabel logoImage = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoImage = new JLabel(mainLogoIcon);
             logoImage.setHorizontalAlignment(SwingConstants.CENTER);
             logoPanel.add(logoImage, BorderLayout.NORTH);
         }
@@ -460,21 +459,6 @@ public class CourierDashboard extends JFrame {
         }
     }
 
-    private ImageIcon loadLogo(String filename) {
-        try {
-            java.net.URL imgURL = getClass().getResource(filename);
-            if (imgURL != null) {
-                return new ImageIcon(imgURL);
-            } else {
-                File file = new File(filename);
-                if (file.exists()) {
-                    return new ImageIcon(file.getAbsolutePath());
-                }
-            }
-        } catch (Exception e) {}
-        return null;
-    }
-
     private JPanel createContentPanel() {
         cardLayout = new CardLayout();
         contentPanel = new JPanel(cardLayout);
@@ -669,6 +653,19 @@ public class CourierDashboard extends JFrame {
         dialog.setVisible(true);
     }
     
+    public Driver getCurrentDriver() {
+        return currentDriver;
+    }
+    
+    public void setPlannedRoute(RouteOptimizer.Route route) {
+        plannedRoute = route;
+    }
+    
+    /** Planned km for the order on the last route, or 0 if no route covered it. */
+    public double getPlannedKm(String orderId) {
+        return plannedRoute != null ? plannedRoute.kmFor(orderId) : 0;
+    }
+    
     public void showNotification(String message, Color color) {
         String title = "Notification";
         if (color == SUCCESS) title = "Success";
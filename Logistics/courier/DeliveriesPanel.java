@@ -1,9 +1,13 @@
 package courier;
 
+import logistics.orders.EtaModel;
 import logistics.orders.Order;
 import logistics.orders.OrderStorage;
 import logistics.driver.Driver;
 import logistics.driver.DriverStorage;
+import logistics.geo.Location;
+import logistics.orders.RouteOptimizer;
+import logistics.ui.TableStatusIndex;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -13,6 +17,9 @@ import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 public class DeliveriesPanel extends JPanel {
@@ -41,6 +48,7 @@ public class DeliveriesPanel extends JPanel {
     private JTable deliveriesTable;
     private DefaultTableModel deliveriesTableModel;
     private TableRowSorter<DefaultTableModel> deliveriesRowSorter;
+    private TableStatusIndex deliveriesStatusIndex;
     private JPanel[] statCards = new JPanel[8];
     private JLabel[] statValues = new JLabel[8];
     private int currentFilterIndex = -1;
@@ -48,10 +56,12 @@ public class DeliveriesPanel extends JPanel {
     private List<Order> myOrders;
     private CourierDashboard parentDashboard;
     private DriverStorage driverStorage;
+    private OrderStorage orderStorage;
     
     public DeliveriesPanel(List<Order> orders, OrderStorage orderStorage, CourierDashboard parent) {
         this.myOrders = orders;
         this.parentDashboard = parent;
+        this.orderStorage = orderStorage;
         this.driverStorage = new DriverStorage();
         setLayout(new BorderLayout(15, 15));
         setBackground(BG_LIGHT);
@@ -225,7 +235,7 @@ public class DeliveriesPanel extends JPanel {
                 case "Failed": filterValue = "Failed"; break;
                 default: filterValue = status; break;
             }
-            deliveriesRowSorter.setRowFilter(RowFilter.regexFilter("^" + filterValue + "$", 3));
+            deliveriesRowSorter.setRowFilter(deliveriesStatusIndex.statusFilter(filterValue));
         }
     }
     
@@ -297,6 +307,7 @@ public class DeliveriesPanel extends JPanel {
         
         deliveriesRowSorter = new TableRowSorter<>(deliveriesTableModel);
         deliveriesTable.setRowSorter(deliveriesRowSorter);
+        deliveriesStatusIndex = new TableStatusIndex(deliveriesTableModel, 3);
         
         deliveriesTable.getColumnModel().getColumn(0).setPreferredWidth(90);
         deliveriesTable.getColumnModel().getColumn(1).setPreferredWidth(140);
@@ -472,6 +483,11 @@ public class DeliveriesPanel extends JPanel {
         addDetailRow(panel, "Status:", order.getCourierStatus(), gbc, row++, getStatusColor(order.getCourierStatus()));
         addDetailRow(panel, "Order Date:", order.orderDate, gbc, row++);
         addDetailRow(panel, "Estimated Delivery:", order.estimatedDelivery != null ? order.estimatedDelivery : "-", gbc, row++);
+        // From the stage the order is in now, at the pace past orders on this route kept
+        Date expected = "Failed".equals(order.status) ? null : EtaModel.getInstance().estimateDelivery(order);
+        if (expected != null) {
+            addDetailRow(panel, "Expected Arrival:", new SimpleDateFormat("yyyy-MM-dd HH:mm").format(expected), gbc, row++);
+        }
         addDetailRow(panel, "Order Amount:", order.getFormattedEstimatedCost(), gbc, row++, SUCCESS);
         
         if ("Delivered".equals(order.status) && order.actualDelivery != null) {
@@ -553,7 +569,7 @@ public class DeliveriesPanel extends JPanel {
         int row = 0;
         addDetailRow(packagePanel, "Weight:", order.getFormattedWeight(), gbc, row++);
         addDetailRow(packagePanel, "Dimensions:", order.dimensions + " cm", gbc, row++);
-        addDetailRow(packagePanel, "Package Type:", extractPackageType(order.notes), gbc, row++);
+        addDetailRow(packagePanel, "Package Type:", order.packageType, gbc, row++);
         
         panel.add(packagePanel, BorderLayout.NORTH);
         
@@ -787,19 +803,6 @@ public class DeliveriesPanel extends JPanel {
         return connector;
     }
     
-    private String extractPackageType(String notes) {
-        if (notes == null || notes.isEmpty()) return "Standard";
-        if (notes.contains("Package Type:")) {
-            int start = notes.indexOf("Package Type:") + 13;
-            int end = notes.indexOf(";", start);
-            if (end == -1) end = notes.indexOf("|", start);
-            if (end == -1) end = notes.length();
-            String type = notes.substring(start, end).trim();
-            return type.isEmpty() ? "Standard" : type;
-        }
-        return "Standard";
-    }
-    
     private Color getStatusColor(String status) {
         switch(status) {
             case "Pending": return WARNING;
@@ -1001,14 +1004,77 @@ public class DeliveriesPanel extends JPanel {
         JButton viewDetailsBtn = createActionButton("View Details", INFO);
         JButton updateStatusBtn = createActionButton("Update Status", new Color(255, 87, 34));
         JButton trackBtn = createActionButton("Track Order", PURPLE);
+        JButton routeBtn = createActionButton("Plan Route", PRIMARY_GREEN);
         
         panel.add(viewDetailsBtn);
         panel.add(updateStatusBtn);
         panel.add(trackBtn);
+        panel.add(routeBtn);
         
         return panel;
     }
     
+    // ==================== ROUTE PLAN ====================
+    
+    private void showRoutePlan() {
+        Driver driver = parentDashboard != null ? parentDashboard.getCurrentDriver() : null;
+        if (driver == null || orderStorage == null) return;
+        
+        List<Order> active = new ArrayList<>(orderStorage.getActiveOrdersByDriver(driver.id));
+        if (active.isEmpty()) {
+            parentDashboard.showNotification("You have no active deliveries to plan.", INFO);
+            return;
+        }
+        
+        Location start = Location.parse(driver.address);
+        new SwingWorker<RouteOptimizer.Route, Void>() {
+            @Override
+            protected RouteOptimizer.Route doInBackground() {
+                return RouteOptimizer.getInstance().optimize(start, active);
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    RouteOptimizer.Route route = get();
+                    parentDashboard.setPlannedRoute(route);
+                    showRouteDialog(route);
+                } catch (Exception ex) {
+                    System.err.println("Error planning route: " + ex.getMessage());
+                    parentDashboard.showNotification("Could not plan the route.", DANGER);
+                }
+            }
+        }.execute();
+    }
+    
+    private void showRouteDialog(RouteOptimizer.Route route) {
+        StringBuilder text = new StringBuilder();
+        int n = 1;
+        for (RouteOptimizer.Stop stop : route.getStops()) {
+            Order o = stop.getOrder();
+            Location at = stop.getLocation();
+            String place = at.isUnknown()
+                ? (stop.isPickup() ? o.customerAddress : o.recipientAddress)
+                : at.toString();
+            text.append(String.format("%2d. %-7s %s  %s%n     %s  (+%.1f km)%n", n++,
+                stop.isPickup() ? "Pickup" : "Deliver", o.id,
+                stop.isPickup() ? safe(o.customerName) : safe(o.recipientName),
+                place != null ? place : "-", stop.getLegKm()));
+        }
+        text.append(String.format("%nTotal distance: %.1f km over %d stops", route.getTotalKm(), route.getStops().size()));
+        
+        JTextArea area = new JTextArea(text.toString());
+        area.setEditable(false);
+        area.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JScrollPane scroll = new JScrollPane(area);
+        scroll.setPreferredSize(new Dimension(520, 360));
+        JOptionPane.showMessageDialog(this, scroll, "Suggested Route", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    private static String safe(String s) {
+        return s != null ? s : "-";
+    }
+    
     private JButton createActionButton(String text, Color bgColor) {
         JButton btn = new JButton(text);
         btn.setBackground(bgColor);
@@ -1029,6 +1095,11 @@ public class DeliveriesPanel extends JPanel {
         });
         
         btn.addActionListener(e -> {
+            if (text.equals("Plan Route")) {
+                showRoutePlan();
+                return;
+            }
+            
             int row = deliveriesTable.getSelectedRow();
             if (row == -1) {
                 if (parentDashboard != null) {
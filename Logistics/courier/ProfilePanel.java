@@ -2,6 +2,7 @@ package courier;
 
 import logistics.driver.Driver;
 import logistics.driver.DriverStorage;
+import logistics.ui.ThumbnailService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -543,16 +544,16 @@ public class ProfilePanel extends JPanel {
     }
     
     private void loadDriverPhoto(String photoPath) {
-        try {
-            File photoFile = new File(photoPath);
-            if (photoFile.exists()) {
-                ImageIcon icon = new ImageIcon(photoPath);
-                Image image = icon.getImage().getScaledInstance(140, 140, Image.SCALE_SMOOTH);
-                profilePhotoLabel.setIcon(new ImageIcon(image));
+        File photoFile = new File(photoPath);
+        if (!photoFile.exists()) return;
+        
+        ThumbnailService.getInstance().requestThumbnailIcon(photoPath, 140, 140, icon -> {
+            if (icon != null) {
+                profilePhotoLabel.setIcon(icon);
                 profilePhotoLabel.setText("");
                 profilePhotoFile = photoFile;
             }
-        } catch (Exception e) {}
+        });
     }
     
     private void uploadProfilePhoto() {
@@ -584,6 +585,7 @@ public class ProfilePanel extends JPanel {
                 java.nio.file.Files.copy(profilePhotoFile.toPath(), 
                     new File(newPhotoPath).toPath(), 
                     java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+                ThumbnailService.getInstance().invalidate(newPhotoPath);
                 currentDriver.photoPath = newPhotoPath;
                 driverStorage.updateDriver(currentDriver);
             } catch (Exception e) {}
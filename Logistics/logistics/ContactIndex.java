@@ -0,0 +1,224 @@
+package logistics;
+
+import java.io.File;
+import java.util.*;
+
+import logistics.driver.Driver;
+import logistics.driver.DriverStorage;
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+
+/**
+ * Maps phone numbers and email addresses to the orders, drivers and sender
+ * accounts that use them.
+ *
+ * Contacts are stored in canonical form - phones as digits only with a leading
+ * "+60" folded to "0", emails trimmed and lower-cased - so "+60 12-345 6789" and
+ * "0123456789" are the same key; anything that is neither is keyed on its
+ * trimmed, lower-cased text. Orders follow OrderIndex change events, drivers
+ * are re-read when drivers.txt changes, and Login registers sender accounts
+ * through putAccount() since it owns that database. DriverStorage and Login
+ * check a new registration's email and phone here instead of scanning.
+ */
+public class ContactIndex {
+    private static final String DRIVER_FILE = "drivers.txt";
+    private static final long STAMP_CHECK_MS = 1000;
+    private static final int MIN_PHONE_DIGITS = 7;
+    private static ContactIndex instance;
+    private static volatile boolean driversSaved;
+
+    private final OrderIndex orders;
+    private final Map<String, Set<String>> ordersByContact = new HashMap<>();
+    private final Map<String, List<String>> contactsByOrder = new HashMap<>();
+    private final Map<String, Set<String>> accountsByContact = new HashMap<>();
+    private final Map<String, List<String>> contactsByAccount = new HashMap<>();
+    private Map<String, Set<String>> driversByContact = new HashMap<>();
+    private long driversModified = -1;
+    private long lastDriverCheck;
+
+    private ContactIndex(OrderIndex orders) {
+        this.orders = orders;
+        orders.addListener(this::ordersChanged);
+        for (Order order : orders.getAll()) {
+            addOrder(order);
+        }
+    }
+
+    public static synchronized ContactIndex getInstance() {
+        if (instance == null) {
+            instance = new ContactIndex(OrderIndex.getInstance());
+        }
+        return instance;
+    }
+
+    // ==================== NORMALIZATION ====================
+
+    /** Digits only, with the Malaysian country code folded into a leading 0; null if too short. */
+    public static String normalizePhone(String phone) {
+        if (phone == null) return null;
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        if (digits.length() >= 11 && digits.charAt(0) == '6' && digits.charAt(1) == '0') {
+            digits.replace(0, 2, "0");
+        }
+        return digits.length() >= MIN_PHONE_DIGITS ? digits.toString() : null;
+    }
+
+    public static String normalizeEmail(String email) {
+        if (email == null) return null;
+        String trimmed = email.trim().toLowerCase(Locale.ROOT);
+        return trimmed.indexOf('@') > 0 ? trimmed : null;
+    }
+
+    /**
+     * Canonical form of a phone number or email address; anything else, such as
+     * a short phone or an email without a domain, is just trimmed and lower-cased.
+     * Null only for null or blank input.
+     */
+    public static String normalize(String contact) {
+        if (contact == null) return null;
+        String key = contact.indexOf('@') >= 0 ? normalizeEmail(contact)
+            : looksLikePhone(contact) ? normalizePhone(contact) : null;
+        if (key != null) return key;
+        String trimmed = contact.trim().toLowerCase(Locale.ROOT);
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static boolean looksLikePhone(String contact) {
+        for (int i = 0; i < contact.length(); i++) {
+            char c = contact.charAt(i);
+            if (!Character.isDigit(c) && c != '+' && c != '-' && c != ' ' && c != '(' && c != ')') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean sameContact(String a, String b) {
+        String key = normalize(a);
+        return key != null && key.equals(normalize(b));
+    }
+
+    // ==================== LOOKUPS ====================
+
+    /** Ids of orders where the contact is the sender's or the recipient's, in ascending order. */
+    public List<String> getOrderIds(String contact) {
+        String key = normalize(contact);
+        if (key == null) return Collections.emptyList();
+
+        // Picks up file changes made outside the app before reading the index
+        orders.size();
+
+        synchronized (this) {
+            return sorted(ordersByContact.get(key));
+        }
+    }
+
+    public List<String> getDriverIds(String contact) {
+        String key = normalize(contact);
+        if (key == null) return Collections.emptyList();
+
+        synchronized (this) {
+            checkDrivers();
+            return sorted(driversByContact.get(key));
+        }
+    }
+
+    public boolean isDriverContact(String contact) {
+        return !getDriverIds(contact).isEmpty();
+    }
+
+    /** Usernames of sender accounts registered with the contact. */
+    public synchronized List<String> getAccounts(String contact) {
+        String key = normalize(contact);
+        if (key == null) return Collections.emptyList();
+        return sorted(accountsByContact.get(key));
+    }
+
+    /** Adds or replaces the contacts of a sender account. */
+    public synchronized void putAccount(String username, String email, String phone) {
+        List<String> old = contactsByAccount.remove(username);
+        if (old != null) {
+            unlink(accountsByContact, old, username);
+        }
+        List<String> keys = keysOf(email, phone);
+        contactsByAccount.put(username, keys);
+        link(accountsByContact, keys, username);
+    }
+
+    /** Called after drivers.txt is written, so the next lookup re-reads it even within the same second. */
+    public static void driversChanged() {
+        driversSaved = true;
+    }
+
+    // ==================== INDEXING ====================
+
+    private synchronized void ordersChanged(Set<String> changedIds) {
+        for (String orderId : changedIds) {
+            List<String> old = contactsByOrder.remove(orderId);
+            if (old != null) {
+                unlink(ordersByContact, old, orderId);
+            }
+            Order order = orders.get(orderId);
+            if (order != null) addOrder(order);
+        }
+    }
+
+    private void addOrder(Order o) {
+        List<String> keys = keysOf(o.customerEmail, o.customerPhone, o.recipientPhone);
+        contactsByOrder.put(o.id, keys);
+        link(ordersByContact, keys, o.id);
+    }
+
+    private void checkDrivers() {
+        long now = System.currentTimeMillis();
+        boolean saved = driversSaved;
+        if (!saved && now - lastDriverCheck < STAMP_CHECK_MS) return;
+        lastDriverCheck = now;
+        driversSaved = false;
+
+        long modified = new File(DRIVER_FILE).lastModified();
+        if (!saved && modified == driversModified) return;
+
+        Map<String, Set<String>> byContact = new HashMap<>();
+        for (Driver d : new DriverStorage().getAllDrivers()) {
+            link(byContact, keysOf(d.email, d.phone), d.id);
+        }
+        driversByContact = byContact;
+        driversModified = modified;
+    }
+
+    private static List<String> keysOf(String... contacts) {
+        List<String> keys = new ArrayList<>(contacts.length);
+        for (String contact : contacts) {
+            String key = normalize(contact);
+            if (key != null && !keys.contains(key)) keys.add(key);
+        }
+        return keys;
+    }
+
+    private static void link(Map<String, Set<String>> index, List<String> keys, String id) {
+        for (String key : keys) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private static void unlink(Map<String, Set<String>> index, List<String> keys, String id) {
+        for (String key : keys) {
+            Set<String> ids = index.get(key);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (ids.isEmpty()) index.remove(key);
+        }
+    }
+
+    private static List<String> sorted(Set<String> ids) {
+        if (ids == null) return Collections.emptyList();
+        List<String> result = new ArrayList<>(ids);
+        Collections.sort(result);
+        return result;
+    }
+}
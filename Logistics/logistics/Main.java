@@ -4,6 +4,9 @@ import javax.swing.*;
 import java.io.File;
 
 import logistics.login.Login;
+import logistics.orders.OrderFileMigration;
+import logistics.orders.SlaMonitor;
+import receiver.TrackingHttpServer;
 
 public class Main {
     public static void main(String[] args) {
@@ -18,8 +21,22 @@ public class Main {
             e.printStackTrace();
         }
         
+        String trackingPort = System.getProperty("tracking.http.port");
+        if (trackingPort != null) {
+            try {
+                TrackingHttpServer.start(Integer.parseInt(trackingPort));
+            } catch (Exception e) {
+                System.err.println("Could not start tracking endpoint: " + e.getMessage());
+            }
+        }
+        
+        OrderFileMigration.migrate();
+        
         SwingUtilities.invokeLater(() -> {
-            new Login().setVisible(true);
+            new WarmStart().run(() -> {
+                SlaMonitor.getInstance().start();
+                new Login().setVisible(true);
+            });
         });
     }
 }
\ No newline at end of file
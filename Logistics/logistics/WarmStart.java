@@ -0,0 +1,186 @@
+package logistics;
+
+import javax.swing.*;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.io.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+
+import logistics.driver.DriverBalancer;
+import logistics.geo.DistanceMatrix;
+import logistics.geo.GeoIndex;
+import logistics.orders.EtaModel;
+import logistics.orders.OrderIndex;
+import logistics.ui.ImageCache;
+import logistics.ui.ThumbnailService;
+import sender.SenderOrderRepository;
+
+/**
+ * Startup phase that fills the application's shared caches in parallel behind
+ * a splash screen, before the login window is shown.
+ *
+ * Only singletons that keep what they load are warmed (OrderIndex, the sender
+ * order repository, the driver balancer, the distance and geo indexes, the
+ * ETA model, the account maps and the image caches); screens that build
+ * their own OrderStorage or DriverStorage read the files themselves either
+ * way, so loading those here would only delay the login window.
+ *
+ * Each stage is timed; the timings are printed and appended to TIMINGS_FILE so
+ * a cold-start regression shows up as a change in that file. A failing stage is
+ * logged and skipped - the screens still load their own data as before.
+ */
+public class WarmStart {
+    private static final String TIMINGS_FILE = "startup_timings.txt";
+    private static final long TIMEOUT_MS = 15000;
+
+    private final Map<String, Runnable> stages = new LinkedHashMap<>();
+    private final Map<String, Long> stageTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private JWindow splash;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+
+    public WarmStart() {
+        stages.put("Orders", () -> {
+            OrderIndex.getInstance();
+            SenderOrderRepository.getInstance();
+        });
+        stages.put("Drivers", () -> DriverBalancer.getInstance());
+        stages.put("Locations", () -> {
+            DistanceMatrix.getInstance();
+            GeoIndex.getInstance();
+            // Trained from the order history, so the first quote does not pay for it
+            EtaModel.getInstance();
+        });
+        stages.put("Accounts", () -> {
+            try {
+                // Login's static initializer loads the admin and sender account files
+                Class.forName("logistics.login.Login");
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        stages.put("Images", () -> {
+            ImageCache cache = ImageCache.getInstance();
+            cache.getIconForHeight(WarmStart.class, "logo.jpeg", 45);
+            cache.getIcon(WarmStart.class, "logo.at.png", 50, 50);
+            cache.getIcon(WarmStart.class, "logo.a.jpeg", 80, 80);
+            cache.getIcon(WarmStart.class, "logo.c.png", 50, 50);
+            cache.getIcon(WarmStart.class, "logo.c.png", 80, 80);
+            cache.getIcon(WarmStart.class, "logo.rec.png", 50, 50);
+            cache.getIcon(WarmStart.class, "logos.png", 45, 45);
+            cache.getIcon(WarmStart.class, "logos.png", 80, 80);
+            ThumbnailService.getInstance().pregenerate("driver_photos", 96, 96);
+        });
+    }
+
+    /** Shows the splash, runs every stage, then calls onReady on the EDT. Call on the EDT. */
+    public void run(Runnable onReady) {
+        showSplash();
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(
+            Math.min(stages.size(), Math.max(2, Runtime.getRuntime().availableProcessors())), r -> {
+                Thread t = new Thread(r, "warm-start");
+                t.setDaemon(true);
+                return t;
+            });
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<String, Runnable> stage : stages.entrySet()) {
+            futures.add(CompletableFuture.runAsync(() -> runStage(stage.getKey(), stage.getValue()), pool));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .orTimeout(TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .whenComplete((ignored, error) -> {
+                pool.shutdown();
+                long totalMs = (System.nanoTime() - start) / 1_000_000;
+                if (error != null) {
+                    System.err.println("Warm start did not finish in time, continuing: " + error);
+                }
+                reportTimings(totalMs);
+                SwingUtilities.invokeLater(() -> {
+                    splash.dispose();
+                    onReady.run();
+                });
+            });
+    }
+
+    public Map<String, Long> getStageTimings() {
+        synchronized (stageTimings) {
+            return new LinkedHashMap<>(stageTimings);
+        }
+    }
+
+    // ==================== STAGES ====================
+
+    private void runStage(String name, Runnable stage) {
+        SwingUtilities.invokeLater(() -> statusLabel.setText("Loading " + name.toLowerCase() + "..."));
+        long start = System.nanoTime();
+        try {
+            stage.run();
+        } catch (Exception e) {
+            System.err.println("Warm start stage '" + name + "' failed: " + e.getMessage());
+        }
+        stageTimings.put(name, (System.nanoTime() - start) / 1_000_000);
+        SwingUtilities.invokeLater(() -> progressBar.setValue(progressBar.getValue() + 1));
+    }
+
+    private void reportTimings(long totalMs) {
+        Map<String, Long> timings = getStageTimings();
+
+        System.out.println("=== STARTUP TIMINGS ===");
+        for (Map.Entry<String, Long> entry : timings.entrySet()) {
+            System.out.println(String.format("%-12s %6d ms", entry.getKey(), entry.getValue()));
+        }
+        System.out.println(String.format("%-12s %6d ms", "Total", totalMs));
+        System.out.println("=======================\n");
+
+        StringBuilder line = new StringBuilder();
+        line.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+        line.append("|total=").append(totalMs);
+        for (Map.Entry<String, Long> entry : timings.entrySet()) {
+            line.append("|").append(entry.getKey()).append("=").append(entry.getValue());
+        }
+        try (PrintWriter writer = new PrintWriter(new FileWriter(TIMINGS_FILE, true))) {
+            writer.println(line);
+        } catch (IOException e) {
+            System.err.println("Could not write " + TIMINGS_FILE + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== SPLASH ====================
+
+    private void showSplash() {
+        splash = new JWindow();
+
+        JPanel content = new JPanel(new BorderLayout(0, 12));
+        content.setBackground(Color.WHITE);
+        content.setBorder(BorderFactory.createCompoundBorder(
+            new LineBorder(new Color(222, 226, 230)),
+            BorderFactory.createEmptyBorder(24, 32, 20, 32)));
+
+        JLabel titleLabel = new JLabel("Logistics Management System", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        titleLabel.setForeground(new Color(33, 37, 41));
+        content.add(titleLabel, BorderLayout.NORTH);
+
+        statusLabel = new JLabel("Starting...", SwingConstants.CENTER);
+        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        statusLabel.setForeground(new Color(108, 117, 125));
+        content.add(statusLabel, BorderLayout.CENTER);
+
+        progressBar = new JProgressBar(0, stages.size());
+        progressBar.setPreferredSize(new Dimension(320, 8));
+        progressBar.setForeground(new Color(0, 123, 255));
+        content.add(progressBar, BorderLayout.SOUTH);
+
+        splash.setContentPane(content);
+        splash.pack();
+        splash.setLocationRelativeTo(null);
+        splash.setVisible(true);
+    }
+}
@@ -4,6 +4,9 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class Driver {
+    /** Orders a driver can carry at once. */
+    public static final int MAX_ACTIVE_ORDERS = 3;
+    
     public String id;
     public String name;
     public String phone;
@@ -168,7 +171,7 @@ public class Driver {
     }
     
     public boolean canTakeNewOrder() {
-        return isAvailable() && currentOrderIds.size() < 3;
+        return isAvailable() && currentOrderIds.size() < MAX_ACTIVE_ORDERS;
     }
     
     public void assignOrder(String orderId) {
@@ -0,0 +1,234 @@
+package logistics.driver;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the drivers who can take another order in an indexed min-heap, least
+ * busy first, so the next driver to suggest is always at the top.
+ *
+ * A driver's score grows with the orders they are carrying, their share of
+ * late deliveries (onTimeDeliveries against lateDeliveries) and the distance
+ * they have driven, in that order of weight. Each entry knows its slot in the
+ * heap, so DriverStorage can re-score one driver after an assignment or a
+ * completion in O(log n) instead of re-sorting everyone. Drivers who are not
+ * approved, are off duty or on leave, or are at Driver.MAX_ACTIVE_ORDERS
+ * leave the heap until they can take work again.
+ *
+ * drivers.txt is also checked at most once every STAMP_CHECK_MS, and the heap
+ * rebuilt, in case it was written by code that does not go through
+ * DriverStorage.
+ */
+public class DriverBalancer {
+    private static final String DRIVER_FILE = "drivers.txt";
+    private static final long STAMP_CHECK_MS = 1000;
+    private static final double LOAD_WEIGHT = 100;
+    private static final double LATE_WEIGHT = 60;
+    private static final double KM_PER_POINT = 500;
+    private static DriverBalancer instance;
+
+    private final File file;
+    private final List<Entry> heap = new ArrayList<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long loadedModified = -1;
+    private long lastStampCheck;
+
+    private DriverBalancer(File file) {
+        this.file = file;
+        rebuild(new DriverStorage().getAllDrivers());
+    }
+
+    public static synchronized DriverBalancer getInstance() {
+        if (instance == null) {
+            instance = new DriverBalancer(new File(DRIVER_FILE));
+        }
+        return instance;
+    }
+
+    /** Re-scores drivers DriverStorage has just saved; does nothing until the balancer is first used. */
+    static void driversChanged(Collection<Driver> drivers) {
+        DriverBalancer balancer;
+        synchronized (DriverBalancer.class) {
+            balancer = instance;
+        }
+        if (balancer != null) balancer.saved(drivers, null);
+    }
+
+    static void driverRemoved(String driverId) {
+        DriverBalancer balancer;
+        synchronized (DriverBalancer.class) {
+            balancer = instance;
+        }
+        if (balancer != null) balancer.saved(Collections.emptyList(), driverId);
+    }
+
+    /** True if the driver is on duty, approved, and has room for another order. */
+    public static boolean canTakeMore(Driver d) {
+        return d.isApproved()
+            && ("Available".equals(d.workStatus) || "On Delivery".equals(d.workStatus))
+            && d.getCurrentOrderCount() < Driver.MAX_ACTIVE_ORDERS;
+    }
+
+    /** Lower is better. */
+    public static double scoreOf(Driver d) {
+        int rated = d.onTimeDeliveries + d.lateDeliveries;
+        double lateShare = rated > 0 ? (double) d.lateDeliveries / rated : 0;
+        return d.getCurrentOrderCount() * LOAD_WEIGHT + lateShare * LATE_WEIGHT + d.totalDistance / KM_PER_POINT;
+    }
+
+    /** The score in carried orders, for callers that price a driver's workload in their own units. */
+    public static double loadOf(Driver d) {
+        return scoreOf(d) / LOAD_WEIGHT;
+    }
+
+    /**
+     * The least busy driver the filter accepts, or null. The heap is walked best
+     * first, so only drivers better than the answer are looked at.
+     */
+    public synchronized Driver suggest(Predicate<Driver> accept) {
+        checkStamp();
+        if (heap.isEmpty()) return null;
+
+        PriorityQueue<Entry> frontier = new PriorityQueue<>();
+        frontier.add(heap.get(0));
+        while (!frontier.isEmpty()) {
+            Entry e = frontier.poll();
+            if (accept.test(e.driver)) return e.driver;
+            int child = 2 * e.slot + 1;
+            if (child < heap.size()) frontier.add(heap.get(child));
+            if (child + 1 < heap.size()) frontier.add(heap.get(child + 1));
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        checkStamp();
+        return heap.size();
+    }
+
+    /** Adds, re-scores or drops the driver. */
+    public synchronized void update(Driver d) {
+        updateLocked(d);
+    }
+
+    public synchronized void remove(String driverId) {
+        removeLocked(driverId);
+    }
+
+    // The file now matches what the balancer holds, so the stamp check must not rebuild
+    private synchronized void saved(Collection<Driver> drivers, String removedId) {
+        for (Driver d : drivers) updateLocked(d);
+        if (removedId != null) removeLocked(removedId);
+        loadedModified = file.lastModified();
+    }
+
+    // ==================== HEAP ====================
+
+    private void updateLocked(Driver d) {
+        if (d == null || d.id == null) return;
+        if (!canTakeMore(d)) {
+            removeLocked(d.id);
+            return;
+        }
+
+        Entry e = entries.get(d.id);
+        double score = scoreOf(d);
+        if (e == null) {
+            e = new Entry(d, score, heap.size());
+            entries.put(d.id, e);
+            heap.add(e);
+            siftUp(e.slot);
+        } else {
+            double old = e.score;
+            e.driver = d;
+            e.score = score;
+            if (score < old) siftUp(e.slot);
+            else siftDown(e.slot);
+        }
+    }
+
+    private void removeLocked(String driverId) {
+        Entry e = entries.remove(driverId);
+        if (e == null) return;
+
+        int slot = e.slot;
+        Entry last = heap.remove(heap.size() - 1);
+        if (last != e) {
+            place(last, slot);
+            siftDown(slot);
+            siftUp(last.slot);
+        }
+    }
+
+    private void rebuild(List<Driver> drivers) {
+        heap.clear();
+        entries.clear();
+        for (Driver d : drivers) {
+            if (d.id == null || !canTakeMore(d) || entries.containsKey(d.id)) continue;
+            Entry e = new Entry(d, scoreOf(d), heap.size());
+            entries.put(d.id, e);
+            heap.add(e);
+        }
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) siftDown(i);
+        loadedModified = file.lastModified();
+        lastStampCheck = System.currentTimeMillis();
+    }
+
+    private void checkStamp() {
+        long now = System.currentTimeMillis();
+        if (now - lastStampCheck < STAMP_CHECK_MS) return;
+        lastStampCheck = now;
+        if (file.lastModified() != loadedModified) {
+            rebuild(new DriverStorage().getAllDrivers());
+        }
+    }
+
+    private void siftUp(int slot) {
+        Entry e = heap.get(slot);
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (heap.get(parent).compareTo(e) <= 0) break;
+            place(heap.get(parent), slot);
+            slot = parent;
+        }
+        place(e, slot);
+    }
+
+    private void siftDown(int slot) {
+        Entry e = heap.get(slot);
+        int half = heap.size() / 2;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < heap.size() && heap.get(child + 1).compareTo(heap.get(child)) < 0) child++;
+            if (e.compareTo(heap.get(child)) <= 0) break;
+            place(heap.get(child), slot);
+            slot = child;
+        }
+        place(e, slot);
+    }
+
+    private void place(Entry e, int slot) {
+        heap.set(slot, e);
+        e.slot = slot;
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        Driver driver;
+        double score;
+        int slot;
+
+        Entry(Driver driver, double score, int slot) {
+            this.driver = driver;
+            this.score = score;
+            this.slot = slot;
+        }
+
+        // Ties go to the lower id so suggestions are stable
+        @Override
+        public int compareTo(Entry other) {
+            int c = Double.compare(score, other.score);
+            return c != 0 ? c : driver.id.compareTo(other.driver.id);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import logistics.ContactIndex;
+
 public class DriverStorage {
     private static final String DRIVER_FILE = "drivers.txt";
     private List<Driver> drivers;
@@ -102,6 +104,7 @@ public class DriverStorage {
         } catch (IOException e) {
             System.err.println("Error saving drivers: " + e.getMessage());
         }
+        ContactIndex.driversChanged();
     }
     
     private void createSampleData() {
@@ -188,24 +191,12 @@ public class DriverStorage {
     
     public boolean isEmailExists(String email) {
         if (email == null || email.trim().isEmpty()) return false;
-        loadDrivers();
-        for (Driver driver : drivers) {
-            if (email.equalsIgnoreCase(driver.email)) {
-                return true;
-            }
-        }
-        return false;
+        return ContactIndex.getInstance().isDriverContact(email);
     }
     
     public boolean isPhoneExists(String phone) {
         if (phone == null || phone.trim().isEmpty()) return false;
-        loadDrivers();
-        for (Driver driver : drivers) {
-            if (phone.equals(driver.phone)) {
-                return true;
-            }
-        }
-        return false;
+        return ContactIndex.getInstance().isDriverContact(phone);
     }
     
     public List<Driver> getAllDrivers() {
@@ -263,6 +254,7 @@ public class DriverStorage {
         drivers.add(d);
         updateIdCounter(d.id);
         saveDrivers();
+        DriverBalancer.driversChanged(Collections.singletonList(d));
     }
     
     public void updateDriver(Driver updatedDriver) {
@@ -280,11 +272,32 @@ public class DriverStorage {
         }
         
         saveDrivers();
+        DriverBalancer.driversChanged(Collections.singletonList(updatedDriver));
+    }
+    
+    /** Replaces or adds each driver and writes drivers.txt once. */
+    public void updateDrivers(Collection<Driver> updatedDrivers) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < drivers.size(); i++) {
+            positions.put(drivers.get(i).id, i);
+        }
+        for (Driver d : updatedDrivers) {
+            Integer at = positions.get(d.id);
+            if (at != null) {
+                drivers.set(at, d);
+            } else {
+                positions.put(d.id, drivers.size());
+                drivers.add(d);
+            }
+        }
+        saveDrivers();
+        DriverBalancer.driversChanged(updatedDrivers);
     }
     
     public void removeDriver(String id) {
         drivers.removeIf(d -> d.id.equals(id));
         saveDrivers();
+        DriverBalancer.driverRemoved(id);
     }
     
     public void approveDriver(String id) {
@@ -293,6 +306,7 @@ public class DriverStorage {
             d.approvalStatus = "APPROVED";
             d.workStatus = "Available";
             saveDrivers();
+            DriverBalancer.driversChanged(Collections.singletonList(d));
         }
     }
     
@@ -302,6 +316,7 @@ public class DriverStorage {
             d.approvalStatus = "REJECTED";
             d.remarks = reason;
             saveDrivers();
+            DriverBalancer.driversChanged(Collections.singletonList(d));
         }
     }
     
@@ -310,6 +325,7 @@ public class DriverStorage {
         if (d != null && d.isAvailable()) {
             d.assignOrder(orderId);
             saveDrivers();
+            DriverBalancer.driversChanged(Collections.singletonList(d));
             return true;
         }
         return false;
@@ -320,6 +336,7 @@ public class DriverStorage {
         if (d != null) {
             d.completeOrder(orderId, onTime, distance, fuelUsed);
             saveDrivers();
+            DriverBalancer.driversChanged(Collections.singletonList(d));
             return true;
         }
         return false;
@@ -0,0 +1,141 @@
+package logistics.geo;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Road distances between the cities of the Gazetteer, read once from
+ * distances.txt into a flat triangular array.
+ *
+ * The matrix is symmetric, so only the upper triangle (diagonal included) is
+ * kept: n(n+1)/2 floats, about 7 KB for the current city list. A postcode or
+ * city resolves to its Gazetteer place and a state to its central city, so
+ * every lookup is two hash probes and an array read. Callers that price many
+ * shipments can resolve locations with indexOf() once and use km(int, int),
+ * which does not allocate.
+ *
+ * Pairs missing from the file, such as a city added to locations.txt later,
+ * are filled in from the coordinates at load time with the same rules the
+ * file was built with: ROAD_FACTOR times the straight line on one landmass,
+ * or the straight line plus SEA_CROSSING_KM between Borneo and the peninsula.
+ */
+public class DistanceMatrix {
+    private static final String DISTANCE_FILE = "distances.txt";
+    private static final double ROAD_FACTOR = 1.3;
+    private static final double LOCAL_KM = 10;
+    private static final double SEA_CROSSING_KM = 400;
+    private static final Set<String> BORNEO_STATES = new HashSet<>(Arrays.asList("sabah", "sarawak", "labuan"));
+    /** Used when either end cannot be placed at all. */
+    public static final double UNKNOWN_KM = 300;
+    private static DistanceMatrix instance;
+
+    private final Gazetteer gazetteer;
+    private final int size;
+    private final float[] upper;
+
+    private DistanceMatrix(Gazetteer gazetteer, File file) {
+        this.gazetteer = gazetteer;
+        this.size = gazetteer.getPlaces().size();
+        this.upper = new float[size * (size + 1) / 2];
+        Arrays.fill(upper, -1f);
+        load(file);
+        fillMissing();
+    }
+
+    public static synchronized DistanceMatrix getInstance() {
+        if (instance == null) {
+            instance = new DistanceMatrix(Gazetteer.getInstance(), new File(DISTANCE_FILE));
+        }
+        return instance;
+    }
+
+    /** Matrix index of the location's place, or -1 if it cannot be placed. */
+    public int indexOf(Location location) {
+        Gazetteer.Place place = gazetteer.locate(location);
+        return place != null ? place.index : -1;
+    }
+
+    /** Road distance in km between two indexes from indexOf(); UNKNOWN_KM if either is -1. */
+    public double km(int from, int to) {
+        if (from < 0 || to < 0) return UNKNOWN_KM;
+        return from <= to ? upper[slot(from, to)] : upper[slot(to, from)];
+    }
+
+    public double km(Location from, Location to) {
+        return km(indexOf(from), indexOf(to));
+    }
+
+    /** Distance between the central cities of two states. */
+    public double kmBetweenStates(String fromState, String toState) {
+        return km(new Location("", fromState, ""), new Location("", toState, ""));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Row i holds columns i..size-1, so row i starts after the i shorter rows before it
+    private int slot(int row, int col) {
+        return row * size - row * (row - 1) / 2 + (col - row);
+    }
+
+    private void load(File file) {
+        if (!file.exists()) {
+            System.err.println("Distance file not found: " + file.getAbsolutePath() + " - using straight-line estimates");
+            return;
+        }
+
+        List<Gazetteer.Place> places = gazetteer.getPlaces();
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\\|");
+                if (parts.length < 3) continue;
+                int row = indexOf(new Location(parts[1], parts[0], ""));
+                if (row < 0 || !places.get(row).location.getCity().equalsIgnoreCase(parts[1].trim())) {
+                    System.err.println("Skipping distances for unknown city: " + parts[1]);
+                    continue;
+                }
+
+                String[] values = parts[2].split(",");
+                for (int k = 0; k < values.length && row + k < size; k++) {
+                    try {
+                        upper[slot(row, row + k)] = Float.parseFloat(values[k].trim());
+                    } catch (NumberFormatException e) {
+                        // Left for fillMissing()
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading distances: " + e.getMessage());
+        }
+    }
+
+    private void fillMissing() {
+        List<Gazetteer.Place> places = gazetteer.getPlaces();
+        int filled = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                int slot = slot(i, j);
+                if (upper[slot] >= 0) continue;
+                Gazetteer.Place a = places.get(i);
+                Gazetteer.Place b = places.get(j);
+                double straight = Gazetteer.haversineKm(a.latitude, a.longitude, b.latitude, b.longitude);
+                upper[slot] = (float) (i == j ? LOCAL_KM
+                    : isOnBorneo(a) != isOnBorneo(b) ? straight + SEA_CROSSING_KM
+                    : straight * ROAD_FACTOR);
+                filled++;
+            }
+        }
+        if (filled > 0) {
+            System.out.println("Estimated " + filled + " distance(s) missing from " + DISTANCE_FILE);
+        }
+    }
+
+    private static boolean isOnBorneo(Gazetteer.Place place) {
+        return BORNEO_STATES.contains(place.location.getState().toLowerCase(Locale.ROOT));
+    }
+}
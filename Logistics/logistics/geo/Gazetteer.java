@@ -0,0 +1,126 @@
+package logistics.geo;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Coordinates of the cities the order forms offer, read once from
+ * locations.txt (state|city|postcode|latitude|longitude).
+ *
+ * A location is placed by its postcode, then by city and state, then at the
+ * middle of its state's cities, so an address typed with a slightly different
+ * city name still lands in the right region.
+ */
+public class Gazetteer {
+    private static final String LOCATION_FILE = "locations.txt";
+    private static Gazetteer instance;
+
+    private final List<Place> places = new ArrayList<>();
+    private final Map<String, Place> byPostcode = new HashMap<>();
+    private final Map<String, Place> byCity = new HashMap<>();
+    private final Map<String, Place> stateCentres = new HashMap<>();
+
+    /** A city from locations.txt. */
+    public static final class Place {
+        public final int index;
+        public final Location location;
+        public final double latitude;
+        public final double longitude;
+
+        Place(int index, Location location, double latitude, double longitude) {
+            this.index = index;
+            this.location = location;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    private Gazetteer(File file) {
+        load(file);
+    }
+
+    public static synchronized Gazetteer getInstance() {
+        if (instance == null) {
+            instance = new Gazetteer(new File(LOCATION_FILE));
+        }
+        return instance;
+    }
+
+    /** Every city, in file order; Place.index is the position in this list. */
+    public List<Place> getPlaces() {
+        return Collections.unmodifiableList(places);
+    }
+
+    /** Best known place for the location, or null if even its state is unknown. */
+    public Place locate(Location location) {
+        if (location == null) return null;
+        Place place = byPostcode.get(location.getPostcode());
+        if (place == null) place = byCity.get(location.cityKey());
+        if (place == null) place = stateCentres.get(location.getState().toLowerCase(Locale.ROOT));
+        return place;
+    }
+
+    /** Great-circle distance in km. */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private void load(File file) {
+        if (!file.exists()) {
+            System.err.println("Location file not found: " + file.getAbsolutePath());
+            return;
+        }
+
+        Map<String, double[]> stateSums = new LinkedHashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\\|");
+                if (parts.length < 5) continue;
+                try {
+                    Location location = new Location(parts[1], parts[0], parts[2]);
+                    Place place = new Place(places.size(), location,
+                        Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+                    places.add(place);
+                    // Two cities can share a postcode; the first one listed keeps it
+                    byPostcode.putIfAbsent(location.getPostcode(), place);
+                    byCity.put(location.cityKey(), place);
+
+                    double[] sum = stateSums.computeIfAbsent(location.getState().toLowerCase(Locale.ROOT), k -> new double[3]);
+                    sum[0] += place.latitude;
+                    sum[1] += place.longitude;
+                    sum[2]++;
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping bad location line: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading locations: " + e.getMessage());
+        }
+
+        for (Map.Entry<String, double[]> entry : stateSums.entrySet()) {
+            double[] sum = entry.getValue();
+            // The state's nearest real city stands in for it, so every lookup returns a listed place
+            double lat = sum[0] / sum[2];
+            double lon = sum[1] / sum[2];
+            Place nearest = null;
+            double best = Double.MAX_VALUE;
+            for (Place place : places) {
+                if (!place.location.getState().toLowerCase(Locale.ROOT).equals(entry.getKey())) continue;
+                double d = haversineKm(lat, lon, place.latitude, place.longitude);
+                if (d < best) {
+                    best = d;
+                    nearest = place;
+                }
+            }
+            stateCentres.put(entry.getKey(), nearest);
+        }
+    }
+}
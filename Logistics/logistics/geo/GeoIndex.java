@@ -0,0 +1,212 @@
+package logistics.geo;
+
+import java.util.*;
+
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+
+/**
+ * Area lookups over order pickup (origin) and delivery (destination) locations.
+ *
+ * Each side keeps a sorted postcode map, so every order in a postcode or
+ * postcode prefix ("43" is the Kajang/Cheras district) is one range scan, and a
+ * grid of CELL_DEGREES cells over the Gazetteer coordinates, so a radius query
+ * only looks at the cells it overlaps. Like ContactIndex, it follows OrderIndex
+ * change events rather than re-reading orders.txt.
+ */
+public class GeoIndex {
+    private static final double CELL_DEGREES = 0.1;   // about 11 km
+    private static final int AREA_DIGITS = 2;
+    private static GeoIndex instance;
+
+    private final OrderIndex orders;
+    private final Gazetteer gazetteer;
+    private final SideIndex origins = new SideIndex();
+    private final SideIndex destinations = new SideIndex();
+
+    private GeoIndex(OrderIndex orders, Gazetteer gazetteer) {
+        this.orders = orders;
+        this.gazetteer = gazetteer;
+        orders.addListener(this::ordersChanged);
+        for (Order order : orders.getAll()) {
+            addOrder(order);
+        }
+    }
+
+    public static synchronized GeoIndex getInstance() {
+        if (instance == null) {
+            instance = new GeoIndex(OrderIndex.getInstance(), Gazetteer.getInstance());
+        }
+        return instance;
+    }
+
+    /** Postal district of a postcode: its first AREA_DIGITS digits, or "" if it has none. */
+    public static String areaOf(String postcode) {
+        return postcode != null && postcode.length() >= AREA_DIGITS ? postcode.substring(0, AREA_DIGITS) : "";
+    }
+
+    // ==================== LOOKUPS ====================
+
+    /** Orders picked up in a postcode starting with the prefix, in ascending id order. */
+    public List<String> getOriginIds(String postcodePrefix) {
+        orders.size();
+        synchronized (this) {
+            return origins.withPostcodePrefix(postcodePrefix);
+        }
+    }
+
+    public List<String> getDestinationIds(String postcodePrefix) {
+        orders.size();
+        synchronized (this) {
+            return destinations.withPostcodePrefix(postcodePrefix);
+        }
+    }
+
+    /** Orders picked up within radiusKm of the location, nearest first. */
+    public List<String> getOriginIdsNear(Location centre, double radiusKm) {
+        orders.size();
+        synchronized (this) {
+            return origins.near(gazetteer.locate(centre), radiusKm);
+        }
+    }
+
+    public List<String> getDestinationIdsNear(Location centre, double radiusKm) {
+        orders.size();
+        synchronized (this) {
+            return destinations.near(gazetteer.locate(centre), radiusKm);
+        }
+    }
+
+    /** Number of orders picked up in each postal district. */
+    public Map<String, Integer> countOriginsByArea() {
+        orders.size();
+        synchronized (this) {
+            return origins.countByArea();
+        }
+    }
+
+    public Map<String, Integer> countDestinationsByArea() {
+        orders.size();
+        synchronized (this) {
+            return destinations.countByArea();
+        }
+    }
+
+    // ==================== INDEXING ====================
+
+    private synchronized void ordersChanged(Set<String> changedIds) {
+        for (String orderId : changedIds) {
+            origins.remove(orderId);
+            destinations.remove(orderId);
+            Order order = orders.get(orderId);
+            if (order != null) addOrder(order);
+        }
+    }
+
+    private void addOrder(Order o) {
+        origins.add(o.id, o.getOrigin(), gazetteer);
+        destinations.add(o.id, o.getDestination(), gazetteer);
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return cellKey((long) Math.floor(latitude / CELL_DEGREES), (long) Math.floor(longitude / CELL_DEGREES));
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    /** One side (pickup or delivery) of every order. */
+    private static class SideIndex {
+        final TreeMap<String, Set<String>> byPostcode = new TreeMap<>();
+        final Map<Long, Set<String>> byCell = new HashMap<>();
+        final Map<String, Entry> byOrder = new HashMap<>();
+
+        void add(String orderId, Location location, Gazetteer gazetteer) {
+            Gazetteer.Place place = gazetteer.locate(location);
+            Entry entry = new Entry(location.getPostcode(), place);
+            byOrder.put(orderId, entry);
+            if (!entry.postcode.isEmpty()) {
+                byPostcode.computeIfAbsent(entry.postcode, k -> new HashSet<>()).add(orderId);
+            }
+            if (place != null) {
+                byCell.computeIfAbsent(cellOf(place.latitude, place.longitude), k -> new HashSet<>()).add(orderId);
+            }
+        }
+
+        void remove(String orderId) {
+            Entry entry = byOrder.remove(orderId);
+            if (entry == null) return;
+            unlink(byPostcode, entry.postcode, orderId);
+            if (entry.place != null) {
+                unlink(byCell, cellOf(entry.place.latitude, entry.place.longitude), orderId);
+            }
+        }
+
+        List<String> withPostcodePrefix(String prefix) {
+            if (prefix == null || prefix.isEmpty()) return Collections.emptyList();
+            List<String> result = new ArrayList<>();
+            for (Set<String> ids : byPostcode.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                result.addAll(ids);
+            }
+            Collections.sort(result);
+            return result;
+        }
+
+        List<String> near(Gazetteer.Place centre, double radiusKm) {
+            if (centre == null || radiusKm < 0) return Collections.emptyList();
+
+            // Cells overlapping the radius; a degree of longitude shrinks with latitude
+            double latSpan = radiusKm / 111.0;
+            double lonSpan = radiusKm / (111.0 * Math.max(0.1, Math.cos(Math.toRadians(centre.latitude))));
+            long rowFrom = (long) Math.floor((centre.latitude - latSpan) / CELL_DEGREES);
+            long rowTo = (long) Math.floor((centre.latitude + latSpan) / CELL_DEGREES);
+            long colFrom = (long) Math.floor((centre.longitude - lonSpan) / CELL_DEGREES);
+            long colTo = (long) Math.floor((centre.longitude + lonSpan) / CELL_DEGREES);
+
+            List<String> ids = new ArrayList<>();
+            Map<String, Double> distances = new HashMap<>();
+            for (long row = rowFrom; row <= rowTo; row++) {
+                for (long col = colFrom; col <= colTo; col++) {
+                    Set<String> cell = byCell.get(cellKey(row, col));
+                    if (cell == null) continue;
+                    for (String id : cell) {
+                        Gazetteer.Place place = byOrder.get(id).place;
+                        double d = Gazetteer.haversineKm(centre.latitude, centre.longitude, place.latitude, place.longitude);
+                        if (d <= radiusKm) {
+                            ids.add(id);
+                            distances.put(id, d);
+                        }
+                    }
+                }
+            }
+            ids.sort(Comparator.comparingDouble((String id) -> distances.get(id)).thenComparing(id -> id));
+            return ids;
+        }
+
+        Map<String, Integer> countByArea() {
+            Map<String, Integer> counts = new TreeMap<>();
+            for (Map.Entry<String, Set<String>> entry : byPostcode.entrySet()) {
+                counts.merge(areaOf(entry.getKey()), entry.getValue().size(), Integer::sum);
+            }
+            return counts;
+        }
+
+        private static <K> void unlink(Map<K, Set<String>> index, K key, String orderId) {
+            Set<String> ids = index.get(key);
+            if (ids == null) return;
+            ids.remove(orderId);
+            if (ids.isEmpty()) index.remove(key);
+        }
+    }
+
+    private static class Entry {
+        final String postcode;
+        final Gazetteer.Place place;
+
+        Entry(String postcode, Gazetteer.Place place) {
+            this.postcode = postcode;
+            this.place = place;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package logistics.geo;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * City, state and postcode of an order's pickup or delivery address.
+ *
+ * The order forms write addresses as "street, city, state postcode"; parse()
+ * reads that back for orders stored before the location columns existed.
+ * Missing parts are empty strings, never null.
+ */
+public final class Location {
+    public static final Location UNKNOWN = new Location("", "", "");
+
+    private final String city;
+    private final String state;
+    private final String postcode;
+
+    public Location(String city, String state, String postcode) {
+        this.city = city != null ? city.trim() : "";
+        this.state = state != null ? state.trim() : "";
+        this.postcode = postcode != null ? postcode.trim() : "";
+    }
+
+    /** Reads "street, city, state postcode"; parts that cannot be found are left empty. */
+    public static Location parse(String address) {
+        if (address == null || address.trim().isEmpty()) return UNKNOWN;
+
+        String[] parts = address.split(",");
+        String last = parts[parts.length - 1].trim();
+
+        // Trailing five digits are the postcode, whatever is before them the state
+        String postcode = "";
+        int digits = last.length();
+        while (digits > 0 && Character.isDigit(last.charAt(digits - 1))) digits--;
+        if (last.length() - digits == 5) {
+            postcode = last.substring(digits);
+            last = last.substring(0, digits).trim();
+        }
+
+        String state = parts.length > 1 ? last : "";
+        String city = "";
+        if (parts.length > 2) {
+            city = parts[parts.length - 2].trim();
+        } else if (parts.length == 2 && !hasDigit(parts[0])) {
+            // "Kajang, Selangor 43000"; with a house number the first part is the street
+            city = parts[0].trim();
+        }
+        return new Location(city, state, postcode);
+    }
+
+    private static boolean hasDigit(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isDigit(s.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getPostcode() {
+        return postcode;
+    }
+
+    public boolean hasPostcode() {
+        return !postcode.isEmpty();
+    }
+
+    public boolean isUnknown() {
+        return city.isEmpty() && state.isEmpty() && postcode.isEmpty();
+    }
+
+    /** Lower-cased "city|state" key, for lookups that should ignore case. */
+    public String cityKey() {
+        return (city + "|" + state).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Location)) return false;
+        Location other = (Location) o;
+        return city.equals(other.city) && state.equals(other.state) && postcode.equals(other.postcode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(city, state, postcode);
+    }
+
+    @Override
+    public String toString() {
+        return city + ", " + state + " " + postcode;
+    }
+}
@@ -6,8 +6,11 @@ import javax.swing.Timer;
 import sender.SenderDashboard;
 import courier.CourierDashboard;
 import admin.AdminDashboard;
+import logistics.ContactIndex;
 import logistics.driver.Driver;
 import logistics.driver.DriverStorage;
+import logistics.ui.AppScheduler;
+import logistics.ui.ImageCache;
 
 import java.awt.*;
 import java.awt.event.*;
@@ -63,6 +66,7 @@ public class Login extends JFrame {
         loadSenderData();
         driverStorage = new DriverStorage();
         addDefaultAccounts();
+        indexSenderContacts();
     }
     
     private static String hashPassword(String password) {
@@ -148,6 +152,13 @@ public class Login extends JFrame {
         }
     }
     
+    private static void indexSenderContacts() {
+        ContactIndex contacts = ContactIndex.getInstance();
+        for (SenderAccount acc : senderDatabase.values()) {
+            contacts.putAccount(acc.username, acc.email, acc.phone);
+        }
+    }
+    
     // ========== REUSABLE VALIDATION METHODS ==========
     
     private boolean isNotEmpty(String... fields) {
@@ -203,24 +214,6 @@ public class Login extends JFrame {
         icFileNameLabel.setText("No file");
     }
     
-    // ========== LOGO LOADING METHOD ==========
-    private ImageIcon loadLogo(String filename) {
-        try {
-            java.net.URL imgURL = getClass().getResource(filename);
-            if (imgURL != null) {
-                return new ImageIcon(imgURL);
-            } else {
-                File file = new File(filename);
-                if (file.exists()) {
-                    return new ImageIcon(file.getAbsolutePath());
-                }
-            }
-        } catch (Exception e) {
-            // Silent fail
-        }
-        return null;
-    }
-    
     // ========== UI Components ==========
     private JTextField userIdField;
     private JPasswordField passwordField;
@@ -312,13 +305,9 @@ public class Login extends JFrame {
         JPanel logoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 30, 10));
         logoPanel.setBackground(ADMIN_COLOR);
         
-        ImageIcon logoIcon = loadLogo("logo.jpeg");
+        ImageIcon logoIcon = ImageCache.getInstance().getIconForHeight(getClass(), "logo.jpeg", 45);
         if (logoIcon != null) {
-            Image img = logoIcon.getImage();
-            int logoHeight = 45;
-            int logoWidth = (int)((double)logoIcon.getIconWidth() / logoIcon.getIconHeight() * logoHeight);
-            Image scaledImage = img.getScaledInstance(logoWidth, logoHeight, Image.SCALE_SMOOTH);
-            JLabel logoLabel = new JLabel(new ImageIcon(scaledImage));
+            JLabel logoLabel = new JLabel(logoIcon);
             logoPanel.add(logoLabel);
         }
         
@@ -336,8 +325,8 @@ public class Login extends JFrame {
         timeLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         timeLabel.setForeground(Color.WHITE);
         topRightPanel.add(timeLabel);
-        new Timer(1000, e -> timeLabel.setText(
-            new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date()))).start();
+        AppScheduler.getInstance().everyNow(this, "clock", 1000, () -> timeLabel.setText(
+            new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date())));
         
         JButton exitBtn = new JButton("EXIT");
         exitBtn.setFont(new Font("Arial", Font.BOLD, 12));
@@ -1262,10 +1251,10 @@ public class Login extends JFrame {
             
             boolean verified = false;
             if (type == UserType.SENDER && senderDatabase.containsKey(id)) {
-                verified = senderDatabase.get(id).email.equals(email);
+                verified = ContactIndex.sameContact(senderDatabase.get(id).email, email);
             } else if (type == UserType.COURIER) {
                 Driver driver = driverStorage.findDriver(id);
-                verified = driver != null && email.equals(driver.email);
+                verified = driver != null && ContactIndex.sameContact(driver.email, email);
             }
             
             if (verified) {
@@ -1715,8 +1704,15 @@ public class Login extends JFrame {
             return;
         }
         
+        // Sender orders are looked up by email, so two accounts can't share one
+        if (!ContactIndex.getInstance().getAccounts(email).isEmpty()) {
+            JOptionPane.showMessageDialog(this, "This email is already registered!");
+            return;
+        }
+        
         senderDatabase.put(username, new SenderAccount(name, email, phone, username, password));
         saveSenderData();
+        ContactIndex.getInstance().putAccount(username, email, phone);
         
         JOptionPane.showMessageDialog(this, "Registration successful! You can now login.");
         
@@ -0,0 +1,319 @@
+package logistics.orders;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import logistics.geo.DistanceMatrix;
+import logistics.geo.Location;
+
+/**
+ * Predicts how long a shipment spends in each delivery stage, learned from the
+ * timestamps of past orders.
+ *
+ * The four stages are order to pickup, pickup to in transit, in transit to out
+ * for delivery, and out for delivery to delivered. Every order that has both
+ * ends of a stage contributes one sample to a running mean at four levels:
+ * the exact city pair with service level and vehicle type, the city pair with
+ * service level, the state pair with service level, and the service level
+ * alone. A prediction takes each stage from the most specific level with at
+ * least MIN_SAMPLES samples, falling back to the flat 3-day (Standard) or
+ * 1-day (Express) rule used before, so a new route or an empty history
+ * quotes what it always did.
+ *
+ * Learning follows OrderIndex change events, and each stage of an order is
+ * counted once. Lookups are a handful of hash probes on packed long keys, so a
+ * prediction takes well under a microsecond once the locations are resolved.
+ */
+public class EtaModel {
+    public static final int STAGE_PICKUP = 0;
+    public static final int STAGE_IN_TRANSIT = 1;
+    public static final int STAGE_OUT_FOR_DELIVERY = 2;
+    public static final int STAGE_DELIVERED = 3;
+    private static final int STAGES = 4;
+
+    private static final String VEHICLE_FILE = "vehicles.txt";
+    private static final int MIN_SAMPLES = 3;
+    private static final double MAX_STAGE_HOURS = 60 * 24;
+    private static final double[] STANDARD_HOURS = {12, 6, 42, 12};
+    private static final double[] EXPRESS_HOURS = {4, 2, 14, 4};
+    private static final String[] VEHICLE_TYPES = {"Motorcycle", "Car", "Van", "Truck"};
+
+    private static final int LEVEL_ROUTE_VEHICLE = 0;
+    private static final int LEVEL_ROUTE = 1;
+    private static final int LEVEL_STATES = 2;
+    private static final int LEVEL_SERVICE = 3;
+    private static final String[] LEVEL_NAMES = {"route and vehicle", "route", "states", "service level"};
+
+    private static EtaModel instance;
+
+    private final DistanceMatrix distances;
+    private final Map<Long, Stats> stats = new HashMap<>();
+    private final Map<String, Integer> countedStages = new HashMap<>();
+    private Map<String, String> vehicleTypes = Collections.emptyMap();
+    private long vehiclesModified = -1;
+    private int samples;
+
+    public EtaModel(DistanceMatrix distances) {
+        this.distances = distances;
+    }
+
+    public static synchronized EtaModel getInstance() {
+        if (instance == null) {
+            EtaModel model = new EtaModel(DistanceMatrix.getInstance());
+            OrderIndex orders = OrderIndex.getInstance();
+            orders.addListener(changedIds -> {
+                for (String id : changedIds) {
+                    Order o = orders.get(id);
+                    if (o != null) model.learn(o);
+                }
+            });
+            for (Order o : orders.getAll()) model.learn(o);
+            instance = model;
+        }
+        return instance;
+    }
+
+    public static class Prediction {
+        private final double[] stageHours;
+        private final String basis;
+
+        Prediction(double[] stageHours, String basis) {
+            this.stageHours = stageHours;
+            this.basis = basis;
+        }
+
+        public double getStageHours(int stage) {
+            return stageHours[stage];
+        }
+
+        /** Hours from the start of the given stage to delivery. */
+        public double getHoursFrom(int stage) {
+            double total = 0;
+            for (int s = stage; s < STAGES; s++) total += stageHours[s];
+            return total;
+        }
+
+        public double getTotalHours() {
+            return getHoursFrom(STAGE_PICKUP);
+        }
+
+        /** Most specific level any stage came from, or "default" if none had enough history. */
+        public String getBasis() {
+            return basis;
+        }
+    }
+
+    // ==================== PREDICTION ====================
+
+    public Prediction predict(Location from, Location to, boolean express, String vehicleType) {
+        int fromAt = distances.indexOf(from);
+        int toAt = distances.indexOf(to);
+        int fromState = distances.indexOf(stateOf(from));
+        int toState = distances.indexOf(stateOf(to));
+        return predict(keys(fromAt, toAt, fromState, toState, express, vehicleCode(vehicleType)), express);
+    }
+
+    /** Prediction for an existing order, using the type of its vehicle if it has one. */
+    public Prediction predict(Order o) {
+        return predict(o.getOrigin(), o.getDestination(), o.isExpress(), vehicleTypeOf(o.vehicleId));
+    }
+
+    /** When an order placed now on the route should arrive. */
+    public Date estimateDelivery(Location from, Location to, boolean express, String vehicleType) {
+        return plusHours(System.currentTimeMillis(), predict(from, to, express, vehicleType).getTotalHours());
+    }
+
+    /**
+     * When the order should arrive, counted from the start of the stage it is in
+     * now, or null if it is delivered or has no usable timestamps.
+     */
+    public Date estimateDelivery(Order o) {
+        long[] times = timesOf(o);
+        if (times[STAGES] != Long.MIN_VALUE) return null;
+
+        int stage = STAGE_PICKUP;
+        long since = times[0];
+        for (int s = 1; s < STAGES; s++) {
+            if (times[s] != Long.MIN_VALUE) {
+                stage = s;
+                since = times[s];
+            }
+        }
+        if (since == Long.MIN_VALUE) since = System.currentTimeMillis();
+        return plusHours(since, predict(o).getHoursFrom(stage));
+    }
+
+    public synchronized int getSampleCount() {
+        return samples;
+    }
+
+    private Prediction predict(long[] keys, boolean express) {
+        double[] fallback = express ? EXPRESS_HOURS : STANDARD_HOURS;
+        double[] hours = new double[STAGES];
+        int bestLevel = keys.length;
+        synchronized (this) {
+            for (int s = 0; s < STAGES; s++) {
+                hours[s] = fallback[s];
+                for (int level = 0; level < keys.length; level++) {
+                    Stats st = stats.get(keys[level]);
+                    if (st != null && st.count[s] >= MIN_SAMPLES) {
+                        hours[s] = st.mean[s];
+                        bestLevel = Math.min(bestLevel, level);
+                        break;
+                    }
+                }
+            }
+        }
+        return new Prediction(hours, bestLevel < keys.length ? LEVEL_NAMES[bestLevel] : "default");
+    }
+
+    // ==================== LEARNING ====================
+
+    /** Adds the stages of the order that have finished and have not been counted yet. */
+    public void learn(Order o) {
+        if (o == null || o.id == null) return;
+        long[] times = timesOf(o);
+        boolean any = false;
+        for (int s = 0; s < STAGES; s++) {
+            if (times[s] != Long.MIN_VALUE && times[s + 1] != Long.MIN_VALUE) any = true;
+        }
+        if (!any) return;
+
+        int fromAt = distances.indexOf(o.getOrigin());
+        int toAt = distances.indexOf(o.getDestination());
+        int fromState = distances.indexOf(stateOf(o.getOrigin()));
+        int toState = distances.indexOf(stateOf(o.getDestination()));
+        String vehicleType = vehicleTypeOf(o.vehicleId);
+        long[] keys = keys(fromAt, toAt, fromState, toState, o.isExpress(), vehicleCode(vehicleType));
+
+        synchronized (this) {
+            int counted = countedStages.getOrDefault(o.id, 0);
+            for (int s = 0; s < STAGES; s++) {
+                if ((counted & (1 << s)) != 0) continue;
+                if (times[s] == Long.MIN_VALUE || times[s + 1] == Long.MIN_VALUE) continue;
+
+                counted |= 1 << s;
+                double hours = (times[s + 1] - times[s]) / 3_600_000.0;
+                if (hours < 0 || hours > MAX_STAGE_HOURS) continue;
+                for (long key : keys) {
+                    stats.computeIfAbsent(key, k -> new Stats()).add(s, hours);
+                }
+                samples++;
+            }
+            countedStages.put(o.id, counted);
+        }
+    }
+
+    // Order placed, picked up, in transit, out for delivery, delivered; MIN_VALUE where missing
+    private static long[] timesOf(Order o) {
+        return new long[] {
+            parseTime(o.orderDate),
+            parseTime(o.pickupTime),
+            parseTime(o.inTransitTime),
+            parseTime(o.outForDeliveryTime),
+            parseTime(o.deliveryTime)
+        };
+    }
+
+    /** Milliseconds for "yyyy-MM-dd HH:mm" or "yyyy-MM-dd HH:mm:ss", or Long.MIN_VALUE. */
+    static long parseTime(String text) {
+        if (text == null || text.length() < 16 || text.charAt(4) != '-' || text.charAt(10) != ' ') {
+            return Long.MIN_VALUE;
+        }
+        try {
+            int year = Integer.parseInt(text.substring(0, 4));
+            int month = Integer.parseInt(text.substring(5, 7));
+            int day = Integer.parseInt(text.substring(8, 10));
+            int hour = Integer.parseInt(text.substring(11, 13));
+            int minute = Integer.parseInt(text.substring(14, 16));
+            int second = text.length() >= 19 ? Integer.parseInt(text.substring(17, 19)) : 0;
+            return LocalDateTime.of(year, month, day, hour, minute, second)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (RuntimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    // ==================== KEYS ====================
+
+    // Level in the top byte; city or state indexes, service level and vehicle below it
+    private static long[] keys(int fromAt, int toAt, int fromState, int toState, boolean express, int vehicle) {
+        long service = express ? 1 : 0;
+        long route = ((fromAt + 1L) << 32) | ((toAt + 1L) << 12);
+        long states = ((fromState + 1L) << 32) | ((toState + 1L) << 12);
+        if (fromAt < 0 || toAt < 0) {
+            return new long[] {
+                key(LEVEL_STATES, states | service << 4),
+                key(LEVEL_SERVICE, service << 4)
+            };
+        }
+        return new long[] {
+            key(LEVEL_ROUTE_VEHICLE, route | service << 4 | vehicle),
+            key(LEVEL_ROUTE, route | service << 4),
+            key(LEVEL_STATES, states | service << 4),
+            key(LEVEL_SERVICE, service << 4)
+        };
+    }
+
+    private static long key(int level, long rest) {
+        return ((long) level << 56) | rest;
+    }
+
+    private static Location stateOf(Location location) {
+        return location == null ? Location.UNKNOWN : new Location("", location.getState(), "");
+    }
+
+    // 0 for unknown, then 1 + the index in VEHICLE_TYPES
+    private static int vehicleCode(String vehicleType) {
+        if (vehicleType == null) return 0;
+        if ("MTC".equalsIgnoreCase(vehicleType)) return 1;
+        for (int i = 0; i < VEHICLE_TYPES.length; i++) {
+            if (VEHICLE_TYPES[i].equalsIgnoreCase(vehicleType)) return i + 1;
+        }
+        return 0;
+    }
+
+    private synchronized String vehicleTypeOf(String vehicleId) {
+        if (vehicleId == null || vehicleId.isEmpty()) return null;
+        File file = new File(VEHICLE_FILE);
+        if (file.lastModified() != vehiclesModified) {
+            vehicleTypes = loadVehicleTypes(file);
+            vehiclesModified = file.lastModified();
+        }
+        return vehicleTypes.get(vehicleId);
+    }
+
+    // VEHICLE_ID|VEHICLE_TYPE|... with a header line
+    private static Map<String, String> loadVehicleTypes(File file) {
+        Map<String, String> types = new HashMap<>();
+        if (!file.exists()) return types;
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split("\\|");
+                if (parts.length < 2 || parts[0].startsWith("VEHICLE_ID") || parts[0].startsWith("//")) continue;
+                types.put(parts[0].trim(), parts[1].trim());
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading vehicle types: " + e.getMessage());
+        }
+        return types;
+    }
+
+    private static Date plusHours(long fromMillis, double hours) {
+        return new Date(fromMillis + Math.round(hours * 3_600_000.0));
+    }
+
+    /** Running mean of each stage's duration in hours. */
+    private static class Stats {
+        final int[] count = new int[STAGES];
+        final double[] mean = new double[STAGES];
+
+        void add(int stage, double hours) {
+            count[stage]++;
+            mean[stage] += (hours - mean[stage]) / count[stage];
+        }
+    }
+}
@@ -1,9 +1,33 @@
 package logistics.orders;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
+import logistics.geo.Location;
+
 public class Order {
+    /** Column names of orders.txt; written as the first line of the file. */
+    public static final String FILE_HEADER = "# id|customerName|customerPhone|customerEmail|customerAddress|recipientName|recipientPhone|recipientAddress|status|orderDate|estimatedDelivery|actualDelivery|driverId|vehicleId|weight|dimensions|notes|reason|pickupTime|inTransitTime|outForDeliveryTime|deliveryTime|distance|fuelUsed|deliveryPhoto|recipientSignature|onTime|paymentStatus|paymentMethod|transactionId|paymentDate|shippingCost|insuranceCost|totalAmount|packageType|serviceLevel|declaredValue|originCity|originState|originPostcode|destinationCity|destinationState|destinationPostcode";
+    public static final int FIELD_COUNT = 43;
+    
+    // Lines written by the sender screens before FIELD_COUNT existed: no inTransitTime or
+    // outForDeliveryTime column, so the payment fields sit at 25-28
+    static final int LEGACY_SENDER_FIELD_COUNT = 29;
+    
+    public static final String SHIPPING_COST_LABEL = "Shipping Cost: RM";
+    public static final String INSURANCE_COST_LABEL = "Insurance Cost: RM";
+    public static final String TOTAL_AMOUNT_LABEL = "Total Amount: RM";
+    public static final String PACKAGE_TYPE_LABEL = "Package Type:";
+    public static final String SERVICE_LEVEL_LABEL = "Shipping Speed:";
+    public static final String DECLARED_VALUE_LABEL = "Declared Value: RM";
+    
+    public static final String SERVICE_STANDARD = "Standard";
+    public static final String SERVICE_EXPRESS = "Express";
+    public static final String DEFAULT_PACKAGE_TYPE = "Standard";
+    
     public String id;
     public String customerName;
     public String customerPhone;
@@ -40,6 +64,27 @@ public class Order {
     public String transactionId;
     public String paymentDate;
     
+    // Amounts charged, in RM
+    public double shippingCost;
+    public double insuranceCost;
+    public double totalAmount;
+    
+    // What is being shipped and how; declaredValue is 0 when the order is not insured
+    public String packageType = DEFAULT_PACKAGE_TYPE;
+    public String serviceLevel = SERVICE_STANDARD;
+    public double declaredValue;
+    
+    // Pickup (customerAddress) and delivery (recipientAddress) locations
+    public String originCity = "";
+    public String originState = "";
+    public String originPostcode = "";
+    public String destinationCity = "";
+    public String destinationState = "";
+    public String destinationPostcode = "";
+    
+    // estimatedDelivery as last parsed, so isDelayed() does not re-parse it on every table render
+    private String deadlineText;
+    private long deadlineMillis = -1;
     
     public Order() {
         this.orderDate = new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date());
@@ -121,6 +166,14 @@ public class Order {
             String paymentMethod = (String) clazz.getMethod("getPaymentMethod").invoke(senderOrder);
             String transactionId = (String) clazz.getMethod("getTransactionId").invoke(senderOrder);
             String paymentDate = (String) clazz.getMethod("getPaymentDate").invoke(senderOrder);
+            double shippingCost = (Double) clazz.getMethod("getShippingCost").invoke(senderOrder);
+            double insuranceCost = (Double) clazz.getMethod("getInsuranceCost").invoke(senderOrder);
+            double totalAmount = (Double) clazz.getMethod("getTotalAmount").invoke(senderOrder);
+            String packageType = (String) clazz.getMethod("getPackageType").invoke(senderOrder);
+            String serviceLevel = (String) clazz.getMethod("getServiceLevel").invoke(senderOrder);
+            double declaredValue = (Double) clazz.getMethod("getDeclaredValue").invoke(senderOrder);
+            Location origin = (Location) clazz.getMethod("getOrigin").invoke(senderOrder);
+            Location destination = (Location) clazz.getMethod("getDestination").invoke(senderOrder);
             
             Order order = new Order(
                 id, customerName, customerPhone, customerEmail, customerAddress,
@@ -133,6 +186,14 @@ public class Order {
             order.paymentMethod = paymentMethod;
             order.transactionId = transactionId;
             order.paymentDate = paymentDate;
+            order.shippingCost = shippingCost;
+            order.insuranceCost = insuranceCost;
+            order.totalAmount = totalAmount;
+            order.packageType = packageType;
+            order.serviceLevel = serviceLevel;
+            order.declaredValue = declaredValue;
+            order.setOrigin(origin);
+            order.setDestination(destination);
             order.pickupTime = null;
             order.inTransitTime = null;
             order.outForDeliveryTime = null;  
@@ -160,7 +221,7 @@ public class Order {
     }
     
     public String toFileString() {
-        String[] fields = new String[31];
+        String[] fields = new String[FIELD_COUNT];
         fields[0] = safeString(id);
         fields[1] = safeString(customerName);
         fields[2] = safeString(customerPhone);
@@ -192,6 +253,18 @@ public class Order {
         fields[28] = safeString(paymentMethod);
         fields[29] = safeString(transactionId);
         fields[30] = safeString(paymentDate);
+        fields[31] = formatAmount(shippingCost);
+        fields[32] = formatAmount(insuranceCost);
+        fields[33] = formatAmount(totalAmount);
+        fields[34] = safeString(packageType);
+        fields[35] = safeString(serviceLevel);
+        fields[36] = formatAmount(declaredValue);
+        fields[37] = safeString(originCity);
+        fields[38] = safeString(originState);
+        fields[39] = safeString(originPostcode);
+        fields[40] = safeString(destinationCity);
+        fields[41] = safeString(destinationState);
+        fields[42] = safeString(destinationPostcode);
         
         return String.join("|", fields);
     }
@@ -199,6 +272,121 @@ public class Order {
     private String safeString(String s) {
         return (s != null && !s.isEmpty()) ? s : "";
     }
+    
+    public static String formatAmount(double amount) {
+        return String.format(Locale.ROOT, "%.2f", amount);
+    }
+    
+    /** Reads an amount column, or 0 if it is missing or not a number. */
+    public static double parseAmount(String[] parts, int index) {
+        if (parts.length <= index || parts[index].isEmpty()) return 0;
+        try {
+            return Double.parseDouble(parts[index]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    /**
+     * The amount after a label such as "Total Amount: RM" in the free-text notes, as
+     * written by the order forms; only needed for lines older than the amount columns.
+     */
+    public static double amountFromNotes(String notes, String label) {
+        if (notes == null) return 0;
+        int start = notes.indexOf(label);
+        if (start < 0) return 0;
+        start += label.length();
+        while (start < notes.length() && notes.charAt(start) == ' ') start++;
+        
+        int end = start;
+        while (end < notes.length() && (Character.isDigit(notes.charAt(end)) || notes.charAt(end) == '.'
+                || notes.charAt(end) == ',')) {
+            end++;
+        }
+        String digits = notes.substring(start, end).replace(",", "").trim();
+        if (digits.isEmpty()) return 0;
+        try {
+            return Double.parseDouble(digits);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** The text after a label such as "Package Type:" in the notes, up to the next ';' or '|'. */
+    public static String textFromNotes(String notes, String label) {
+        if (notes == null) return null;
+        int start = notes.indexOf(label);
+        if (start < 0) return null;
+        start += label.length();
+        int end = start;
+        while (end < notes.length() && notes.charAt(end) != ';' && notes.charAt(end) != '|') end++;
+        String text = notes.substring(start, end).trim();
+        return text.isEmpty() ? null : text;
+    }
+    
+    /** "Express" or "Standard"; anything that does not name express delivery is standard. */
+    public static String normalizeServiceLevel(String level) {
+        return level != null && level.trim().toLowerCase(Locale.ROOT).startsWith("express")
+            ? SERVICE_EXPRESS : SERVICE_STANDARD;
+    }
+    
+    public boolean isExpress() {
+        return SERVICE_EXPRESS.equals(serviceLevel);
+    }
+    
+    /**
+     * Length, width and height in cm from text such as "40x30x20" or "40 x 30 x 20 cm",
+     * or null if it does not hold three positive numbers.
+     */
+    public static double[] parseDimensions(String dimensions) {
+        if (dimensions == null) return null;
+        String[] parts = dimensions.toLowerCase(Locale.ROOT).replace("cm", "").split("[x\u00d7*]");
+        if (parts.length != 3) return null;
+        double[] sides = new double[3];
+        try {
+            for (int i = 0; i < 3; i++) {
+                sides[i] = Double.parseDouble(parts[i].trim());
+                if (sides[i] <= 0) return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return sides;
+    }
+    
+    /** Volume in litres, or 0 if the dimensions cannot be read. */
+    public double getVolumeLitres() {
+        double[] sides = parseDimensions(dimensions);
+        return sides != null ? sides[0] * sides[1] * sides[2] / 1000.0 : 0;
+    }
+    
+    /** Longest side in cm, or 0 if the dimensions cannot be read. */
+    public double getLongestSideCm() {
+        double[] sides = parseDimensions(dimensions);
+        return sides != null ? Math.max(sides[0], Math.max(sides[1], sides[2])) : 0;
+    }
+    
+    public Location getOrigin() {
+        return new Location(originCity, originState, originPostcode);
+    }
+    
+    public void setOrigin(Location location) {
+        if (location == null) location = Location.UNKNOWN;
+        originCity = location.getCity();
+        originState = location.getState();
+        originPostcode = location.getPostcode();
+    }
+    
+    public Location getDestination() {
+        return new Location(destinationCity, destinationState, destinationPostcode);
+    }
+    
+    public void setDestination(Location location) {
+        if (location == null) location = Location.UNKNOWN;
+        destinationCity = location.getCity();
+        destinationState = location.getState();
+        destinationPostcode = location.getPostcode();
+    }
 
     public static Order fromFileString(String line) {
         try {
@@ -227,6 +415,24 @@ public class Order {
             
             o.dimensions = parts.length > 15 ? parts[15] : "";
             o.notes = parts.length > 16 ? parts[16] : "";
+            
+            if (parts.length == LEGACY_SENDER_FIELD_COUNT) {
+                // Courier columns were always blank in this layout
+                o.reason = "";
+                o.pickupTime = "";
+                o.inTransitTime = "";
+                o.outForDeliveryTime = "";
+                o.deliveryTime = "";
+                o.deliveryPhoto = "";
+                o.recipientSignature = "";
+                o.paymentStatus = !parts[25].isEmpty() ? parts[25] : "Pending";
+                o.paymentMethod = parts[26];
+                o.transactionId = parts[27];
+                o.paymentDate = parts[28];
+                o.readTypedFields(parts);
+                return o;
+            }
+            
             o.reason = parts.length > 17 ? parts[17] : "";
             o.pickupTime = parts.length > 18 ? parts[18] : "";
             o.inTransitTime = parts.length > 19 ? parts[19] : "";
@@ -248,6 +454,7 @@ public class Order {
             o.paymentMethod = parts.length > 28 ? parts[28] : "";
             o.transactionId = parts.length > 29 ? parts[29] : "";
             o.paymentDate = parts.length > 30 ? parts[30] : "";
+            o.readTypedFields(parts);
             
             return o;
         } catch (Exception e) {
@@ -256,6 +463,39 @@ public class Order {
         }
     }
     
+    // Lines from before a column existed get the value from the notes or addresses the order forms write
+    private void readTypedFields(String[] parts) {
+        if (parts.length > 33) {
+            shippingCost = parseAmount(parts, 31);
+            insuranceCost = parseAmount(parts, 32);
+            totalAmount = parseAmount(parts, 33);
+        } else {
+            shippingCost = amountFromNotes(notes, SHIPPING_COST_LABEL);
+            insuranceCost = amountFromNotes(notes, INSURANCE_COST_LABEL);
+            totalAmount = amountFromNotes(notes, TOTAL_AMOUNT_LABEL);
+        }
+        
+        if (parts.length > 36) {
+            packageType = !parts[34].isEmpty() ? parts[34] : DEFAULT_PACKAGE_TYPE;
+            serviceLevel = normalizeServiceLevel(parts[35]);
+            declaredValue = parseAmount(parts, 36);
+        } else {
+            String notedType = textFromNotes(notes, PACKAGE_TYPE_LABEL);
+            packageType = notedType != null ? notedType : DEFAULT_PACKAGE_TYPE;
+            String notedLevel = textFromNotes(notes, SERVICE_LEVEL_LABEL);
+            serviceLevel = normalizeServiceLevel(notedLevel != null ? notedLevel : estimatedDelivery);
+            declaredValue = amountFromNotes(notes, DECLARED_VALUE_LABEL);
+        }
+        
+        if (parts.length > 42) {
+            setOrigin(new Location(parts[37], parts[38], parts[39]));
+            setDestination(new Location(parts[40], parts[41], parts[42]));
+        } else {
+            setOrigin(Location.parse(customerAddress));
+            setDestination(Location.parse(recipientAddress));
+        }
+    }
+    
     // ========== STATUS METHODS ==========
     
     public String getCourierStatus() {
@@ -461,13 +701,33 @@ public class Order {
     
     public boolean isDelayed() {
         if ("Delayed".equals(status)) return true;
-        if (estimatedDelivery == null || "Delivered".equals(status) || "Cancelled".equals(status)) return false;
+        if ("Delivered".equals(status) || "Cancelled".equals(status)) return false;
+        long deadline = getDeadlineMillis();
+        return deadline >= 0 && System.currentTimeMillis() >= deadline;
+    }
+    
+    /**
+     * End of the estimated delivery day (the midnight after it) in milliseconds,
+     * or -1 if there is no readable estimate. Delivering on the estimated day
+     * counts as on time, so an order is late only from this moment.
+     */
+    public long getDeadlineMillis() {
+        String text = estimatedDelivery;
+        if (text == null) return -1;
+        if (!text.equals(deadlineText)) {
+            deadlineMillis = parseDeadline(text);
+            deadlineText = text;
+        }
+        return deadlineMillis;
+    }
+    
+    private static long parseDeadline(String text) {
+        int space = text.indexOf(' ');
+        String day = (space > 0 ? text.substring(0, space) : text).trim();
         try {
-            Date today = new Date();
-            Date estDate = new SimpleDateFormat("yyyy-MM-dd").parse(estimatedDelivery);
-            return today.after(estDate);
-        } catch (Exception e) {
-            return false;
+            return LocalDate.parse(day).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
         }
     }
     
@@ -488,6 +748,9 @@ public class Order {
     }
     
     public double getEstimatedCost() {
+        if (totalAmount > 0) {
+            return totalAmount;
+        }
         if (notes != null && !notes.isEmpty()) {
             if (notes.contains("Total Amount: RM")) {
                 try {
@@ -0,0 +1,84 @@
+package logistics.orders;
+
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * One-time rewrite of orders.txt into the current column layout.
+ *
+ * Older lines kept the amounts, package type and service level only inside the
+ * notes text, and the sender screens wrote a shorter 29-column layout. Each
+ * such line is parsed with Order.fromFileString and written back with
+ * toFileString, which fills the newer columns from the notes. The file is
+ * streamed into a temporary file and moved into place only if a line actually
+ * changed, so running this on an up-to-date file costs one read.
+ */
+public class OrderFileMigration {
+    private static final String ORDER_FILE = "orders.txt";
+
+    /** Migrates orders.txt in the working directory; returns the number of lines rewritten. */
+    public static int migrate() {
+        return migrate(new File(ORDER_FILE));
+    }
+
+    public static int migrate(File file) {
+        if (!file.exists()) return 0;
+
+        File temp = new File(file.getPath() + ".tmp");
+        int migrated = 0;
+        boolean headerChanged = false;
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file));
+             PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(temp)))) {
+            pw.println(Order.FILE_HEADER);
+
+            String line;
+            boolean first = true;
+            while ((line = br.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.startsWith("#")) {
+                    // Only the first header is kept; anything else is dropped
+                    if (!first || !trimmed.equals(Order.FILE_HEADER)) headerChanged = true;
+                    first = false;
+                    continue;
+                }
+                if (first) headerChanged = true;
+                first = false;
+                if (trimmed.isEmpty()) continue;
+
+                if (trimmed.split("\\|", -1).length == Order.FIELD_COUNT) {
+                    pw.println(trimmed);
+                    continue;
+                }
+
+                Order order = Order.fromFileString(trimmed);
+                if (order == null) {
+                    // Unreadable lines are kept as they are rather than lost
+                    pw.println(trimmed);
+                    continue;
+                }
+                pw.println(order.toFileString());
+                migrated++;
+            }
+        } catch (IOException e) {
+            System.err.println("Error migrating orders file: " + e.getMessage());
+            temp.delete();
+            return 0;
+        }
+
+        if (migrated == 0 && !headerChanged) {
+            temp.delete();
+            return 0;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Migrated " + migrated + " order(s) to the current file layout");
+        } catch (IOException e) {
+            System.err.println("Error replacing orders file: " + e.getMessage());
+            temp.delete();
+            return 0;
+        }
+        return migrated;
+    }
+}
@@ -0,0 +1,189 @@
+package logistics.orders;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide, read-only view of orders.txt keyed by order id.
+ *
+ * The screens still keep their own OrderStorage / SenderOrderRepository lists
+ * for editing; this index is for lookups that should not re-read the file. Code
+ * that writes orders.txt calls reload(), and the file's timestamp is also checked
+ * at most once every STAMP_CHECK_MS in case a writer did not. Listeners get the
+ * ids of orders that were added, changed or removed by a reload.
+ *
+ * Orders are also grouped by service level and package type, so filters and
+ * counts on those fields are a map lookup.
+ *
+ * The returned Order objects are shared and must not be modified.
+ */
+public class OrderIndex {
+    private static final String ORDER_FILE = "orders.txt";
+    private static final long STAMP_CHECK_MS = 1000;
+    private static OrderIndex instance;
+
+    public interface Listener {
+        /** Called on the thread that triggered the reload. */
+        void ordersChanged(Set<String> changedIds);
+    }
+
+    private final File file;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Map<String, Order> ordersById = Collections.emptyMap();
+    private volatile Map<String, List<String>> idsByServiceLevel = Collections.emptyMap();
+    private volatile Map<String, List<String>> idsByPackageType = Collections.emptyMap();
+    private Map<String, String> linesById = Collections.emptyMap();
+    private long loadedModified = -1;
+    private long loadedLength = -1;
+    private volatile long lastStampCheck;
+
+    private OrderIndex(File file) {
+        this.file = file;
+        reload();
+    }
+
+    public static synchronized OrderIndex getInstance() {
+        if (instance == null) {
+            instance = new OrderIndex(new File(ORDER_FILE));
+        }
+        return instance;
+    }
+
+    public Order get(String orderId) {
+        if (orderId == null) return null;
+        checkStamp();
+        return ordersById.get(orderId);
+    }
+
+    public Collection<Order> getAll() {
+        checkStamp();
+        return ordersById.values();
+    }
+
+    /** Ids of orders with the service level ("Express" or "Standard"), in file order. */
+    public List<String> getIdsByServiceLevel(String serviceLevel) {
+        checkStamp();
+        return idsByServiceLevel.getOrDefault(Order.normalizeServiceLevel(serviceLevel), Collections.emptyList());
+    }
+    
+    public List<String> getIdsByPackageType(String packageType) {
+        checkStamp();
+        return idsByPackageType.getOrDefault(packageType, Collections.emptyList());
+    }
+    
+    /** Number of orders per service level. */
+    public Map<String, Integer> countByServiceLevel() {
+        checkStamp();
+        return counts(idsByServiceLevel);
+    }
+    
+    /** Number of orders per package type. */
+    public Map<String, Integer> countByPackageType() {
+        checkStamp();
+        return counts(idsByPackageType);
+    }
+    
+    public int size() {
+        checkStamp();
+        return ordersById.size();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Re-reads orders.txt and notifies listeners of the orders that differ. */
+    public void reload() {
+        Set<String> changed;
+        synchronized (this) {
+            Map<String, String> newLines = new LinkedHashMap<>();
+            Map<String, Order> newOrders = new LinkedHashMap<>();
+            long modified = file.lastModified();
+            long length = file.length();
+
+            if (file.exists()) {
+                try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        line = line.trim();
+                        if (line.isEmpty() || line.startsWith("#")) continue;
+
+                        Order o = Order.fromFileString(line);
+                        if (o != null && o.id != null && !o.id.isEmpty()) {
+                            newLines.put(o.id, line);
+                            newOrders.put(o.id, o);
+                        }
+                    }
+                } catch (IOException e) {
+                    System.err.println("Error indexing orders: " + e.getMessage());
+                    return;
+                }
+            }
+
+            changed = new HashSet<>();
+            for (Map.Entry<String, String> entry : newLines.entrySet()) {
+                if (!entry.getValue().equals(linesById.get(entry.getKey()))) {
+                    changed.add(entry.getKey());
+                }
+            }
+            for (String id : linesById.keySet()) {
+                if (!newLines.containsKey(id)) {
+                    changed.add(id);
+                }
+            }
+
+            linesById = newLines;
+            ordersById = Collections.unmodifiableMap(newOrders);
+            idsByServiceLevel = group(newOrders.values(), true);
+            idsByPackageType = group(newOrders.values(), false);
+            loadedModified = modified;
+            loadedLength = length;
+            lastStampCheck = System.currentTimeMillis();
+        }
+
+        if (!changed.isEmpty()) {
+            for (Listener listener : listeners) {
+                listener.ordersChanged(changed);
+            }
+        }
+    }
+
+    private static Map<String, List<String>> group(Collection<Order> orders, boolean byServiceLevel) {
+        Map<String, List<String>> groups = new TreeMap<>();
+        for (Order o : orders) {
+            String key = byServiceLevel ? o.serviceLevel : o.packageType;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(o.id);
+        }
+        for (Map.Entry<String, List<String>> entry : groups.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(groups);
+    }
+    
+    private static Map<String, Integer> counts(Map<String, List<String>> groups) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, List<String>> entry : groups.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().size());
+        }
+        return counts;
+    }
+    
+    private void checkStamp() {
+        long now = System.currentTimeMillis();
+        if (now - lastStampCheck < STAMP_CHECK_MS) return;
+
+        boolean stale;
+        synchronized (this) {
+            lastStampCheck = now;
+            stale = file.lastModified() != loadedModified || file.length() != loadedLength;
+        }
+        if (stale) {
+            reload();
+        }
+    }
+}
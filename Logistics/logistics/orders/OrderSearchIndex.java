@@ -0,0 +1,278 @@
+package logistics.orders;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text search over orders: names, phones, emails, addresses, notes and ids.
+ *
+ * Every order is tokenized once into a term dictionary whose postings are
+ * append-only arrays of document numbers; a sorted copy of the terms turns a
+ * prefix into a binary search plus a range scan. Scores are accumulated in
+ * plain arrays indexed by document number. Query terms match whole tokens or
+ * token prefixes ("kaj" finds "Kajang"); all terms must match, and hits are
+ * ranked by which fields matched and whether the match was exact.
+ *
+ * The index follows OrderIndex change events: a changed order gets a new
+ * document number and the old one is marked deleted, and the whole index is
+ * rebuilt once deleted documents outnumber live ones.
+ */
+public class OrderSearchIndex {
+    private static final float ID_WEIGHT = 5f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float PHONE_WEIGHT = 3f;
+    private static final float EMAIL_WEIGHT = 2f;
+    private static final float ADDRESS_WEIGHT = 2f;
+    private static final float NOTES_WEIGHT = 1f;
+    private static final float EXACT_BONUS = 2f;
+    private static final int COMPACT_MIN_DELETED = 1000;
+
+    private static OrderSearchIndex instance;
+
+    private final OrderIndex orders;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final List<String> sortedTerms = new ArrayList<>();
+    private final Map<String, Integer> docByOrderId = new HashMap<>();
+    private final List<String> orderIdByDoc = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private volatile long version;
+
+    private OrderSearchIndex(OrderIndex orders) {
+        this.orders = orders;
+        orders.addListener(this::ordersChanged);
+        rebuild();
+    }
+
+    public static synchronized OrderSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new OrderSearchIndex(OrderIndex.getInstance());
+        }
+        return instance;
+    }
+
+    /** Incremented whenever the indexed orders change. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Order ids matching every term of the query, best match first. */
+    public List<String> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) return Collections.emptyList();
+
+        // Picks up file changes made outside the app before reading the index
+        orders.size();
+
+        lock.readLock().lock();
+        try {
+            int docCount = orderIdByDoc.size();
+            float[] total = new float[docCount];
+            float[] best = new float[docCount];
+            int[] termsMatched = new int[docCount];
+
+            for (int t = 0; t < queryTerms.size(); t++) {
+                int[] touched = scoreTerm(queryTerms.get(t), best);
+                int stillMatching = 0;
+                for (int i = 1; i <= touched[0]; i++) {
+                    int doc = touched[i];
+                    // AND: only documents that matched every earlier term count
+                    if (termsMatched[doc] == t) {
+                        termsMatched[doc] = t + 1;
+                        total[doc] += best[doc];
+                        stillMatching++;
+                    }
+                    best[doc] = 0;
+                }
+                if (stillMatching == 0) return Collections.emptyList();
+            }
+
+            // Score bits in the high word, document number in the low word: one primitive
+            // sort gives score order with newer documents first on ties
+            int wanted = queryTerms.size();
+            long[] hits = new long[16];
+            int hitCount = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (termsMatched[doc] != wanted) continue;
+                if (hitCount == hits.length) hits = Arrays.copyOf(hits, hitCount * 2);
+                hits[hitCount++] = ((long) Float.floatToIntBits(total[doc]) << 32) | doc;
+            }
+            Arrays.sort(hits, 0, hitCount);
+
+            List<String> result = new ArrayList<>(Math.min(limit, hitCount));
+            for (int i = hitCount - 1; i >= 0 && result.size() < limit; i--) {
+                result.add(orderIdByDoc.get((int) hits[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByOrderId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== QUERY ====================
+
+    /**
+     * Writes each live document's best score for the term into best[] and returns
+     * the documents touched, as a count followed by the document numbers.
+     */
+    private int[] scoreTerm(String term, float[] best) {
+        int[] touched = new int[17];
+        int count = 0;
+
+        int from = Collections.binarySearch(sortedTerms, term);
+        if (from < 0) from = -from - 1;
+        for (int k = from; k < sortedTerms.size() && sortedTerms.get(k).startsWith(term); k++) {
+            String indexed = sortedTerms.get(k);
+            float bonus = indexed.equals(term) ? EXACT_BONUS : 1f;
+            Postings postings = terms.get(indexed);
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                if (deleted.get(doc)) continue;
+                float score = postings.weights[i] * bonus;
+                if (best[doc] == 0) {
+                    if (count + 1 == touched.length) touched = Arrays.copyOf(touched, touched.length * 2);
+                    touched[++count] = doc;
+                }
+                if (score > best[doc]) best[doc] = score;
+            }
+        }
+        touched[0] = count;
+        return touched;
+    }
+
+    // ==================== INDEXING ====================
+
+    private void ordersChanged(Set<String> changedIds) {
+        lock.writeLock().lock();
+        try {
+            for (String orderId : changedIds) {
+                Integer oldDoc = docByOrderId.remove(orderId);
+                if (oldDoc != null) deleted.set(oldDoc);
+
+                Order order = orders.get(orderId);
+                if (order != null) addDocument(order, true);
+            }
+
+            int deletedCount = deleted.cardinality();
+            if (deletedCount > COMPACT_MIN_DELETED && deletedCount > docByOrderId.size()) {
+                rebuildLocked();
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildLocked();
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        terms.clear();
+        sortedTerms.clear();
+        docByOrderId.clear();
+        orderIdByDoc.clear();
+        deleted.clear();
+        for (Order order : orders.getAll()) {
+            addDocument(order, false);
+        }
+        sortedTerms.addAll(terms.keySet());
+        Collections.sort(sortedTerms);
+    }
+
+    private void addDocument(Order o, boolean keepSorted) {
+        int doc = orderIdByDoc.size();
+        orderIdByDoc.add(o.id);
+        docByOrderId.put(o.id, doc);
+
+        // Highest weight per term for this document
+        Map<String, Float> docTerms = new HashMap<>();
+        addField(docTerms, o.id, ID_WEIGHT);
+        addField(docTerms, o.customerName, NAME_WEIGHT);
+        addField(docTerms, o.recipientName, NAME_WEIGHT);
+        addPhone(docTerms, o.customerPhone);
+        addPhone(docTerms, o.recipientPhone);
+        addField(docTerms, o.customerEmail, EMAIL_WEIGHT);
+        addField(docTerms, o.customerAddress, ADDRESS_WEIGHT);
+        addField(docTerms, o.recipientAddress, ADDRESS_WEIGHT);
+        addField(docTerms, o.notes, NOTES_WEIGHT);
+
+        for (Map.Entry<String, Float> entry : docTerms.entrySet()) {
+            Postings postings = terms.get(entry.getKey());
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(entry.getKey(), postings);
+                if (keepSorted) {
+                    int at = Collections.binarySearch(sortedTerms, entry.getKey());
+                    sortedTerms.add(-at - 1, entry.getKey());
+                }
+            }
+            postings.add(doc, entry.getValue());
+        }
+    }
+
+    private static void addField(Map<String, Float> docTerms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            docTerms.merge(token, weight, Math::max);
+        }
+    }
+
+    // "019-777 6666" is also indexed as "0197776666" so either form can be searched
+    private static void addPhone(Map<String, Float> docTerms, String phone) {
+        if (phone == null || phone.isEmpty()) return;
+        addField(docTerms, phone, PHONE_WEIGHT);
+        String digits = phone.replaceAll("[^0-9]", "");
+        if (!digits.isEmpty()) {
+            docTerms.merge(digits, PHONE_WEIGHT, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /** Document numbers in ascending order with one weight each; only ever appended to. */
+    private static class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package logistics.orders;
 
+import logistics.ContactIndex;
 import logistics.driver.Driver;
 import logistics.driver.DriverStorage;
 
@@ -18,14 +19,16 @@ public class OrderStorage {
     public OrderStorage() {
         orders = new ArrayList<>();
         dailyCounters = new HashMap<>();
-        driverStorage = new DriverStorage();
         System.out.println("OrderStorage initialized. Looking for file: " + new File(ORDER_FILE).getAbsolutePath());
         loadOrders();
-        
-        System.out.println("Loaded " + orders.size() + " orders");
-        for (Order o : orders) {
-            System.out.println("Order: " + o.id + " - " + o.status + " - driverId: '" + o.driverId + "'");
+    }
+    
+    // Only the assignment methods need drivers, so don't load drivers.txt for every OrderStorage
+    private DriverStorage getDriverStorage() {
+        if (driverStorage == null) {
+            driverStorage = new DriverStorage();
         }
+        return driverStorage;
     }
     
     public void loadOrders() {
@@ -112,7 +115,7 @@ public class OrderStorage {
     
     public void saveOrders() {
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(ORDER_FILE))) {
-            bw.write("# id|customerName|customerPhone|customerEmail|customerAddress|recipientName|recipientPhone|recipientAddress|status|orderDate|estimatedDelivery|actualDelivery|driverId|vehicleId|weight|dimensions|notes|reason|pickupTime|inTransitTime|outForDeliveryTime|deliveryTime|distance|fuelUsed|deliveryPhoto|recipientSignature|onTime|paymentStatus|paymentMethod|transactionId|paymentDate");
+            bw.write(Order.FILE_HEADER);
             bw.newLine();
             
             for (Order o : orders) {
@@ -123,6 +126,7 @@ public class OrderStorage {
             
             bw.flush();
             System.out.println("Saved " + orders.size() + " orders to " + ORDER_FILE);
+            OrderIndex.getInstance().reload();
         } catch (IOException e) {
             System.out.println("Error saving orders: " + e.getMessage());
             e.printStackTrace();
@@ -201,7 +205,7 @@ public class OrderStorage {
         if (email == null) return new ArrayList<>();
         
         return orders.stream()
-            .filter(o -> email.equalsIgnoreCase(o.customerEmail))
+            .filter(o -> ContactIndex.sameContact(email, o.customerEmail))
             .collect(Collectors.toList());
     }
     
@@ -451,6 +455,29 @@ public class OrderStorage {
         System.out.println("Order " + updatedOrder.id + " updated and saved successfully");
     }
     
+    /** Same as updateOrder for each order, but orders.txt is read and written once. */
+    public synchronized void updateOrders(Collection<Order> updatedOrders) {
+        loadOrders();
+        
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            positions.put(orders.get(i).id, i);
+        }
+        for (Order o : updatedOrders) {
+            Integer at = positions.get(o.id);
+            if (at != null) {
+                orders.set(at, o);
+            } else {
+                positions.put(o.id, orders.size());
+                orders.add(o);
+                updateDailyCounter(o.id);
+            }
+        }
+        
+        saveOrders();
+        System.out.println("Updated " + updatedOrders.size() + " orders in one write");
+    }
+    
     public void removeOrder(String id) { 
         boolean removed = orders.removeIf(o -> o.id.equals(id));
         if (removed) {
@@ -474,7 +501,7 @@ public class OrderStorage {
         System.out.println("Order current driverId: " + order.driverId);
         System.out.println("Order isAssignable: " + order.isAssignable());
         
-        Driver driver = driverStorage.findDriver(driverId);
+        Driver driver = getDriverStorage().findDriver(driverId);
         if (driver == null) {
             System.err.println("ERROR: Driver not found: " + driverId);
             return false;
@@ -509,7 +536,7 @@ public class OrderStorage {
         
 
         driver.assignOrder(orderId);
-        driverStorage.updateDriver(driver);
+        getDriverStorage().updateDriver(driver);
         
         updateOrder(order);
         
@@ -539,7 +566,7 @@ public class OrderStorage {
             return false;
         }
         
-        Driver driver = driverStorage.findDriver(driverId);
+        Driver driver = getDriverStorage().findDriver(driverId);
         if (driver == null) {
             System.err.println("ERROR: Driver not found: " + driverId);
             return false;
@@ -567,7 +594,7 @@ public class OrderStorage {
         System.out.println("After assignment - Order vehicleId: " + order.vehicleId);
         
         driver.assignOrder(orderId);
-        driverStorage.updateDriver(driver);
+        getDriverStorage().updateDriver(driver);
         updateOrder(order);
         
         Order verifyOrder = findOrder(orderId);
@@ -581,7 +608,7 @@ public class OrderStorage {
     public boolean completeOrder(String orderId, double distance, double fuelUsed, String photoPath, String signature) {
         Order order = findOrder(orderId);
         if (order != null && order.driverId != null) {
-            Driver driver = driverStorage.findDriver(order.driverId);
+            Driver driver = getDriverStorage().findDriver(order.driverId);
             
             if (driver != null) {
                 order.markAsDelivered(distance, fuelUsed, photoPath, signature);
@@ -589,7 +616,7 @@ public class OrderStorage {
                 boolean onTime = order.onTime;
                 driver.completeOrder(orderId, onTime, distance, fuelUsed);
                 
-                driverStorage.updateDriver(driver);
+                getDriverStorage().updateDriver(driver);
                 updateOrder(order);
                 return true;
             }
@@ -0,0 +1,231 @@
+package logistics.orders;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import logistics.geo.DistanceMatrix;
+import logistics.geo.Location;
+
+/**
+ * Prices shipments for every order entry point: the sender's new-order form,
+ * the admin's create-order form, and bulk repricing.
+ *
+ * Price = (base fee + weight x rate per kg + distance x rate per km)
+ *         x package type multiplier x express multiplier,
+ * plus insurance of the declared value x insurance rate, never less than the
+ * minimum premium. Rates live in an immutable RateTable; quotes are memoized
+ * by their inputs, with the locations reduced to DistanceMatrix indexes so
+ * addresses in the same city share entries.
+ */
+public class QuoteEngine {
+    private static final int CACHE_LIMIT = 10000;
+    private static final int PARALLEL_BATCH = 1000;
+    private static QuoteEngine instance;
+
+    private final RateTable rates;
+    private final DistanceMatrix distances;
+    private final Map<Key, Quote> cache = new ConcurrentHashMap<>();
+
+    public QuoteEngine(RateTable rates, DistanceMatrix distances) {
+        this.rates = rates;
+        this.distances = distances;
+    }
+
+    public static synchronized QuoteEngine getInstance() {
+        if (instance == null) {
+            instance = new QuoteEngine(RateTable.STANDARD, DistanceMatrix.getInstance());
+        }
+        return instance;
+    }
+
+    public RateTable getRates() {
+        return rates;
+    }
+
+    // ==================== QUOTING ====================
+
+    /** Quote for one shipment; declaredValue is 0 when it is not insured. */
+    public Quote quote(double weightKg, String packageType, Location from, Location to,
+                       boolean express, double declaredValue) {
+        return quote(weightKg, packageType, distances.indexOf(from), distances.indexOf(to), express, declaredValue);
+    }
+
+    /** Prices many shipments; large batches are split across the common fork/join pool. */
+    public List<Quote> quoteAll(List<Request> requests) {
+        // Each distinct location is resolved once for the whole batch
+        Map<Location, Integer> indexes = new HashMap<>();
+        int[] from = new int[requests.size()];
+        int[] to = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            Request r = requests.get(i);
+            from[i] = indexes.computeIfAbsent(r.from, distances::indexOf);
+            to[i] = indexes.computeIfAbsent(r.to, distances::indexOf);
+        }
+
+        Quote[] quotes = new Quote[requests.size()];
+        IntStream range = IntStream.range(0, quotes.length);
+        if (quotes.length >= PARALLEL_BATCH) range = range.parallel();
+        range.forEach(i -> {
+            Request r = requests.get(i);
+            quotes[i] = quote(r.weightKg, r.packageType, from[i], to[i], r.express, r.declaredValue);
+        });
+        return Arrays.asList(quotes);
+    }
+
+    /** Insurance premium alone, for forms that show it before the rest is filled in. */
+    public double insuranceCost(double declaredValue) {
+        return declaredValue <= 0 ? 0 : Math.max(declaredValue * rates.insuranceRate, rates.minInsurance);
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    private Quote quote(double weightKg, String packageType, int from, int to, boolean express, double declaredValue) {
+        double multiplier = rates.typeMultiplier(packageType);
+        Key key = new Key(weightKg, multiplier, from, to, express, declaredValue);
+        Quote quote = cache.get(key);
+        if (quote != null) return quote;
+
+        // Priced from the key's rounded values so every hit returns the same quote
+        double distance = distances.km(from, to);
+        double weightCost = key.weightGrams / 1000.0 * rates.ratePerKg;
+        double distanceCost = distance * rates.ratePerKm;
+        double shipping = (rates.baseRate + weightCost + distanceCost) * multiplier;
+        if (express) shipping *= rates.expressMultiplier;
+        quote = new Quote(distance, weightCost, distanceCost, shipping, insuranceCost(key.declaredSen / 100.0));
+
+        // Clearing outright is cheaper than tracking age; the next quotes refill it
+        if (cache.size() >= CACHE_LIMIT) cache.clear();
+        cache.put(key, quote);
+        return quote;
+    }
+
+    // ==================== TYPES ====================
+
+    /** Tariff; every field is fixed once built. */
+    public static final class RateTable {
+        public static final RateTable STANDARD = new RateTable(5.00, 4.50, 0.25, 1.5, 0.015, 5.0,
+            defaultMultipliers());
+
+        public final double baseRate;
+        public final double ratePerKg;
+        public final double ratePerKm;
+        public final double expressMultiplier;
+        public final double insuranceRate;
+        public final double minInsurance;
+        private final Map<String, Double> typeMultipliers;
+
+        public RateTable(double baseRate, double ratePerKg, double ratePerKm, double expressMultiplier,
+                         double insuranceRate, double minInsurance, Map<String, Double> typeMultipliers) {
+            this.baseRate = baseRate;
+            this.ratePerKg = ratePerKg;
+            this.ratePerKm = ratePerKm;
+            this.expressMultiplier = expressMultiplier;
+            this.insuranceRate = insuranceRate;
+            this.minInsurance = minInsurance;
+            this.typeMultipliers = Collections.unmodifiableMap(new HashMap<>(typeMultipliers));
+        }
+
+        /** Surcharge or discount for a package type; other and custom types pay the plain rate. */
+        public double typeMultiplier(String packageType) {
+            if (packageType == null) return 1.0;
+            return typeMultipliers.getOrDefault(packageType, 1.0);
+        }
+
+        private static Map<String, Double> defaultMultipliers() {
+            Map<String, Double> multipliers = new HashMap<>();
+            multipliers.put("Fragile Items", 1.5);
+            multipliers.put("Electronics", 1.3);
+            multipliers.put("Documents", 0.8);
+            multipliers.put("Food", 1.2);
+            return multipliers;
+        }
+    }
+
+    /** One shipment to price in a batch. */
+    public static final class Request {
+        final double weightKg;
+        final String packageType;
+        final Location from;
+        final Location to;
+        final boolean express;
+        final double declaredValue;
+
+        public Request(double weightKg, String packageType, Location from, Location to,
+                       boolean express, double declaredValue) {
+            this.weightKg = weightKg;
+            this.packageType = packageType;
+            this.from = from != null ? from : Location.UNKNOWN;
+            this.to = to != null ? to : Location.UNKNOWN;
+            this.express = express;
+            this.declaredValue = declaredValue;
+        }
+
+        /** Reprices a stored order from its own fields. */
+        public static Request of(Order o) {
+            return new Request(o.weight, o.packageType, o.getOrigin(), o.getDestination(), o.isExpress(), o.declaredValue);
+        }
+    }
+
+    /** Price breakdown in RM; the distance is in km. */
+    public static final class Quote {
+        private final double distanceKm;
+        private final double weightCost;
+        private final double distanceCost;
+        private final double shippingCost;
+        private final double insuranceCost;
+
+        Quote(double distanceKm, double weightCost, double distanceCost, double shippingCost, double insuranceCost) {
+            this.distanceKm = distanceKm;
+            this.weightCost = weightCost;
+            this.distanceCost = distanceCost;
+            this.shippingCost = shippingCost;
+            this.insuranceCost = insuranceCost;
+        }
+
+        public double getDistanceKm() { return distanceKm; }
+        public double getWeightCost() { return weightCost; }
+        public double getDistanceCost() { return distanceCost; }
+        public double getShippingCost() { return shippingCost; }
+        public double getInsuranceCost() { return insuranceCost; }
+        public double getTotal() { return shippingCost + insuranceCost; }
+    }
+
+    private static final class Key {
+        final long weightGrams;
+        final double multiplier;
+        final int from;
+        final int to;
+        final boolean express;
+        final long declaredSen;
+
+        Key(double weightKg, double multiplier, int from, int to, boolean express, double declaredValue) {
+            this.weightGrams = Math.round(weightKg * 1000);
+            this.multiplier = multiplier;
+            this.from = from;
+            this.to = to;
+            this.express = express;
+            this.declaredSen = Math.round(declaredValue * 100);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return weightGrams == k.weightGrams && multiplier == k.multiplier && from == k.from && to == k.to
+                && express == k.express && declaredSen == k.declaredSen;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(weightGrams);
+            h = 31 * h + Double.hashCode(multiplier);
+            h = 31 * h + from;
+            h = 31 * h + to;
+            h = 31 * h + (express ? 1 : 0);
+            return 31 * h + Long.hashCode(declaredSen);
+        }
+    }
+}
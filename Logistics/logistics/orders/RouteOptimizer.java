@@ -0,0 +1,341 @@
+package logistics.orders;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import logistics.geo.DistanceMatrix;
+import logistics.geo.Location;
+
+/**
+ * Orders a courier's stops so the total road distance is short.
+ *
+ * Orders that have not been picked up yet (Assigned, or Delayed before pickup)
+ * give two stops, the pickup at the origin and the drop at the destination,
+ * and the pickup must come first; orders already on board give only the drop.
+ * The route is open: it starts at the courier's position and ends at the last
+ * drop.
+ *
+ * A nearest-neighbour tour is improved with 2-opt (reverse a stretch) and
+ * Or-opt (move a run of up to three stops elsewhere) until neither finds a
+ * shorter route or the time budget runs out. Several searches from
+ * randomised nearest-neighbour seeds are run and the shortest result wins;
+ * for longer routes they run in parallel on the fork/join common pool.
+ */
+public class RouteOptimizer {
+    private static final long DEFAULT_BUDGET_MS = 200;
+    private static final int PARALLEL_MIN_STOPS = 8;
+    private static final int MIN_SEARCHES = 4;
+    private static final int MAX_OR_OPT_RUN = 3;
+    private static final double EPSILON = 1e-6;
+    private static RouteOptimizer instance;
+
+    private final DistanceMatrix distances;
+    private final long budgetMs;
+
+    public RouteOptimizer(DistanceMatrix distances, long budgetMs) {
+        this.distances = distances;
+        this.budgetMs = budgetMs;
+    }
+
+    public static synchronized RouteOptimizer getInstance() {
+        if (instance == null) {
+            instance = new RouteOptimizer(DistanceMatrix.getInstance(), DEFAULT_BUDGET_MS);
+        }
+        return instance;
+    }
+
+    public static class Stop {
+        private final Order order;
+        private final boolean pickup;
+        private final double legKm;
+
+        Stop(Order order, boolean pickup, double legKm) {
+            this.order = order;
+            this.pickup = pickup;
+            this.legKm = legKm;
+        }
+
+        public Order getOrder() {
+            return order;
+        }
+
+        public boolean isPickup() {
+            return pickup;
+        }
+
+        public Location getLocation() {
+            return pickup ? order.getOrigin() : order.getDestination();
+        }
+
+        /** Distance from the previous stop, or from the start for the first one. */
+        public double getLegKm() {
+            return legKm;
+        }
+    }
+
+    public static class Route {
+        private final List<Stop> stops;
+        private final double totalKm;
+
+        Route(List<Stop> stops, double totalKm) {
+            this.stops = Collections.unmodifiableList(stops);
+            this.totalKm = totalKm;
+        }
+
+        public List<Stop> getStops() {
+            return stops;
+        }
+
+        public double getTotalKm() {
+            return totalKm;
+        }
+
+        /** Legs driven to reach the order's own stops, for recording against the order. */
+        public double kmFor(String orderId) {
+            double km = 0;
+            for (Stop s : stops) {
+                if (s.order.id.equals(orderId)) km += s.legKm;
+            }
+            return km;
+        }
+    }
+
+    /** True if the order has not left its origin yet and still needs a pickup stop. */
+    public static boolean needsPickup(Order o) {
+        return "Assigned".equals(o.status) || "Pending".equals(o.status)
+            || ("Delayed".equals(o.status) && (o.pickupTime == null || o.pickupTime.isEmpty()));
+    }
+
+    /**
+     * Best route found for the orders from the start location. An unknown start
+     * makes the first leg free, so the route may begin at any stop.
+     */
+    public Route optimize(Location start, List<Order> orders) {
+        Problem p = new Problem(start, orders);
+        if (p.n == 0) return new Route(new ArrayList<>(), 0);
+
+        long deadline = System.nanoTime() + budgetMs * 1_000_000L;
+        int searches = Math.max(MIN_SEARCHES, Runtime.getRuntime().availableProcessors());
+        List<Search> tasks = new ArrayList<>();
+        for (int i = 0; i < searches; i++) tasks.add(new Search(p, i, deadline));
+        if (p.n < PARALLEL_MIN_STOPS) {
+            // Too small to be worth handing to other threads
+            for (Search task : tasks) task.invoke();
+        } else {
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        int[] best = null;
+        for (Search task : tasks) {
+            int[] tour = task.join();
+            if (best == null || p.length(tour) < p.length(best) - EPSILON) best = tour;
+        }
+        return p.toRoute(best);
+    }
+
+    /** Stops, their distances, and which pickup each drop depends on. */
+    private class Problem {
+        final int n;
+        final Order[] orderOf;
+        final boolean[] isPickup;
+        final int[] partner;
+        final double[] fromStart;
+        final double[][] km;
+
+        Problem(Location start, List<Order> orders) {
+            List<Order> stopOrders = new ArrayList<>();
+            List<Boolean> stopPickups = new ArrayList<>();
+            for (Order o : orders) {
+                if (needsPickup(o)) {
+                    stopOrders.add(o);
+                    stopPickups.add(true);
+                }
+                stopOrders.add(o);
+                stopPickups.add(false);
+            }
+
+            n = stopOrders.size();
+            orderOf = stopOrders.toArray(new Order[0]);
+            isPickup = new boolean[n];
+            partner = new int[n];
+            Arrays.fill(partner, -1);
+            int[] at = new int[n];
+            for (int i = 0; i < n; i++) {
+                isPickup[i] = stopPickups.get(i);
+                at[i] = distances.indexOf(isPickup[i] ? orderOf[i].getOrigin() : orderOf[i].getDestination());
+                if (!isPickup[i] && i > 0 && isPickup[i - 1] && orderOf[i - 1] == orderOf[i]) {
+                    partner[i] = i - 1;
+                    partner[i - 1] = i;
+                }
+            }
+
+            int startAt = start != null && !start.isUnknown() ? distances.indexOf(start) : -1;
+            fromStart = new double[n];
+            km = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                fromStart[i] = startAt >= 0 ? distances.km(startAt, at[i]) : 0;
+                for (int j = i + 1; j < n; j++) {
+                    km[i][j] = km[j][i] = at[i] == at[j] ? 0 : distances.km(at[i], at[j]);
+                }
+            }
+        }
+
+        double length(int[] tour) {
+            double total = fromStart[tour[0]];
+            for (int i = 1; i < tour.length; i++) total += km[tour[i - 1]][tour[i]];
+            return total;
+        }
+
+        // Cost of the edge into position i; position 0 is entered from the start
+        double into(int[] tour, int i) {
+            return i == 0 ? fromStart[tour[0]] : km[tour[i - 1]][tour[i]];
+        }
+
+        boolean feasible(int[] tour) {
+            boolean[] seen = new boolean[n];
+            for (int stop : tour) {
+                if (!isPickup[stop] && partner[stop] >= 0 && !seen[partner[stop]]) return false;
+                seen[stop] = true;
+            }
+            return true;
+        }
+
+        Route toRoute(int[] tour) {
+            List<Stop> stops = new ArrayList<>(n);
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                double leg = into(tour, i);
+                total += leg;
+                stops.add(new Stop(orderOf[tour[i]], isPickup[tour[i]], leg));
+            }
+            return new Route(stops, total);
+        }
+    }
+
+    /** One seed plus local search; seed 0 is the plain nearest-neighbour tour. */
+    private static class Search extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+        private final Problem p;
+        private final int seed;
+        private final long deadline;
+
+        Search(Problem p, int seed, long deadline) {
+            this.p = p;
+            this.seed = seed;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected int[] compute() {
+            int[] tour = nearestNeighbour(seed == 0 ? null : new Random(seed));
+            boolean improved = true;
+            while (improved && System.nanoTime() < deadline) {
+                improved = twoOpt(tour) | orOpt(tour);
+            }
+            return tour;
+        }
+
+        // With a Random, picks the second-nearest stop a third of the time
+        private int[] nearestNeighbour(Random random) {
+            int n = p.n;
+            int[] tour = new int[n];
+            boolean[] used = new boolean[n];
+            for (int pos = 0; pos < n; pos++) {
+                int best = -1;
+                int second = -1;
+                for (int s = 0; s < n; s++) {
+                    if (used[s]) continue;
+                    if (!p.isPickup[s] && p.partner[s] >= 0 && !used[p.partner[s]]) continue;
+                    double d = pos == 0 ? p.fromStart[s] : p.km[tour[pos - 1]][s];
+                    if (best < 0 || d < (pos == 0 ? p.fromStart[best] : p.km[tour[pos - 1]][best])) {
+                        second = best;
+                        best = s;
+                    } else if (second < 0 || d < (pos == 0 ? p.fromStart[second] : p.km[tour[pos - 1]][second])) {
+                        second = s;
+                    }
+                }
+                int pick = random != null && second >= 0 && random.nextInt(3) == 0 ? second : best;
+                tour[pos] = pick;
+                used[pick] = true;
+            }
+            return tour;
+        }
+
+        // Reverses tour[i..k] when that shortens the route; the route is open, so k may be the last stop
+        private boolean twoOpt(int[] tour) {
+            int n = tour.length;
+            boolean improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                for (int k = i + 1; k < n; k++) {
+                    double before = p.into(tour, i) + (k + 1 < n ? p.km[tour[k]][tour[k + 1]] : 0);
+                    double after = (i == 0 ? p.fromStart[tour[k]] : p.km[tour[i - 1]][tour[k]])
+                        + (k + 1 < n ? p.km[tour[i]][tour[k + 1]] : 0);
+                    if (after < before - EPSILON) {
+                        reverse(tour, i, k);
+                        if (p.feasible(tour)) {
+                            improved = true;
+                        } else {
+                            reverse(tour, i, k);
+                        }
+                    }
+                }
+                if (System.nanoTime() >= deadline) break;
+            }
+            return improved;
+        }
+
+        // Moves a run of 1..MAX_OR_OPT_RUN stops to another gap when that shortens the route
+        private boolean orOpt(int[] tour) {
+            int n = tour.length;
+            boolean improved = false;
+            for (int len = 1; len <= MAX_OR_OPT_RUN && len < n; len++) {
+                for (int i = 0; i + len <= n; i++) {
+                    int last = i + len - 1;
+                    double removed = p.into(tour, i) + (last + 1 < n ? p.km[tour[last]][tour[last + 1]] : 0);
+                    double bridged = last + 1 < n
+                        ? (i == 0 ? p.fromStart[tour[last + 1]] : p.km[tour[i - 1]][tour[last + 1]]) : 0;
+
+                    for (int j = 0; j <= n; j++) {
+                        // Insert before position j of the original tour; gaps touching the run are no-ops
+                        if (j >= i && j <= last + 1) continue;
+                        double cut = j == 0 ? p.fromStart[tour[0]] : (j < n ? p.km[tour[j - 1]][tour[j]] : 0);
+                        double joined = (j == 0 ? p.fromStart[tour[i]] : p.km[tour[j - 1]][tour[i]])
+                            + (j < n ? p.km[tour[last]][tour[j]] : 0);
+                        double delta = joined - cut - removed + bridged;
+                        if (delta < -EPSILON) {
+                            int[] moved = move(tour, i, len, j);
+                            if (p.feasible(moved)) {
+                                System.arraycopy(moved, 0, tour, 0, n);
+                                improved = true;
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (System.nanoTime() >= deadline) break;
+            }
+            return improved;
+        }
+
+        private static void reverse(int[] tour, int i, int k) {
+            while (i < k) {
+                int t = tour[i];
+                tour[i++] = tour[k];
+                tour[k--] = t;
+            }
+        }
+
+        private static int[] move(int[] tour, int from, int len, int before) {
+            int[] result = new int[tour.length];
+            int r = 0;
+            for (int j = 0; j <= tour.length; j++) {
+                if (j == before) {
+                    for (int m = 0; m < len; m++) result[r++] = tour[from + m];
+                }
+                if (j < tour.length && (j < from || j >= from + len)) result[r++] = tour[j];
+            }
+            return result;
+        }
+    }
+}
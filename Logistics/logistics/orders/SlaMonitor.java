@@ -0,0 +1,245 @@
+package logistics.orders;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves open orders to Delayed once their estimated delivery day has passed.
+ *
+ * Every open order (Pending through Out for Delivery) has a timer at its
+ * deadline, Order.getDeadlineMillis(), in a hierarchical timer wheel: LEVELS
+ * wheels of SLOTS slots, one tick per TICK_MS, so level 0 covers the next hour
+ * and each level above covers SLOTS times more. Adding, moving or dropping a
+ * timer is O(1), and a tick only looks at the one slot that is due, plus a
+ * higher slot cascading down when a lower wheel wraps. The timers follow
+ * OrderIndex change events, so a new estimate or a status change reschedules
+ * or cancels the order's timer without re-reading every date.
+ *
+ * Orders whose timers fire in the same tick are marked with markAsDelayed and
+ * written in one OrderStorage.updateOrders call, then passed to the listeners.
+ * The reason names the missed date, so an order a courier picks up again
+ * after the flag is not flagged a second time for the same estimate.
+ */
+public class SlaMonitor {
+    private static final long TICK_MS = 60_000;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final String REASON_PREFIX = "Estimated delivery date ";
+    private static SlaMonitor instance;
+
+    public interface Listener {
+        /** Called on the monitor thread with the orders just marked Delayed. */
+        void ordersDelayed(List<Order> orders);
+    }
+
+    private final OrderIndex index;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<List<Timer>> wheels = new ArrayList<>(LEVELS * SLOTS);
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final List<Timer> due = new ArrayList<>();
+    private long currentTick;
+    private ScheduledExecutorService executor;
+
+    SlaMonitor(OrderIndex index, long nowMillis) {
+        this.index = index;
+        this.currentTick = nowMillis / TICK_MS;
+        for (int i = 0; i < LEVELS * SLOTS; i++) wheels.add(new ArrayList<>());
+        index.addListener(this::ordersChanged);
+        ordersChanged(null);
+    }
+
+    public static synchronized SlaMonitor getInstance() {
+        if (instance == null) {
+            instance = new SlaMonitor(OrderIndex.getInstance(), System.currentTimeMillis());
+        }
+        return instance;
+    }
+
+    /** True for orders the monitor keeps a deadline for. */
+    public static boolean isWatched(Order o) {
+        switch (o.status == null ? "" : o.status) {
+            case "Pending":
+            case "Assigned":
+            case "Picked Up":
+            case "In Transit":
+            case "Out for Delivery":
+                return o.getDeadlineMillis() >= 0 && !delayReasonFor(o).equals(o.reason);
+            default:
+                return false;
+        }
+    }
+
+    /** Reason recorded on an order the monitor marked Delayed. */
+    public static String delayReasonFor(Order o) {
+        return REASON_PREFIX + o.estimatedDelivery + " passed";
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Starts checking once per tick on a daemon thread; does nothing if already started. */
+    public synchronized void start() {
+        if (executor != null) return;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sla-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                // Picks up orders.txt written by another process
+                index.size();
+                check(System.currentTimeMillis());
+            } catch (Exception e) {
+                System.err.println("SLA check failed: " + e.getMessage());
+            }
+        }, 0, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public synchronized int getWatchedCount() {
+        return timers.size();
+    }
+
+    /**
+     * Marks the orders whose deadlines have passed by nowMillis as Delayed and
+     * returns them. Each order is checked again against orders.txt first, in
+     * case it moved on since its timer was set.
+     */
+    public List<Order> check(long nowMillis) {
+        List<String> expired = advance(nowMillis);
+        if (expired.isEmpty()) return Collections.emptyList();
+
+        OrderStorage storage = new OrderStorage();
+        List<Order> delayed = new ArrayList<>();
+        for (String id : expired) {
+            Order o = storage.findOrder(id);
+            if (o == null || !isWatched(o) || nowMillis < o.getDeadlineMillis()) continue;
+            o.markAsDelayed(delayReasonFor(o));
+            delayed.add(o);
+        }
+        if (delayed.isEmpty()) return delayed;
+
+        storage.updateOrders(delayed);
+        System.out.println("SLA monitor marked " + delayed.size() + " order(s) as Delayed");
+        for (Listener listener : listeners) {
+            listener.ordersDelayed(delayed);
+        }
+        return delayed;
+    }
+
+    // ==================== TIMERS ====================
+
+    // null means every order, for the first load
+    private synchronized void ordersChanged(Set<String> changedIds) {
+        Collection<String> ids = changedIds;
+        if (ids == null) {
+            ids = new ArrayList<>();
+            for (Order o : index.getAll()) ids.add(o.id);
+        }
+        for (String id : ids) {
+            Order o = index.get(id);
+            if (o != null && isWatched(o)) {
+                schedule(id, o.getDeadlineMillis());
+            } else {
+                cancel(id);
+            }
+        }
+    }
+
+    private void schedule(String orderId, long deadlineMillis) {
+        // Rounded up, so a timer never fires before its deadline
+        long tick = Math.floorDiv(deadlineMillis + TICK_MS - 1, TICK_MS);
+        Timer old = timers.get(orderId);
+        if (old != null) {
+            if (old.tick == tick) return;
+            old.cancelled = true;
+        }
+        Timer timer = new Timer(orderId, tick);
+        timers.put(orderId, timer);
+        insert(timer);
+    }
+
+    private void cancel(String orderId) {
+        Timer old = timers.remove(orderId);
+        if (old != null) old.cancelled = true;
+    }
+
+    // Level is the lowest wheel whose span still separates the timer from now
+    private void insert(Timer timer) {
+        if (timer.tick <= currentTick) {
+            due.add(timer);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1
+            && (timer.tick >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((timer.tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        wheels.get(level * SLOTS + slot).add(timer);
+    }
+
+    // Moves the wheel up to nowMillis and returns the ids of the orders that fell due
+    private synchronized List<String> advance(long nowMillis) {
+        long target = nowMillis / TICK_MS;
+        while (currentTick < target) {
+            currentTick++;
+            // Higher wheels first, so their timers land in the level 0 slot read below
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) continue;
+                int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                List<Timer> bucket = wheels.get(level * SLOTS + slot);
+                if (bucket.isEmpty()) continue;
+                List<Timer> moving = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Timer t : moving) {
+                    if (!t.cancelled) insert(t);
+                }
+            }
+            List<Timer> bucket = wheels.get((int) (currentTick & (SLOTS - 1)));
+            if (bucket.isEmpty()) continue;
+            List<Timer> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Timer t : moving) {
+                if (!t.cancelled) insert(t);
+            }
+        }
+
+        List<String> expired = new ArrayList<>();
+        for (Timer t : due) {
+            if (t.cancelled) continue;
+            expired.add(t.orderId);
+            // Dropped so it is not fired again; a later change to the order sets a new one
+            timers.remove(t.orderId);
+        }
+        due.clear();
+        return expired;
+    }
+
+    private static class Timer {
+        final String orderId;
+        final long tick;
+        boolean cancelled;
+
+        Timer(String orderId, long tick) {
+            this.orderId = orderId;
+            this.tick = tick;
+        }
+    }
+}
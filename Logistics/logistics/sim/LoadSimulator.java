@@ -0,0 +1,447 @@
+package logistics.sim;
+
+import java.io.*;
+import java.util.*;
+
+import logistics.driver.Driver;
+import logistics.driver.DriverStorage;
+import logistics.orders.Order;
+import logistics.orders.OrderStorage;
+
+/**
+ * Headless discrete-event simulation of the order lifecycle, for seeing how
+ * OrderStorage and DriverStorage hold up at a given volume.
+ *
+ * Synthetic senders place orders as a Poisson process at ordersPerHour. Every
+ * dispatchMinutes, and whenever a courier comes free, pending orders go to free
+ * couriers oldest first (assignOrderToDriver takes only Available drivers, so
+ * a courier carries one order at a time), and each order then moves through
+ * Picked Up, In Transit, Out for Delivery and Delivered after exponentially
+ * distributed stage times. Every step goes through the same storage calls the screens use
+ * (addOrder, assignOrderToDriver, updateFromCourierStatus with updateOrder,
+ * completeOrder), so orders.txt and drivers.txt are really written. Simulated
+ * time costs nothing; only the storage calls are timed, and the report gives
+ * their latency percentiles, how latency grew over the run, and throughput.
+ *
+ * The storages use files in the working directory, so run it from an empty
+ * directory; it stops if orders.txt, drivers.txt or vehicles.txt is already
+ * there. Settings are system properties, for example:
+ *
+ *   java -Dsim.hours=8 -Dsim.ordersPerHour=600 -Dsim.couriers=200 logistics.sim.LoadSimulator
+ */
+public class LoadSimulator {
+    private static final String ORDER_FILE = "orders.txt";
+    private static final String DRIVER_FILE = "drivers.txt";
+    private static final String VEHICLE_FILE = "vehicles.txt";
+    private static final long MINUTE_MS = 60_000;
+    private static final int QUARTERS = 4;
+    private static final String[][] PLACES = {
+        {"Kuala Lumpur City", "Kuala Lumpur", "50000"},
+        {"Petaling Jaya", "Selangor", "46100"},
+        {"Shah Alam", "Selangor", "40000"},
+        {"Klang", "Selangor", "41000"},
+        {"George Town", "Penang", "10000"},
+        {"Johor Bahru", "Johor", "80000"},
+        {"Batu Pahat", "Johor", "83000"},
+        {"Ipoh", "Perak", "30000"},
+        {"Kuantan", "Pahang", "25000"},
+        {"Melaka", "Melaka", "75000"}
+    };
+    // Vehicle type, id prefix, licence class
+    private static final String[][] FLEET = {
+        {"Motorcycle", "MTC", "B2"},
+        {"Car", "CAR", "D"},
+        {"Van", "VAN", "D"},
+        {"Truck", "TRK", "E"}
+    };
+
+    public static class Config {
+        public double hours = 8;
+        public double ordersPerHour = 30;
+        public int couriers = 120;
+        public int senders = 200;
+        public double dispatchMinutes = 5;
+        public double pickupMinutes = 30;
+        public double transitMinutes = 90;
+        public double outForDeliveryMinutes = 60;
+        public double deliverMinutes = 30;
+        public double expressShare = 0.2;
+        public long seed = 42;
+
+        /** Defaults overridden by any sim.* system properties that are set. */
+        public static Config fromSystemProperties() {
+            Config c = new Config();
+            c.hours = doubleProperty("sim.hours", c.hours);
+            c.ordersPerHour = doubleProperty("sim.ordersPerHour", c.ordersPerHour);
+            c.couriers = (int) doubleProperty("sim.couriers", c.couriers);
+            c.senders = (int) doubleProperty("sim.senders", c.senders);
+            c.dispatchMinutes = doubleProperty("sim.dispatchMinutes", c.dispatchMinutes);
+            c.pickupMinutes = doubleProperty("sim.pickupMinutes", c.pickupMinutes);
+            c.transitMinutes = doubleProperty("sim.transitMinutes", c.transitMinutes);
+            c.outForDeliveryMinutes = doubleProperty("sim.outForDeliveryMinutes", c.outForDeliveryMinutes);
+            c.deliverMinutes = doubleProperty("sim.deliverMinutes", c.deliverMinutes);
+            c.expressShare = doubleProperty("sim.expressShare", c.expressShare);
+            c.seed = (long) doubleProperty("sim.seed", c.seed);
+            return c;
+        }
+
+        private static double doubleProperty(String name, double fallback) {
+            String value = System.getProperty(name);
+            if (value == null) return fallback;
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring " + name + "=" + value + ", using " + fallback);
+                return fallback;
+            }
+        }
+    }
+
+    private enum Kind { CREATE, DISPATCH, PICK_UP, IN_TRANSIT, OUT_FOR_DELIVERY, DELIVER }
+
+    private final Config config;
+    private final Random random;
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final Map<String, OpStats> stats = new LinkedHashMap<>();
+    private final Deque<String> pending = new ArrayDeque<>();
+    private final Deque<Driver> freeCouriers = new ArrayDeque<>();
+    private final Map<String, Driver> courierByOrder = new HashMap<>();
+    private final Map<String, Long> createdAt = new HashMap<>();
+    private OrderStorage orders;
+    private long now;
+    private long seq;
+    private long endMs;
+    private boolean dispatchQueued;
+    private int created;
+    private int delivered;
+    private int failedCalls;
+    private int peakBacklog;
+    private double leadMinutesTotal;
+
+    public LoadSimulator(Config config) {
+        this.config = config;
+        this.random = new Random(config.seed);
+        for (String op : new String[] {"create", "assign", "pick up", "in transit", "out for delivery", "deliver"}) {
+            stats.put(op, new OpStats());
+        }
+    }
+
+    public static void main(String[] args) {
+        for (String name : new String[] {ORDER_FILE, DRIVER_FILE, VEHICLE_FILE}) {
+            if (new File(name).exists()) {
+                System.err.println(name + " already exists in " + new File(".").getAbsoluteFile().getParent()
+                    + ". Run the simulator from an empty directory so real data is not overwritten.");
+                System.exit(1);
+            }
+        }
+
+        Config config = Config.fromSystemProperties();
+        PrintStream console = System.out;
+        // The storages log every saved line; that would swamp the console and the timings
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        LoadSimulator simulator = new LoadSimulator(config);
+        long wallNs;
+        try {
+            long start = System.nanoTime();
+            simulator.run();
+            wallNs = System.nanoTime() - start;
+        } finally {
+            System.setOut(console);
+        }
+        simulator.report(console, wallNs);
+    }
+
+    /** Sets up the fleet and runs every event up to the configured end time. */
+    public void run() {
+        setUp();
+        endMs = Math.round(config.hours * 60 * MINUTE_MS);
+        schedule(nextArrival(), Kind.CREATE, null);
+        schedule(Math.round(config.dispatchMinutes * MINUTE_MS), Kind.DISPATCH, null);
+
+        while (!events.isEmpty()) {
+            Event e = events.poll();
+            now = e.at;
+            switch (e.kind) {
+                case CREATE:
+                    createOrder();
+                    long next = now + nextArrival();
+                    if (next < endMs) schedule(next, Kind.CREATE, null);
+                    break;
+                case DISPATCH:
+                    dispatchQueued = false;
+                    dispatch();
+                    long nextDispatch = now + Math.round(config.dispatchMinutes * MINUTE_MS);
+                    // Keeps going after the last arrival until the backlog is cleared
+                    if (nextDispatch < endMs || !pending.isEmpty()) schedule(nextDispatch, Kind.DISPATCH, null);
+                    break;
+                case PICK_UP:
+                    advance(e.orderId, "Picked Up", "pick up", Kind.IN_TRANSIT, config.transitMinutes);
+                    break;
+                case IN_TRANSIT:
+                    advance(e.orderId, "In Transit", "in transit", Kind.OUT_FOR_DELIVERY, config.outForDeliveryMinutes);
+                    break;
+                case OUT_FOR_DELIVERY:
+                    advance(e.orderId, "Out for Delivery", "out for delivery", Kind.DELIVER, config.deliverMinutes);
+                    break;
+                case DELIVER:
+                    deliver(e.orderId);
+                    break;
+            }
+        }
+    }
+
+    // ==================== SET UP ====================
+
+    private void setUp() {
+        long taxExpiry = System.currentTimeMillis() + 365L * 24 * 60 * MINUTE_MS;
+        List<Driver> couriers = new ArrayList<>();
+        try (PrintWriter vehicles = new PrintWriter(new FileWriter(VEHICLE_FILE));
+             PrintWriter drivers = new PrintWriter(new FileWriter(DRIVER_FILE))) {
+            vehicles.println("VEHICLE_ID|VEHICLE_TYPE|LICENSE_PLATE|VEHICLE_MODEL|ROAD_TAX_EXPIRY|STATUS|ASSIGNED_TO|FUEL_TYPE");
+            drivers.println("# id|name|phone|email|licenseNumber|licenseExpiry|workStatus|approvalStatus|vehicleId|joinDate|totalDeliveries|rating|emergencyContact|emergencyPhone|address|notes|photoPath|passwordHash|icNumber|licenseType|remarks|currentOrderIds|completedOrderIds|totalDistance|totalFuelUsed|onTimeDeliveries|lateDeliveries");
+            for (int i = 1; i <= config.couriers; i++) {
+                String[] fleet = FLEET[i % FLEET.length];
+                String vehicleId = String.format("%s%03d", fleet[1], i);
+                String[] place = PLACES[i % PLACES.length];
+
+                Driver d = new Driver(String.format("DRV%03d", i), "Sim Courier " + i,
+                    String.format("01%08d", i), "courier" + i + "@sim.local", "SIM" + i, "2099-12-31");
+                d.approvalStatus = "APPROVED";
+                d.workStatus = "Available";
+                d.vehicleId = vehicleId;
+                d.licenseType = fleet[2];
+                d.address = place[0] + ", " + place[1] + " " + place[2];
+                couriers.add(d);
+
+                vehicles.println(String.format("%s|%s|SIM %d|Simulated %s|%d|Active|%s|Petrol",
+                    vehicleId, fleet[0], i, fleet[0], taxExpiry, d.name));
+                drivers.println(d.toFileString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the simulated fleet", e);
+        }
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(ORDER_FILE))) {
+            writer.println(Order.FILE_HEADER);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + ORDER_FILE, e);
+        }
+
+        // Loaded back the way the screens load them
+        DriverStorage driverStorage = new DriverStorage();
+        for (Driver d : couriers) freeCouriers.add(driverStorage.findDriver(d.id));
+        orders = new OrderStorage();
+    }
+
+    // ==================== TRANSITIONS ====================
+
+    private void createOrder() {
+        int sender = random.nextInt(Math.max(1, config.senders));
+        String[] from = PLACES[sender % PLACES.length];
+        String[] to = PLACES[random.nextInt(PLACES.length)];
+        double weight = Math.round((0.2 + random.nextDouble() * random.nextDouble() * 30) * 10) / 10.0;
+
+        Order o = new Order(orders.generateOrderId(), "Sim Sender " + sender, String.format("01%08d", sender),
+            "sender" + sender + "@sim.local", "1 Jalan Sim, " + from[0] + ", " + from[1] + " " + from[2],
+            "Sim Recipient", "0123456789", "2 Jalan Sim, " + to[0] + ", " + to[1] + " " + to[2],
+            weight, "30x20x15");
+        o.serviceLevel = random.nextDouble() < config.expressShare ? Order.SERVICE_EXPRESS : Order.SERVICE_STANDARD;
+        o.paymentStatus = "Paid";
+        o.originCity = from[0];
+        o.originState = from[1];
+        o.originPostcode = from[2];
+        o.destinationCity = to[0];
+        o.destinationState = to[1];
+        o.destinationPostcode = to[2];
+
+        long start = System.nanoTime();
+        orders.addOrder(o);
+        record("create", start);
+
+        created++;
+        createdAt.put(o.id, now);
+        pending.add(o.id);
+        peakBacklog = Math.max(peakBacklog, pending.size());
+    }
+
+    private void dispatch() {
+        while (!pending.isEmpty() && !freeCouriers.isEmpty()) {
+            String orderId = pending.poll();
+            Driver courier = freeCouriers.poll();
+
+            long start = System.nanoTime();
+            boolean ok = orders.assignOrderToDriver(orderId, courier.id, courier.vehicleId);
+            record("assign", start);
+
+            if (!ok) {
+                failedCalls++;
+                freeCouriers.add(courier);
+                continue;
+            }
+            courierByOrder.put(orderId, courier);
+            schedule(now + stageTime(config.pickupMinutes), Kind.PICK_UP, orderId);
+        }
+    }
+
+    private void advance(String orderId, String courierStatus, String op, Kind next, double meanMinutes) {
+        Order o = orders.findOrder(orderId);
+        if (o == null) {
+            failedCalls++;
+            return;
+        }
+
+        long start = System.nanoTime();
+        o.updateFromCourierStatus(courierStatus);
+        orders.updateOrder(o);
+        record(op, start);
+
+        schedule(now + stageTime(meanMinutes), next, orderId);
+    }
+
+    private void deliver(String orderId) {
+        double km = 5 + random.nextDouble() * 120;
+
+        long start = System.nanoTime();
+        boolean ok = orders.completeOrder(orderId, km, km / 12, "", "Sim Recipient");
+        record("deliver", start);
+
+        Driver courier = courierByOrder.remove(orderId);
+        if (!ok) {
+            failedCalls++;
+        } else {
+            delivered++;
+            leadMinutesTotal += (now - createdAt.remove(orderId)) / (double) MINUTE_MS;
+        }
+        if (courier != null) {
+            freeCouriers.add(courier);
+            // A free courier picks up the next waiting order straight away
+            if (!pending.isEmpty() && !dispatchQueued) {
+                dispatchQueued = true;
+                schedule(now, Kind.DISPATCH, null);
+            }
+        }
+    }
+
+    // ==================== EVENTS ====================
+
+    private void schedule(long at, Kind kind, String orderId) {
+        events.add(new Event(at, seq++, kind, orderId));
+    }
+
+    private long nextArrival() {
+        return exponential(60.0 / config.ordersPerHour);
+    }
+
+    private long stageTime(double meanMinutes) {
+        return exponential(meanMinutes);
+    }
+
+    private long exponential(double meanMinutes) {
+        return Math.max(1, Math.round(-Math.log(1 - random.nextDouble()) * meanMinutes * MINUTE_MS));
+    }
+
+    private void record(String op, long startNs) {
+        stats.get(op).add(System.nanoTime() - startNs);
+    }
+
+    // ==================== REPORT ====================
+
+    public void report(PrintStream out, long wallNs) {
+        double wallSeconds = wallNs / 1e9;
+        long calls = 0;
+        long callNs = 0;
+        for (OpStats s : stats.values()) {
+            calls += s.count;
+            callNs += s.totalNs;
+        }
+
+        out.println("=== LOAD SIMULATION ===");
+        out.println(String.format("Simulated %.1f h: %.0f orders/h, %d couriers, dispatch every %.0f min, seed %d",
+            config.hours, config.ordersPerHour, config.couriers, config.dispatchMinutes, config.seed));
+        out.println(String.format("Orders created %d, delivered %d, failed calls %d, peak backlog %d",
+            created, delivered, failedCalls, peakBacklog));
+        if (delivered > 0) {
+            out.println(String.format("Mean order-to-delivery time %.0f simulated minutes", leadMinutesTotal / delivered));
+        }
+        out.println(String.format("Storage calls %d in %.1f s wall (%.1f s inside storage): %.1f calls/s, %.1f orders/s",
+            calls, wallSeconds, callNs / 1e9, calls / wallSeconds, delivered / wallSeconds));
+        out.println(String.format("Simulated hours per wall second: %.2f", config.hours / wallSeconds));
+        out.println();
+
+        StringBuilder header = new StringBuilder();
+        for (int q = 1; q <= QUARTERS; q++) header.append(String.format(" %8s", "Q" + q + " mean"));
+        out.println(String.format("%-17s %7s %9s %9s %9s %9s %9s%s",
+            "Operation (ms)", "Calls", "Mean", "p50", "p95", "p99", "Max", header));
+        for (Map.Entry<String, OpStats> entry : stats.entrySet()) {
+            OpStats s = entry.getValue();
+            if (s.count == 0) continue;
+            StringBuilder quarters = new StringBuilder();
+            for (int q = 0; q < QUARTERS; q++) quarters.append(String.format(" %8.2f", s.quarterMean(q)));
+            out.println(String.format("%-17s %7d %9.2f %9.2f %9.2f %9.2f %9.2f%s",
+                entry.getKey(), s.count, s.totalNs / 1e6 / s.count,
+                s.percentile(50), s.percentile(95), s.percentile(99), s.percentile(100), quarters));
+        }
+        out.println();
+        out.println(String.format("%s: %.1f KB, %s: %.1f KB", ORDER_FILE, new File(ORDER_FILE).length() / 1024.0,
+            DRIVER_FILE, new File(DRIVER_FILE).length() / 1024.0));
+        out.println("Q1-Q4 split each operation's calls into quarters in the order they ran;");
+        out.println("a rising mean shows the cost growing with the files.");
+        out.println("=======================");
+    }
+
+    private static class Event implements Comparable<Event> {
+        final long at;
+        final long seq;
+        final Kind kind;
+        final String orderId;
+
+        Event(long at, long seq, Kind kind, String orderId) {
+            this.at = at;
+            this.seq = seq;
+            this.kind = kind;
+            this.orderId = orderId;
+        }
+
+        // Same-time events run in the order they were scheduled
+        @Override
+        public int compareTo(Event other) {
+            int c = Long.compare(at, other.at);
+            return c != 0 ? c : Long.compare(seq, other.seq);
+        }
+    }
+
+    /** Latencies of one storage call in the order they ran, kept whole for the percentiles. */
+    private static class OpStats {
+        long[] samples = new long[256];
+        int count;
+        long totalNs;
+        private long[] sorted;
+
+        void add(long ns) {
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = ns;
+            totalNs += ns;
+            sorted = null;
+        }
+
+        // Mean in milliseconds of the q-th quarter of the calls
+        double quarterMean(int q) {
+            int from = (int) ((long) count * q / QUARTERS);
+            int to = (int) ((long) count * (q + 1) / QUARTERS);
+            if (to <= from) return 0;
+            long sum = 0;
+            for (int i = from; i < to; i++) sum += samples[i];
+            return sum / 1e6 / (to - from);
+        }
+
+        // Nearest-rank percentile in milliseconds
+        double percentile(double pct) {
+            if (sorted == null) {
+                sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+            }
+            int rank = (int) Math.ceil(pct / 100 * count);
+            return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1e6;
+        }
+    }
+}
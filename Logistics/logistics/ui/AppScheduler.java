@@ -0,0 +1,177 @@
+package logistics.ui;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.util.*;
+
+/**
+ * Single application-wide scheduler for clocks, auto-refresh and delayed UI work.
+ *
+ * Repeating jobs share one 1-second Swing timer, so every clock label in every
+ * open frame is updated from the same EDT event, and the timer stops when no
+ * jobs are left. Jobs belong to an owner component and a name: scheduling the
+ * same name again for the same owner replaces the old job instead of adding a
+ * second one, and all of an owner's jobs are cancelled once it is no longer
+ * displayable (its frame was disposed or the panel was removed).
+ *
+ * All methods must be called on the EDT; tasks also run on the EDT.
+ */
+public class AppScheduler {
+    private static final int TICK_MS = 1000;
+    private static AppScheduler instance;
+
+    private final Timer ticker;
+    private final List<Job> jobs = new ArrayList<>();
+    private final Map<Component, Boolean> watchedOwners = new WeakHashMap<>();
+    private long tick;
+
+    private AppScheduler() {
+        ticker = new Timer(TICK_MS, e -> onTick());
+        ticker.setCoalesce(true);
+    }
+
+    public static synchronized AppScheduler getInstance() {
+        if (instance == null) {
+            instance = new AppScheduler();
+        }
+        return instance;
+    }
+
+    /** Runs the task every periodMs (rounded to whole ticks), starting at the next tick. */
+    public void every(Component owner, String name, long periodMs, Runnable task) {
+        schedule(owner, name, periodMs, task, false);
+    }
+
+    /** Same as every, but also runs the task once right away. */
+    public void everyNow(Component owner, String name, long periodMs, Runnable task) {
+        schedule(owner, name, periodMs, task, true);
+    }
+
+    /**
+     * Runs the task once after delayMs. A second call with the same owner and
+     * name before it fires replaces the pending run.
+     */
+    public void runLater(Component owner, String name, int delayMs, Runnable task) {
+        cancel(owner, name);
+        watch(owner);
+
+        Job job = new Job(owner, name, 0, task, false);
+        job.oneShot = new Timer(delayMs, e -> {
+            jobs.remove(job);
+            runSafely(job);
+        });
+        job.oneShot.setRepeats(false);
+        jobs.add(job);
+        job.oneShot.start();
+    }
+
+    public void cancel(Component owner, String name) {
+        Iterator<Job> it = jobs.iterator();
+        while (it.hasNext()) {
+            Job job = it.next();
+            if (job.owner == owner && job.name.equals(name)) {
+                job.stop();
+                it.remove();
+            }
+        }
+        stopIfIdle();
+    }
+
+    public void cancelAll(Component owner) {
+        Iterator<Job> it = jobs.iterator();
+        while (it.hasNext()) {
+            Job job = it.next();
+            if (job.owner == owner) {
+                job.stop();
+                it.remove();
+            }
+        }
+        stopIfIdle();
+    }
+
+    public int getJobCount() {
+        return jobs.size();
+    }
+
+    // ==================== INTERNALS ====================
+
+    private void schedule(Component owner, String name, long periodMs, Runnable task, boolean runNow) {
+        cancel(owner, name);
+        watch(owner);
+
+        long periodTicks = Math.max(1, Math.round((double) periodMs / TICK_MS));
+        Job job = new Job(owner, name, periodTicks, task, true);
+        job.nextTick = tick + periodTicks;
+        jobs.add(job);
+
+        if (!ticker.isRunning()) {
+            ticker.start();
+        }
+        if (runNow) {
+            runSafely(job);
+        }
+    }
+
+    private void onTick() {
+        tick++;
+        for (Job job : new ArrayList<>(jobs)) {
+            if (job.repeating && tick >= job.nextTick && jobs.contains(job)) {
+                job.nextTick = tick + job.periodTicks;
+                runSafely(job);
+            }
+        }
+    }
+
+    private void runSafely(Job job) {
+        try {
+            job.task.run();
+        } catch (Exception e) {
+            System.err.println("Scheduled job '" + job.name + "' failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void stopIfIdle() {
+        boolean anyRepeating = jobs.stream().anyMatch(j -> j.repeating);
+        if (!anyRepeating && ticker.isRunning()) {
+            ticker.stop();
+        }
+    }
+
+    private void watch(Component owner) {
+        if (watchedOwners.containsKey(owner)) return;
+        watchedOwners.put(owner, Boolean.TRUE);
+
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !owner.isDisplayable()) {
+                cancelAll(owner);
+            }
+        });
+    }
+
+    private static class Job {
+        final Component owner;
+        final String name;
+        final long periodTicks;
+        final Runnable task;
+        final boolean repeating;
+        long nextTick;
+        Timer oneShot;
+
+        Job(Component owner, String name, long periodTicks, Runnable task, boolean repeating) {
+            this.owner = owner;
+            this.name = name;
+            this.periodTicks = periodTicks;
+            this.task = task;
+            this.repeating = repeating;
+        }
+
+        void stop() {
+            if (oneShot != null) {
+                oneShot.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package logistics.ui;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide cache of decoded and pre-scaled images (logos, driver photos).
+ * Entries are keyed by resolved source and target size, and the cache is
+ * bounded by the number of pixel bytes it holds; least recently used
+ * variants are evicted first.
+ */
+public class ImageCache {
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static ImageCache instance;
+
+    private final Map<String, ImageIcon> icons;
+    private final ExecutorService decoder;
+    private final long maxBytes;
+    private long currentBytes;
+
+    private ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.icons = new LinkedHashMap<>(64, 0.75f, true);
+        this.decoder = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "image-decoder");
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache(DEFAULT_MAX_BYTES);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the image scaled to exactly width x height, decoding it on first use.
+     * The anchor class is used for classpath lookup, as the old loadLogo methods did.
+     */
+    public ImageIcon getIcon(Class<?> anchor, String path, int width, int height) {
+        Object source = resolve(anchor, path);
+        if (source == null) return null;
+
+        String key = keyFor(source, width, height);
+        ImageIcon cached = lookup(key);
+        if (cached != null) return cached;
+
+        BufferedImage original = decode(source);
+        if (original == null) return null;
+        return store(key, new ImageIcon(scale(original, width, height)));
+    }
+
+    /** Same as getIcon, but keeps the aspect ratio and only fixes the height. */
+    public ImageIcon getIconForHeight(Class<?> anchor, String path, int height) {
+        Object source = resolve(anchor, path);
+        if (source == null) return null;
+
+        String key = keyFor(source, -1, height);
+        ImageIcon cached = lookup(key);
+        if (cached != null) return cached;
+
+        BufferedImage original = decode(source);
+        if (original == null) return null;
+        int width = Math.max(1, (int) ((double) original.getWidth() / original.getHeight() * height));
+        return store(key, new ImageIcon(scale(original, width, height)));
+    }
+
+    public ImageIcon getIcon(String path, int width, int height) {
+        return getIcon(ImageCache.class, path, width, height);
+    }
+
+    /**
+     * Decodes and scales off the EDT. The callback always runs on the EDT and
+     * receives null when the image cannot be read. Cache hits call back immediately.
+     */
+    public void loadAsync(String path, int width, int height, Consumer<ImageIcon> callback) {
+        Object source = resolve(ImageCache.class, path);
+        if (source == null) {
+            deliver(callback, null);
+            return;
+        }
+
+        ImageIcon cached = lookup(keyFor(source, width, height));
+        if (cached != null) {
+            deliver(callback, cached);
+            return;
+        }
+
+        decoder.execute(() -> deliver(callback, getIcon(path, width, height)));
+    }
+
+    /** Warms the cache in the background, e.g. during startup. */
+    public Future<?> preload(Class<?> anchor, String path, int width, int height) {
+        return decoder.submit(() -> getIcon(anchor, path, width, height));
+    }
+
+    /** Drops every cached size of a file, e.g. after a driver uploads a new photo. */
+    public synchronized void invalidate(String path) {
+        if (path == null) return;
+        String prefix = new File(path).getAbsolutePath() + "@";
+        Iterator<Map.Entry<String, ImageIcon>> it = icons.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, ImageIcon> entry = it.next();
+            if (entry.getKey().startsWith(prefix)) {
+                currentBytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        icons.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized int size() {
+        return icons.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    // ==================== INTERNALS ====================
+
+    private synchronized ImageIcon lookup(String key) {
+        return icons.get(key);
+    }
+
+    private synchronized ImageIcon store(String key, ImageIcon icon) {
+        ImageIcon existing = icons.get(key);
+        if (existing != null) return existing;
+
+        long bytes = sizeOf(icon);
+        if (bytes > maxBytes) return icon;
+
+        icons.put(key, icon);
+        currentBytes += bytes;
+
+        Iterator<Map.Entry<String, ImageIcon>> it = icons.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, ImageIcon> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            currentBytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+        return icon;
+    }
+
+    private static long sizeOf(ImageIcon icon) {
+        return 4L * Math.max(1, icon.getIconWidth()) * Math.max(1, icon.getIconHeight());
+    }
+
+    private static String keyFor(Object source, int width, int height) {
+        return source + "@" + width + "x" + height;
+    }
+
+    private static Object resolve(Class<?> anchor, String path) {
+        if (path == null || path.isEmpty()) return null;
+
+        File file = new File(path);
+        if (file.isAbsolute()) {
+            return file.exists() ? file.getAbsoluteFile() : null;
+        }
+
+        URL url = anchor != null ? anchor.getResource(path) : null;
+        if (url != null) return url;
+
+        String[] candidates = { path, "resources/" + path, "../" + path };
+        for (String candidate : candidates) {
+            File f = new File(candidate);
+            if (f.exists()) return f.getAbsoluteFile();
+        }
+        return null;
+    }
+
+    private static BufferedImage decode(Object source) {
+        try {
+            if (source instanceof URL) {
+                return ImageIO.read((URL) source);
+            }
+            return ImageIO.read((File) source);
+        } catch (Exception e) {
+            System.err.println("Could not load image: " + source + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage original, int width, int height) {
+        // ImageIcon waits for the toolkit image to be fully produced before we draw it
+        Image smooth = new ImageIcon(original.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.drawImage(smooth, 0, 0, null);
+        g2d.dispose();
+        return scaled;
+    }
+
+    private static void deliver(Consumer<ImageIcon> callback, ImageIcon icon) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            callback.accept(icon);
+        } else {
+            SwingUtilities.invokeLater(() -> callback.accept(icon));
+        }
+    }
+}
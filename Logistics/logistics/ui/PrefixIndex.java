@@ -0,0 +1,83 @@
+package logistics.ui;
+
+import java.util.*;
+
+/**
+ * Immutable, case-insensitive prefix lookup over a sorted key array. A value can
+ * be reachable through several keys (a driver by id, by full name and by each
+ * word of the name); each value is returned at most once per lookup.
+ */
+public class PrefixIndex<T> {
+    private final String[] keys;
+    private final Object[] values;
+
+    private PrefixIndex(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /** Up to limit values whose keys start with the prefix, in key order. */
+    @SuppressWarnings("unchecked")
+    public List<T> lookup(String prefix, int limit) {
+        if (prefix == null) return Collections.emptyList();
+        String p = normalize(prefix);
+        if (p.isEmpty()) return Collections.emptyList();
+
+        int from = Arrays.binarySearch(keys, p);
+        if (from < 0) from = -from - 1;
+
+        Set<T> result = new LinkedHashSet<>();
+        for (int i = from; i < keys.length && result.size() < limit && keys[i].startsWith(p); i++) {
+            result.add((T) values[i]);
+        }
+        return new ArrayList<>(result);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+        private final List<Map.Entry<String, T>> entries = new ArrayList<>();
+
+        public Builder<T> add(String key, T value) {
+            if (key != null && !key.trim().isEmpty()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(normalize(key), value));
+            }
+            return this;
+        }
+
+        /** Adds the whole text and each of its words as keys for the value. */
+        public Builder<T> addWords(String text, T value) {
+            if (text == null) return this;
+            add(text, value);
+            String[] words = text.trim().split("\\s+");
+            if (words.length > 1) {
+                for (String word : words) {
+                    add(word, value);
+                }
+            }
+            return this;
+        }
+
+        public PrefixIndex<T> build() {
+            // Stable sort keeps insertion order for values sharing a key
+            entries.sort(Map.Entry.comparingByKey());
+            String[] keys = new String[entries.size()];
+            Object[] values = new Object[entries.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = entries.get(i).getKey();
+                values[i] = entries.get(i).getValue();
+            }
+            return new PrefixIndex<>(keys, values);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package logistics.ui;
+
+import javax.swing.*;
+import java.awt.event.AdjustmentListener;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fills a scrollable list one page at a time: the first page is fetched when
+ * the pager is started, and the next one whenever the user scrolls to within
+ * LOAD_AHEAD_PX of the bottom. Pages are fetched on a background thread with a
+ * cursor taken from the last item received, so rows added or removed while the
+ * user scrolls do not shift later pages.
+ *
+ * onPage is called on the EDT and should append the items to the view.
+ */
+public class ScrollPager<T> {
+    private static final int LOAD_AHEAD_PX = 200;
+
+    public interface PageSource<T> {
+        /** Up to limit items following the cursor, or from the start for null. Called off the EDT. */
+        List<T> fetch(String cursor, int limit);
+    }
+
+    private final JScrollPane scrollPane;
+    private final int pageSize;
+    private final PageSource<T> source;
+    private final Function<T, String> cursorOf;
+    private final Consumer<List<T>> onPage;
+    private final AdjustmentListener scrollListener = e -> loadMoreIfNeeded();
+
+    private String cursor;
+    private boolean exhausted;
+    private boolean loading;
+    private int generation;
+
+    public ScrollPager(JScrollPane scrollPane, int pageSize, PageSource<T> source,
+                       Function<T, String> cursorOf, Consumer<List<T>> onPage) {
+        this.scrollPane = scrollPane;
+        this.pageSize = pageSize;
+        this.source = source;
+        this.cursorOf = cursorOf;
+        this.onPage = onPage;
+    }
+
+    /** Starts again from the first page. Call on the EDT. */
+    public void start() {
+        generation++;
+        cursor = null;
+        exhausted = false;
+        loading = false;
+        scrollPane.getVerticalScrollBar().removeAdjustmentListener(scrollListener);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(scrollListener);
+        loadMore();
+    }
+
+    /** Stops listening to the scroll bar and drops any page still being fetched. */
+    public void stop() {
+        generation++;
+        loading = false;
+        scrollPane.getVerticalScrollBar().removeAdjustmentListener(scrollListener);
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    private void loadMoreIfNeeded() {
+        JScrollBar bar = scrollPane.getVerticalScrollBar();
+        if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - LOAD_AHEAD_PX) {
+            loadMore();
+        }
+    }
+
+    private void loadMore() {
+        if (loading || exhausted) return;
+        loading = true;
+
+        int requested = generation;
+        String after = cursor;
+        new SwingWorker<List<T>, Void>() {
+            @Override
+            protected List<T> doInBackground() {
+                return source.fetch(after, pageSize);
+            }
+
+            @Override
+            protected void done() {
+                if (requested != generation) return;
+                loading = false;
+
+                List<T> page;
+                try {
+                    page = get();
+                } catch (Exception e) {
+                    System.err.println("Error loading page: " + e.getMessage());
+                    exhausted = true;
+                    return;
+                }
+
+                if (!page.isEmpty()) {
+                    cursor = cursorOf.apply(page.get(page.size() - 1));
+                }
+                exhausted = page.size() < pageSize;
+                onPage.accept(page);
+
+                // Keep going until the view is filled; layout settles on the next event
+                SwingUtilities.invokeLater(() -> {
+                    if (requested == generation) loadMoreIfNeeded();
+                });
+            }
+        }.execute();
+    }
+}
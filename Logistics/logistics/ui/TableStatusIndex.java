@@ -0,0 +1,195 @@
+package logistics.ui;
+
+import javax.swing.RowFilter;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.TableModel;
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one BitSet of model row ids per distinct value of a status column, plus
+ * one per named flag (e.g. "Tax Expired"), so stat-card filters become a bit
+ * lookup per row instead of a string compare or regex match.
+ *
+ * The index listens to its model: appended and updated rows are re-indexed in
+ * place, anything else marks it dirty and it is rebuilt on the next query.
+ * Like the model itself, it is only meant to be used on the EDT.
+ */
+public class TableStatusIndex {
+    private final TableModel model;
+    private final int statusColumn;
+    private final Map<String, BitSet> statusRows = new HashMap<>();
+    private final Map<String, BiPredicate<TableModel, Integer>> flagRules = new LinkedHashMap<>();
+    private final Map<String, BitSet> flagRows = new HashMap<>();
+    private int indexedRows;
+    private boolean dirty = true;
+    private long version;
+
+    public TableStatusIndex(TableModel model, int statusColumn) {
+        this.model = model;
+        this.statusColumn = statusColumn;
+        model.addTableModelListener(this::onModelChanged);
+    }
+
+    /** Registers a derived flag evaluated once per row when the row is indexed. */
+    public TableStatusIndex addFlag(String name, BiPredicate<TableModel, Integer> rule) {
+        flagRules.put(name, rule);
+        dirty = true;
+        return this;
+    }
+
+    public BitSet rowsWithStatus(String status) {
+        ensureFresh();
+        BitSet rows = statusRows.get(status);
+        return rows != null ? (BitSet) rows.clone() : new BitSet();
+    }
+
+    /** Rows whose status is any of the given values (OR). */
+    public BitSet rowsWithAnyStatus(String... statuses) {
+        ensureFresh();
+        BitSet result = new BitSet(indexedRows);
+        for (String status : statuses) {
+            BitSet rows = statusRows.get(status);
+            if (rows != null) result.or(rows);
+        }
+        return result;
+    }
+
+    public BitSet rowsWithFlag(String flag) {
+        ensureFresh();
+        BitSet rows = flagRows.get(flag);
+        return rows != null ? (BitSet) rows.clone() : new BitSet();
+    }
+
+    public int countStatus(String status) {
+        ensureFresh();
+        BitSet rows = statusRows.get(status);
+        return rows != null ? rows.cardinality() : 0;
+    }
+
+    public int countFlag(String flag) {
+        ensureFresh();
+        BitSet rows = flagRows.get(flag);
+        return rows != null ? rows.cardinality() : 0;
+    }
+
+    public static BitSet and(BitSet first, BitSet... rest) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet b : rest) result.and(b);
+        return result;
+    }
+
+    public static BitSet or(BitSet first, BitSet... rest) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet b : rest) result.or(b);
+        return result;
+    }
+
+    public RowFilter<TableModel, Integer> statusFilter(String... statuses) {
+        return filter(() -> rowsWithAnyStatus(statuses));
+    }
+
+    public RowFilter<TableModel, Integer> flagFilter(String flag) {
+        return filter(() -> rowsWithFlag(flag));
+    }
+
+    /**
+     * Wraps an arbitrary AND/OR combination of the index's bitsets as a RowFilter.
+     * The combination is recomputed only when the index changes, so the filter
+     * stays correct when the sorter re-filters after the table is reloaded.
+     */
+    public RowFilter<TableModel, Integer> filter(Supplier<BitSet> query) {
+        return new RowFilter<TableModel, Integer>() {
+            private long builtFor = -1;
+            private BitSet rows;
+
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                ensureFresh();
+                if (rows == null || builtFor != version) {
+                    rows = query.get();
+                    builtFor = version;
+                }
+                return rows.get(entry.getIdentifier());
+            }
+        };
+    }
+
+    // ==================== INDEX MAINTENANCE ====================
+
+    private void onModelChanged(TableModelEvent e) {
+        if (dirty) return;
+
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE) {
+            markDirty();
+            return;
+        }
+
+        switch (e.getType()) {
+            case TableModelEvent.INSERT:
+                if (first == indexedRows && last == model.getRowCount() - 1) {
+                    for (int row = first; row <= last; row++) {
+                        indexRow(row);
+                    }
+                    indexedRows = last + 1;
+                    version++;
+                } else {
+                    markDirty();
+                }
+                break;
+            case TableModelEvent.UPDATE:
+                if (e.getColumn() == TableModelEvent.ALL_COLUMNS || e.getColumn() == statusColumn || !flagRules.isEmpty()) {
+                    for (int row = first; row <= last && row < indexedRows; row++) {
+                        unindexRow(row);
+                        indexRow(row);
+                    }
+                    version++;
+                }
+                break;
+            default:
+                markDirty();
+        }
+    }
+
+    private void markDirty() {
+        dirty = true;
+        version++;
+    }
+
+    private void ensureFresh() {
+        // Covers row events the sorter may see before this listener does
+        if (model.getRowCount() != indexedRows) dirty = true;
+        if (!dirty) return;
+
+        statusRows.clear();
+        flagRows.clear();
+        int rowCount = model.getRowCount();
+        for (int row = 0; row < rowCount; row++) {
+            indexRow(row);
+        }
+        indexedRows = rowCount;
+        dirty = false;
+        version++;
+    }
+
+    private void indexRow(int row) {
+        Object value = model.getValueAt(row, statusColumn);
+        String status = value != null ? value.toString() : "";
+        statusRows.computeIfAbsent(status, k -> new BitSet()).set(row);
+
+        for (Map.Entry<String, BiPredicate<TableModel, Integer>> flag : flagRules.entrySet()) {
+            BitSet rows = flagRows.computeIfAbsent(flag.getKey(), k -> new BitSet());
+            if (flag.getValue().test(model, row)) {
+                rows.set(row);
+            }
+        }
+    }
+
+    private void unindexRow(int row) {
+        for (BitSet rows : statusRows.values()) rows.clear(row);
+        for (BitSet rows : flagRows.values()) rows.clear(row);
+    }
+}
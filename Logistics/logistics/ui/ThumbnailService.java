@@ -0,0 +1,243 @@
+package logistics.ui;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Generates fixed-size thumbnails for driver and profile photos in the background
+ * and keeps them in THUMBNAIL_DIR so later views can show them without decoding
+ * the full-resolution JPEG. A thumbnail is stale once its source file is newer.
+ */
+public class ThumbnailService {
+    private static final String THUMBNAIL_DIR = "thumbnails";
+    private static final int MEMORY_ENTRIES = 256;
+    private static ThumbnailService instance;
+
+    private final File thumbnailDir;
+    private final Map<String, BufferedImage> memory;
+    private final Map<String, CompletableFuture<BufferedImage>> inFlight;
+    private final ExecutorService workers;
+
+    private ThumbnailService(File thumbnailDir) {
+        this.thumbnailDir = thumbnailDir;
+        this.memory = new LinkedHashMap<String, BufferedImage>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > MEMORY_ENTRIES;
+            }
+        };
+        this.inFlight = new ConcurrentHashMap<>();
+        this.workers = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "thumbnail-worker");
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    public static synchronized ThumbnailService getInstance() {
+        if (instance == null) {
+            instance = new ThumbnailService(new File(THUMBNAIL_DIR));
+        }
+        return instance;
+    }
+
+    /**
+     * Delivers a width x height thumbnail of the photo on the EDT, or null if the
+     * source cannot be read. Fresh thumbnails already in memory are delivered
+     * immediately; anything else is read or generated on a worker thread.
+     */
+    public void requestThumbnail(String photoPath, int width, int height, Consumer<BufferedImage> callback) {
+        File source = photoPath != null && !photoPath.isEmpty() ? new File(photoPath) : null;
+        if (source == null || !source.exists()) {
+            deliver(callback, null);
+            return;
+        }
+
+        BufferedImage cached = fromMemory(source, width, height);
+        if (cached != null) {
+            deliver(callback, cached);
+            return;
+        }
+
+        submit(source, width, height).whenComplete((thumb, error) -> deliver(callback, error == null ? thumb : null));
+    }
+
+    public void requestThumbnailIcon(String photoPath, int width, int height, Consumer<ImageIcon> callback) {
+        requestThumbnail(photoPath, width, height, img -> callback.accept(img != null ? new ImageIcon(img) : null));
+    }
+
+    /** Generates any missing or stale thumbnails for every image in a folder, e.g. driver_photos/. */
+    public void pregenerate(String directory, int width, int height) {
+        File dir = new File(directory);
+        File[] files = dir.listFiles((d, name) -> {
+            String lower = name.toLowerCase();
+            return lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png") || lower.endsWith(".gif");
+        });
+        if (files == null) return;
+
+        for (File file : files) {
+            submit(file, width, height);
+        }
+    }
+
+    /** Removes memory and disk thumbnails for a photo that has been replaced. */
+    public void invalidate(String photoPath) {
+        if (photoPath == null) return;
+        File source = new File(photoPath).getAbsoluteFile();
+        String prefix = source.getPath() + "@";
+        synchronized (memory) {
+            memory.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        String filePrefix = fileStem(source) + "_";
+        File[] stale = thumbnailDir.listFiles((d, name) -> name.startsWith(filePrefix));
+        if (stale != null) {
+            for (File f : stale) {
+                f.delete();
+            }
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    // Concurrent requests for the same thumbnail share one decode
+    private CompletableFuture<BufferedImage> submit(File source, int width, int height) {
+        String key = keyFor(source, width, height);
+        CompletableFuture<BufferedImage> future = inFlight.computeIfAbsent(key,
+            k -> CompletableFuture.supplyAsync(() -> loadOrGenerate(source, width, height), workers));
+        future.whenComplete((thumb, error) -> inFlight.remove(key, future));
+        return future;
+    }
+
+    private BufferedImage loadOrGenerate(File source, int width, int height) {
+        BufferedImage cached = fromMemory(source, width, height);
+        if (cached != null) return cached;
+
+        File thumbFile = thumbnailFile(source, width, height);
+        BufferedImage thumb = null;
+
+        if (thumbFile.exists() && thumbFile.lastModified() >= source.lastModified()) {
+            try {
+                thumb = ImageIO.read(thumbFile);
+            } catch (Exception e) {
+                thumb = null;
+            }
+        }
+
+        if (thumb == null) {
+            thumb = generate(source, width, height);
+            if (thumb == null) return null;
+            persist(thumb, thumbFile);
+        }
+
+        synchronized (memory) {
+            memory.put(keyFor(source, width, height), thumb);
+        }
+        return thumb;
+    }
+
+    private BufferedImage fromMemory(File source, int width, int height) {
+        synchronized (memory) {
+            return memory.get(keyFor(source, width, height));
+        }
+    }
+
+    private static BufferedImage generate(File source, int width, int height) {
+        BufferedImage original;
+        try {
+            original = ImageIO.read(source);
+        } catch (Exception e) {
+            System.err.println("Could not read photo: " + source + " - " + e.getMessage());
+            return null;
+        }
+        if (original == null) return null;
+
+        // Center-crop to the target aspect ratio so faces are not stretched
+        double targetRatio = (double) width / height;
+        int cropW = original.getWidth();
+        int cropH = original.getHeight();
+        if ((double) cropW / cropH > targetRatio) {
+            cropW = (int) Math.round(cropH * targetRatio);
+        } else {
+            cropH = (int) Math.round(cropW / targetRatio);
+        }
+        int x = (original.getWidth() - cropW) / 2;
+        int y = (original.getHeight() - cropH) / 2;
+        BufferedImage cropped = original.getSubimage(x, y, Math.max(1, cropW), Math.max(1, cropH));
+
+        Image smooth = new ImageIcon(cropped.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+        // Transparent PNG avatars keep their alpha; opaque photos get a white background
+        boolean alpha = original.getColorModel().hasAlpha();
+        BufferedImage thumb = new BufferedImage(width, height,
+            alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = thumb.createGraphics();
+        if (!alpha) {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, width, height);
+        }
+        g2d.drawImage(smooth, 0, 0, null);
+        g2d.dispose();
+        return thumb;
+    }
+
+    private void persist(BufferedImage thumb, File thumbFile) {
+        try {
+            if (!thumbnailDir.exists()) {
+                thumbnailDir.mkdirs();
+            }
+            File tempFile = new File(thumbFile.getPath() + ".tmp");
+            ImageIO.write(thumb, "png", tempFile);
+            if (thumbFile.exists()) {
+                thumbFile.delete();
+            }
+            tempFile.renameTo(thumbFile);
+        } catch (Exception e) {
+            System.err.println("Could not save thumbnail: " + thumbFile + " - " + e.getMessage());
+        }
+    }
+
+    private File thumbnailFile(File source, int width, int height) {
+        return new File(thumbnailDir, fileStem(source) + "_" + width + "x" + height + ".png");
+    }
+
+    // SHA-1 of the canonical path, so two photos never share a thumbnail file
+    private static String fileStem(File source) {
+        String path;
+        try {
+            path = source.getCanonicalPath();
+        } catch (IOException e) {
+            path = source.getAbsolutePath();
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(path.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static String keyFor(File source, int width, int height) {
+        return source.getAbsolutePath() + "@" + width + "x" + height + "@" + source.lastModified();
+    }
+
+    private static <T> void deliver(Consumer<T> callback, T value) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            callback.accept(value);
+        } else {
+            SwingUtilities.invokeLater(() -> callback.accept(value));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package logistics.ui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * As-you-type suggestion popup for a text field. Suggestions come from a lookup
+ * function (normally a PrefixIndex) that is fast enough to run on every keystroke.
+ *
+ * Up/Down move through the list, Enter or a click picks the highlighted entry
+ * and Escape closes the popup. While the popup is closed the field's own
+ * Enter action runs as before.
+ */
+public class Typeahead<T> {
+    private static final int MAX_VISIBLE_ROWS = 8;
+
+    private final JTextField field;
+    private final Function<String, List<T>> source;
+    private final Function<T, String> fieldText;
+    private final Consumer<T> onPick;
+    private final DefaultListModel<T> listModel = new DefaultListModel<>();
+    private final JList<T> list = new JList<>(listModel);
+    private final JPopupMenu popup = new JPopupMenu();
+    private boolean picking;
+
+    private Typeahead(JTextField field, Function<String, List<T>> source,
+                      Function<T, String> fieldText, Consumer<T> onPick) {
+        this.field = field;
+        this.source = source;
+        this.fieldText = fieldText;
+        this.onPick = onPick;
+
+        list.setFont(field.getFont());
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                pick(list.locationToIndex(e.getPoint()));
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        popup.setFocusable(false);
+        popup.setLayout(new BorderLayout());
+        popup.add(scrollPane, BorderLayout.CENTER);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { update(); }
+            @Override public void removeUpdate(DocumentEvent e) { update(); }
+            @Override public void changedUpdate(DocumentEvent e) { update(); }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                onKey(e);
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    /**
+     * @param fieldText text put into the field when a suggestion is picked; the
+     *                  list itself shows toString()
+     * @param onPick    called after the field text is set, e.g. to start tracking
+     */
+    public static <T> Typeahead<T> attach(JTextField field, Function<String, List<T>> source,
+                                          Function<T, String> fieldText, Consumer<T> onPick) {
+        return new Typeahead<>(field, source, fieldText, onPick);
+    }
+
+    public void hide() {
+        popup.setVisible(false);
+    }
+
+    // ==================== INTERNALS ====================
+
+    private void update() {
+        if (picking) return;
+        // Document events can arrive while the document is locked; update afterwards
+        SwingUtilities.invokeLater(() -> {
+            if (!field.isShowing()) return;
+
+            List<T> suggestions = source.apply(field.getText());
+            listModel.clear();
+            for (T suggestion : suggestions) {
+                listModel.addElement(suggestion);
+            }
+
+            if (listModel.isEmpty()) {
+                popup.setVisible(false);
+                return;
+            }
+            list.setVisibleRowCount(Math.min(MAX_VISIBLE_ROWS, listModel.size()));
+            list.setSelectedIndex(0);
+            popup.setPopupSize(Math.max(field.getWidth(), list.getPreferredScrollableViewportSize().width + 20),
+                list.getPreferredScrollableViewportSize().height + 6);
+            if (!popup.isVisible()) {
+                popup.show(field, 0, field.getHeight());
+            } else {
+                popup.pack();
+            }
+            field.requestFocusInWindow();
+        });
+    }
+
+    private void onKey(KeyEvent e) {
+        if (!popup.isVisible()) return;
+
+        int selected = list.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN:
+                list.setSelectedIndex(Math.min(selected + 1, listModel.size() - 1));
+                list.ensureIndexIsVisible(list.getSelectedIndex());
+                e.consume();
+                break;
+            case KeyEvent.VK_UP:
+                list.setSelectedIndex(Math.max(selected - 1, 0));
+                list.ensureIndexIsVisible(list.getSelectedIndex());
+                e.consume();
+                break;
+            case KeyEvent.VK_ENTER:
+                pick(selected);
+                e.consume();
+                break;
+            case KeyEvent.VK_ESCAPE:
+                popup.setVisible(false);
+                e.consume();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void pick(int index) {
+        if (index < 0 || index >= listModel.size()) return;
+        T value = listModel.get(index);
+        popup.setVisible(false);
+
+        picking = true;
+        try {
+            field.setText(fieldText.apply(value));
+        } finally {
+            picking = false;
+        }
+        if (onPick != null) {
+            onPick.accept(value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package receiver;
+
+import logistics.orders.Order;
+
+import java.util.Locale;
+
+/**
+ * What a receiver is allowed to see about an order: no sender contact details
+ * and no payment fields.
+ */
+class ReceiverOrderData {
+    String orderId;
+    String customerAddress;
+    String recipientName;
+    String recipientPhone;
+    String recipientAddress;
+    String status;
+    String orderDate;
+    String estimatedDelivery;
+    String driverId;
+    String vehicleId;
+    String notes;
+    String reason;
+    double estimatedCost;
+
+    static ReceiverOrderData fromOrder(Order o) {
+        ReceiverOrderData order = new ReceiverOrderData();
+        
+        // Basic info
+        order.orderId = safeString(o.id);
+        order.customerAddress = safeString(o.customerAddress);
+        order.recipientName = safeString(o.recipientName);
+        order.recipientPhone = safeString(o.recipientPhone);
+        order.recipientAddress = safeString(o.recipientAddress);
+        order.status = safeString(o.status);
+        order.orderDate = safeString(o.orderDate);
+        order.estimatedDelivery = safeString(o.estimatedDelivery);
+        order.driverId = safeString(o.driverId);
+        order.vehicleId = safeString(o.vehicleId);
+        order.notes = safeString(o.notes);
+        order.reason = safeString(o.reason);
+        
+        order.estimatedCost = o.getEstimatedCost();
+        
+        return order;
+    }
+    
+    String toJson() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append('{');
+        appendField(sb, "orderId", orderId).append(',');
+        appendField(sb, "status", status).append(',');
+        appendField(sb, "recipientName", recipientName).append(',');
+        appendField(sb, "recipientPhone", recipientPhone).append(',');
+        appendField(sb, "recipientAddress", recipientAddress).append(',');
+        appendField(sb, "senderAddress", customerAddress).append(',');
+        appendField(sb, "orderDate", orderDate).append(',');
+        appendField(sb, "estimatedDelivery", estimatedDelivery).append(',');
+        appendField(sb, "driverId", driverId).append(',');
+        appendField(sb, "vehicleId", vehicleId).append(',');
+        appendField(sb, "reason", reason).append(',');
+        sb.append("\"estimatedCost\":").append(String.format(Locale.ROOT, "%.2f", estimatedCost));
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    private static StringBuilder appendField(StringBuilder sb, String name, String value) {
+        sb.append('"').append(name).append("\":\"");
+        String s = value != null ? value : "";
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+    
+    private static String safeString(String s) {
+        return s != null ? s : "";
+    }
+}
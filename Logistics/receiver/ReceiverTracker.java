@@ -1,11 +1,13 @@
 // ReceiverTracker.java (Fixed - No conflicts)
 package receiver;
 
+import logistics.ui.AppScheduler;
+import logistics.ui.ImageCache;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -39,8 +41,7 @@ public class ReceiverTracker extends JFrame {
     private JPanel mainCardPanel;
     private JLabel timeLabel;
     
-    // Timer for auto-refresh (using javax.swing.Timer explicitly)
-    private javax.swing.Timer refreshTimer;
+    // Re-tracked by auto-refresh
     private String lastTrackedOrderId = null;
     
     public ReceiverTracker() {
@@ -76,11 +77,9 @@ public class ReceiverTracker extends JFrame {
         leftPanel.setOpaque(false);
         
         // Load logo from logo.rec.png (Receiver logo)
-        ImageIcon logoIcon = loadLogo("logo.rec.png");
+        ImageIcon logoIcon = ImageCache.getInstance().getIcon(getClass(), "logo.rec.png", 50, 50);
         if (logoIcon != null) {
-            Image img = logoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(50, 50, Image.SCALE_SMOOTH);
-            JLabel logoLabel = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoLabel = new JLabel(logoIcon);
             leftPanel.add(logoLabel);
         } else {
             // Fallback text if logo not found
@@ -113,10 +112,9 @@ public class ReceiverTracker extends JFrame {
         timeLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         timeLabel.setForeground(Color.WHITE);
         
-        javax.swing.Timer clockTimer = new javax.swing.Timer(1000, e -> 
+        AppScheduler.getInstance().everyNow(this, "clock", 1000, () ->
             timeLabel.setText(new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss").format(new Date()))
         );
-        clockTimer.start();
         rightPanel.add(timeLabel);
         
         topBar.add(rightPanel, BorderLayout.EAST);
@@ -124,35 +122,6 @@ public class ReceiverTracker extends JFrame {
         return topBar;
     }
     
-    // Add this method to load the logo
-    private ImageIcon loadLogo(String filename) {
-        try {
-            // Try loading from classpath
-            java.net.URL imgURL = getClass().getResource(filename);
-            if (imgURL != null) {
-                return new ImageIcon(imgURL);
-            }
-            // Try loading from file system
-            java.io.File file = new java.io.File(filename);
-            if (file.exists()) {
-                return new ImageIcon(file.getAbsolutePath());
-            }
-            // Try loading from resources folder
-            file = new java.io.File("resources/" + filename);
-            if (file.exists()) {
-                return new ImageIcon(file.getAbsolutePath());
-            }
-            // Try loading from parent directory
-            file = new java.io.File("../" + filename);
-            if (file.exists()) {
-                return new ImageIcon(file.getAbsolutePath());
-            }
-        } catch (Exception e) {
-            System.err.println("Could not load logo: " + e.getMessage());
-        }
-        return null;
-    }
-    
     private JPanel createMainContent() {
         JPanel mainPanel = new JPanel(new BorderLayout(20, 20));
         mainPanel.setBackground(BG_LIGHT);
@@ -321,8 +290,7 @@ public class ReceiverTracker extends JFrame {
         SwingWorker<ReceiverOrderData, Void> worker = new SwingWorker<ReceiverOrderData, Void>() {
             @Override
             protected ReceiverOrderData doInBackground() throws Exception {
-                Thread.sleep(500); // Simulate loading
-                return findOrderByTrackingNumber(trackingNumber);
+                return TrackingService.getInstance().lookup(trackingNumber);
             }
             
             @Override
@@ -343,75 +311,6 @@ public class ReceiverTracker extends JFrame {
         worker.execute();
     }
     
-    private ReceiverOrderData findOrderByTrackingNumber(String trackingNumber) {
-        File file = new File("orders.txt");
-        if (!file.exists()) {
-            return null;
-        }
-        
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                
-                String[] parts = line.split("\\|", -1);
-                if (parts.length > 0 && parts[0].equals(trackingNumber)) {
-                    return parseOrderData(parts);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        
-        return null;
-    }
-    
-    private ReceiverOrderData parseOrderData(String[] parts) {
-        ReceiverOrderData order = new ReceiverOrderData();
-        
-        // Basic info
-        order.orderId = safeString(parts, 0);
-        order.customerAddress = safeString(parts, 4);
-        order.recipientName = safeString(parts, 5);
-        order.recipientPhone = safeString(parts, 6);
-        order.recipientAddress = safeString(parts, 7);
-        order.status = safeString(parts, 8);
-        order.orderDate = safeString(parts, 9);
-        order.estimatedDelivery = safeString(parts, 10);
-        order.driverId = safeString(parts, 12);
-        order.vehicleId = safeString(parts, 13);
-        order.notes = safeString(parts, 16);
-        order.reason = safeString(parts, 17);
-        
-        // Extract cost from notes
-        order.estimatedCost = extractCostFromNotes(order.notes);
-        
-        return order;
-    }
-    
-    private double extractCostFromNotes(String notes) {
-        if (notes == null) return 0;
-        
-        if (notes.contains("Total Amount: RM")) {
-            try {
-                int start = notes.indexOf("Total Amount: RM") + 15;
-                int end = notes.indexOf(";", start);
-                if (end == -1) end = notes.length();
-                String costStr = notes.substring(start, end).trim();
-                costStr = costStr.replaceAll("[^0-9.]", "");
-                if (!costStr.isEmpty()) {
-                    return Double.parseDouble(costStr);
-                }
-            } catch (Exception e) {}
-        }
-        return 0;
-    }
-    
-    private String safeString(String[] parts, int index) {
-        return (parts.length > index && parts[index] != null) ? parts[index] : "";
-    }
-    
     private void showLoading() {
         resultPanel.removeAll();
         
@@ -991,28 +890,11 @@ public class ReceiverTracker extends JFrame {
     }
     
     private void startAutoRefresh() {
-        refreshTimer = new javax.swing.Timer(30000, e -> {
+        AppScheduler.getInstance().every(this, "auto-refresh", 30000, () -> {
             if (lastTrackedOrderId != null && !lastTrackedOrderId.isEmpty()) {
-                SwingUtilities.invokeLater(() -> trackOrder());
+                trackOrder();
             }
         });
-        refreshTimer.start();
-    }
-    
-    private static class ReceiverOrderData {
-        String orderId;
-        String customerAddress;
-        String recipientName;
-        String recipientPhone;
-        String recipientAddress;
-        String status;
-        String orderDate;
-        String estimatedDelivery;
-        String driverId;
-        String vehicleId;
-        String notes;
-        String reason;
-        double estimatedCost;
     }
     
     // Custom rounded border class
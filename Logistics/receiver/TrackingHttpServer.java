@@ -0,0 +1,112 @@
+package receiver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * Optional public tracking endpoint: GET /track/{trackingNumber} returns the
+ * same receiver view as ReceiverTracker, as JSON, from TrackingService.
+ *
+ * Started from Main when -Dtracking.http.port is set, or on its own through
+ * main() without opening any window. Requests run on virtual threads when the
+ * JDK provides them, otherwise on a bounded thread pool.
+ */
+public class TrackingHttpServer {
+    private static final String CONTEXT = "/track/";
+    private static final int MAX_POOL_THREADS = 64;
+    private static final Pattern TRACKING_NUMBER = Pattern.compile("[A-Za-z0-9-]{1,32}");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private TrackingHttpServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext(CONTEXT, this::handleTrack);
+    }
+
+    public static TrackingHttpServer start(int port) throws IOException {
+        TrackingHttpServer trackingServer = new TrackingHttpServer(port);
+        trackingServer.server.start();
+        System.out.println("Tracking endpoint listening on http://localhost:" + port + CONTEXT + "{trackingNumber}");
+        return trackingServer;
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // ==================== REQUEST HANDLING ====================
+
+    private void handleTrack(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, error("Method not allowed"));
+                return;
+            }
+
+            String trackingNumber = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+            if (!TRACKING_NUMBER.matcher(trackingNumber).matches()) {
+                send(exchange, 400, error("Invalid tracking number"));
+                return;
+            }
+
+            ReceiverOrderData order = TrackingService.getInstance().lookup(trackingNumber);
+            if (order == null) {
+                send(exchange, 404, error("Order not found"));
+            } else {
+                send(exchange, 200, order.toJson());
+            }
+        } catch (Exception e) {
+            System.err.println("Tracking request failed: " + e.getMessage());
+            send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + message + "\"}";
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor is JDK 21+; looked up reflectively so this builds on 17
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_POOL_THREADS, MAX_POOL_THREADS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "tracking-http");
+                    t.setDaemon(true);
+                    return t;
+                });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8085;
+        start(port);
+    }
+}
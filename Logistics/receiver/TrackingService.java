@@ -0,0 +1,84 @@
+package receiver;
+
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+
+import java.util.*;
+
+/**
+ * Tracking-number lookups for receivers, served from the shared OrderIndex.
+ *
+ * Results are kept in a bounded LRU, including misses, so repeated lookups of
+ * the same (or a mistyped) number don't rebuild the view. Entries are dropped
+ * when OrderIndex reports that order as changed, which also covers a number
+ * that was unknown and has since been created.
+ */
+public class TrackingService {
+    private static final int MAX_ENTRIES = 1024;
+    private static final ReceiverOrderData NOT_FOUND = new ReceiverOrderData();
+    private static TrackingService instance;
+
+    private final OrderIndex index;
+    private final Map<String, ReceiverOrderData> cache;
+    private long generation;
+
+    private TrackingService(OrderIndex index) {
+        this.index = index;
+        this.cache = new LinkedHashMap<String, ReceiverOrderData>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ReceiverOrderData> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+        index.addListener(this::invalidate);
+    }
+
+    public static synchronized TrackingService getInstance() {
+        if (instance == null) {
+            instance = new TrackingService(OrderIndex.getInstance());
+        }
+        return instance;
+    }
+
+    /** Returns the receiver view of the order, or null if no order has this number. */
+    ReceiverOrderData lookup(String trackingNumber) {
+        if (trackingNumber == null || trackingNumber.isEmpty()) return null;
+
+        // Lets the index pick up outside edits before the cache answers
+        index.get(trackingNumber);
+
+        long seen;
+        synchronized (cache) {
+            ReceiverOrderData cached = cache.get(trackingNumber);
+            if (cached != null) {
+                return cached == NOT_FOUND ? null : cached;
+            }
+            seen = generation;
+        }
+
+        Order order = index.get(trackingNumber);
+        ReceiverOrderData view = order != null ? ReceiverOrderData.fromOrder(order) : null;
+        synchronized (cache) {
+            // Don't cache a view built from an order that was reloaded meanwhile
+            if (generation == seen) {
+                cache.put(trackingNumber, view != null ? view : NOT_FOUND);
+            }
+        }
+        return view;
+    }
+
+    public void invalidate(Set<String> orderIds) {
+        synchronized (cache) {
+            generation++;
+            for (String id : orderIds) {
+                cache.remove(id);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
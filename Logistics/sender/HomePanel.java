@@ -1,5 +1,7 @@
 package sender;
 
+import logistics.ui.AppScheduler;
+
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
@@ -10,7 +12,6 @@ import java.util.Date;
 
 public class HomePanel extends JPanel {
     private SenderDashboard dashboard;
-    private Timer clockTimer;
     private JLabel timeLabel;
     private JLabel dateLabel;
     private JScrollPane mainScrollPane;
@@ -212,14 +213,14 @@ public class HomePanel extends JPanel {
     }
 
     private void startClock() {
-        clockTimer = new Timer(1000, e -> {
+        // Cancelled by the scheduler once this panel is no longer displayable
+        AppScheduler.getInstance().every(this, "clock", 1000, () -> {
             if (timeLabel != null && dateLabel != null) {
                 Date now = new Date();
                 timeLabel.setText(new SimpleDateFormat("HH:mm:ss").format(now));
                 dateLabel.setText(new SimpleDateFormat("EEEE, MMMM d, yyyy").format(now));
             }
         });
-        clockTimer.start();
     }
 
     // ==================== OUR STORY SECTION ====================
@@ -740,14 +741,6 @@ public class HomePanel extends JPanel {
         scrollToTop();
     }
     
-    @Override
-    public void removeNotify() {
-        super.removeNotify();
-        if (clockTimer != null) {
-            clockTimer.stop();
-        }
-    }
-    
     // Custom rounded border class
     class RoundedBorder extends AbstractBorder {
         private int radius;
@@ -10,6 +10,13 @@ import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import logistics.geo.DistanceMatrix;
+import logistics.geo.Location;
+import logistics.orders.EtaModel;
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+import logistics.orders.QuoteEngine;
+import logistics.ui.AppScheduler;
 
 public class NewOrderPanel extends JPanel {
     private SenderDashboard dashboard;
@@ -51,6 +58,7 @@ public class NewOrderPanel extends JPanel {
     private JLabel shippingCostDisplayLabel;
     
     private JLabel distanceLabel;
+    private int estimateGeneration;
     
     private JComboBox<String> paymentMethodCombo;
     private JPanel paymentDetailsPanel;
@@ -65,11 +73,7 @@ public class NewOrderPanel extends JPanel {
     
     private static final String ORDERS_FILE = "orders.txt";
     
-    private static final double INSURANCE_RATE = 0.015;
-    private static final double MIN_INSURANCE = 5.0;
-    private static final double RATE_PER_KG = 4.50;
-    private static final double RATE_PER_KM = 0.25;
-    private static final double BASE_RATE = 5.00;
+    private static final int ESTIMATE_DEBOUNCE_MS = 250;
     
     // Malaysian Banks list sorted alphabetically
     private static final String[] MALAYSIAN_BANKS = {
@@ -345,7 +349,7 @@ public class NewOrderPanel extends JPanel {
         });
         weightPanel.add(weightField, BorderLayout.CENTER);
         
-        JLabel perKgRateLabel = new JLabel("  (RM " + RATE_PER_KG + " per kg)");
+        JLabel perKgRateLabel = new JLabel("  (RM " + QuoteEngine.getInstance().getRates().ratePerKg + " per kg)");
         perKgRateLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));  // Increased font size
         perKgRateLabel.setForeground(new Color(108, 117, 125));
         weightPanel.add(perKgRateLabel, BorderLayout.EAST);
@@ -1725,43 +1729,10 @@ public class NewOrderPanel extends JPanel {
         calculateEstimate();
     }
 
-    private double calculateDistance(String fromState, String toState) {
-        if (fromState == null || toState == null || fromState.isEmpty() || toState.isEmpty()) return 0;
-        if (fromState.equals(toState)) return 50.0;
-        
-        List<String> eastMalaysia = Arrays.asList("Sabah", "Sarawak", "Labuan");
-        List<String> westMalaysia = Arrays.asList("Selangor", "Kuala Lumpur", "Penang", "Johor", "Perak", 
-                "Negeri Sembilan", "Melaka", "Pahang", "Kedah", "Kelantan", "Terengganu", "Perlis");
-        
-        boolean fromEast = eastMalaysia.contains(fromState);
-        boolean toEast = eastMalaysia.contains(toState);
-        
-        if (fromEast != toEast) return 1500.0;
-        
-        if (westMalaysia.contains(fromState) && westMalaysia.contains(toState)) {
-            Map<String, Double> distances = new HashMap<>();
-            distances.put("Penang", 350.0); distances.put("Johor", 320.0); distances.put("Perak", 200.0);
-            distances.put("Negeri Sembilan", 70.0); distances.put("Melaka", 150.0); distances.put("Pahang", 250.0);
-            distances.put("Kedah", 400.0); distances.put("Kelantan", 450.0); distances.put("Terengganu", 400.0);
-            distances.put("Perlis", 450.0);
-            if (distances.containsKey(fromState)) return distances.get(fromState);
-            if (distances.containsKey(toState)) return distances.get(toState);
-        }
-        return 300.0;
+    private static double calculateDistance(Location from, Location to) {
+        return DistanceMatrix.getInstance().km(from, to);
     }
 
-    private double getTypeMultiplier(String type) {
-        if (type == null) return 1.0;
-        if (type.equals("Other") || (customPackageType != null && !customPackageType.isEmpty())) return 1.0;
-        switch(type) {
-            case "Fragile Items": return 1.5;
-            case "Electronics": return 1.3;
-            case "Documents": return 0.8;
-            case "Food": return 1.2;
-            default: return 1.0;
-        }
-    }
-    
     private String getSelectedPackageType() {
         String selected = (String) packageTypeCombo.getSelectedItem();
         if (selected == null) return null;
@@ -1771,55 +1742,129 @@ public class NewOrderPanel extends JPanel {
         return selected;
     }
 
-    private double calculateShippingCost() {
+    /**
+     * Snapshot of the form fields that affect the price, taken on the EDT so the
+     * quote itself can be computed on a worker thread.
+     */
+    private static class EstimateInput {
+        String weightText;
+        String packageType;
+        String pricingType;   // the combo's choice, so custom types pay the plain rate
+        Location from;
+        Location to;
+        boolean express;
+        boolean insured;
+        String declaredText;
+    }
+    
+    private static class EstimateResult {
+        double shippingCost;
+        double insuranceCost;
+        String distanceText; // null leaves the distance label unchanged
+    }
+    
+    // Null until a state is picked; the city and postcode narrow it down when set
+    private static Location selectedLocation(JComboBox<String> stateCombo, JComboBox<String> cityCombo, JTextField postcodeField) {
+        String state = (String) stateCombo.getSelectedItem();
+        if (state == null || state.isEmpty()) return null;
+        return new Location((String) cityCombo.getSelectedItem(), state, postcodeField.getText());
+    }
+    
+    private EstimateInput snapshotEstimateInput() {
+        EstimateInput input = new EstimateInput();
+        input.weightText = weightField.getText().trim();
+        input.packageType = getSelectedPackageType();
+        input.pricingType = (String) packageTypeCombo.getSelectedItem();
+        input.from = selectedLocation(fromStateCombo, fromCityCombo, fromPostcodeField);
+        input.to = selectedLocation(toStateCombo, toCityCombo, toPostcodeField);
+        input.express = expressSpeedRadio.isSelected();
+        input.insured = insuranceCheckBox.isSelected();
+        input.declaredText = declaredValueField.getText().trim();
+        return input;
+    }
+    
+    private static EstimateResult computeEstimate(EstimateInput input) {
+        EstimateResult result = new EstimateResult();
+        result.shippingCost = computeShippingCost(input, result);
+        result.insuranceCost = computeInsuranceCost(input);
+        return result;
+    }
+
+    private static double computeShippingCost(EstimateInput input, EstimateResult result) {
         try {
-            String weightText = weightField.getText().trim();
+            String weightText = input.weightText;
             if (weightText.isEmpty() || weightText.equals("Enter weight in kg")) return 0;
             
             double weight = Double.parseDouble(weightText);
-            String packageType = getSelectedPackageType();
-            String fromState = (String) fromStateCombo.getSelectedItem();
-            String toState = (String) toStateCombo.getSelectedItem();
+            String packageType = input.packageType;
             
-            if (fromState == null || toState == null || fromState.isEmpty() || toState.isEmpty() || packageType == null) {
-                distanceLabel.setText("-- km");
+            if (input.from == null || input.to == null || packageType == null) {
+                result.distanceText = "-- km";
                 return 0;
             }
             
-            double distance = calculateDistance(fromState, toState);
-            distanceLabel.setText(distance > 0 ? String.format("%.0f km", distance) : "-- km");
-            
-            double total = BASE_RATE + (weight * RATE_PER_KG) + (distance * RATE_PER_KM);
-            total *= getTypeMultiplier(packageType);
-            
-            if (expressSpeedRadio.isSelected()) {
-                total *= 1.5;
-            }
+            QuoteEngine.Quote quote = QuoteEngine.getInstance().quote(weight, input.pricingType,
+                input.from, input.to, input.express, 0);
+            double distance = quote.getDistanceKm();
+            result.distanceText = distance > 0 ? String.format("%.0f km", distance) : "-- km";
             
-            return total;
+            return quote.getShippingCost();
         } catch (NumberFormatException e) {
             return 0;
         }
     }
 
-    private double calculateInsuranceCost() {
-        if (!insuranceCheckBox.isSelected()) return 0;
+    private static double computeInsuranceCost(EstimateInput input) {
+        if (!input.insured) return 0;
         try {
-            String declaredStr = declaredValueField.getText().trim();
+            String declaredStr = input.declaredText;
             if (declaredStr.isEmpty() || declaredStr.equals("Enter declared value")) return 0;
-            double declaredValue = Double.parseDouble(declaredStr);
-            return declaredValue <= 0 ? 0 : Math.max(declaredValue * INSURANCE_RATE, MIN_INSURANCE);
+            return QuoteEngine.getInstance().insuranceCost(Double.parseDouble(declaredStr));
         } catch (NumberFormatException e) {
             return 0;
         }
     }
 
+    // Synchronous versions used when the order is actually placed
+    private double calculateShippingCost() {
+        EstimateResult result = new EstimateResult();
+        double cost = computeShippingCost(snapshotEstimateInput(), result);
+        if (result.distanceText != null) distanceLabel.setText(result.distanceText);
+        return cost;
+    }
+
+    private double calculateInsuranceCost() {
+        return computeInsuranceCost(snapshotEstimateInput());
+    }
+
+    /**
+     * Schedules a price refresh. Bursts of keystrokes and combo changes are
+     * coalesced into one quote ESTIMATE_DEBOUNCE_MS after the last edit.
+     */
     private void calculateEstimate() {
-        double shippingCost = calculateShippingCost();
-        double insuranceCost = calculateInsuranceCost();
-        shippingCostDisplayLabel.setText(String.format("RM %.2f", shippingCost));
-        insuranceCostLabel.setText(String.format("RM %.2f", insuranceCost));
-        estimatedCostLabel.setText(String.format("RM %.2f", shippingCost + insuranceCost));
+        AppScheduler.getInstance().runLater(this, "estimate", ESTIMATE_DEBOUNCE_MS, this::runEstimate);
+    }
+
+    private void runEstimate() {
+        EstimateInput input = snapshotEstimateInput();
+        int generation = ++estimateGeneration;
+        
+        new SwingWorker<EstimateResult, Void>() {
+            @Override protected EstimateResult doInBackground() { return computeEstimate(input); }
+            @Override protected void done() {
+                // A newer estimate was started while this one was computing
+                if (generation != estimateGeneration) return;
+                try {
+                    EstimateResult result = get();
+                    if (result.distanceText != null) distanceLabel.setText(result.distanceText);
+                    shippingCostDisplayLabel.setText(String.format("RM %.2f", result.shippingCost));
+                    insuranceCostLabel.setText(String.format("RM %.2f", result.insuranceCost));
+                    estimatedCostLabel.setText(String.format("RM %.2f", result.shippingCost + result.insuranceCost));
+                } catch (Exception e) {
+                    System.err.println("Estimate failed: " + e.getMessage());
+                }
+            }
+        }.execute();
     }
 
     private String generateCustomOrderId() {
@@ -1868,7 +1913,7 @@ public class NewOrderPanel extends JPanel {
             
             try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
                 if (!file.exists() || file.length() == 0) {
-                    writer.println("# id|customerName|customerPhone|customerEmail|customerAddress|recipientName|recipientPhone|recipientAddress|status|orderDate|estimatedDelivery|actualDelivery|driverId|vehicleId|weight|dimensions|notes|reason|pickupTime|deliveryTime|distance|fuelUsed|deliveryPhoto|recipientSignature|onTime|paymentStatus|paymentMethod|transactionId|paymentDate");
+                    writer.println(Order.FILE_HEADER);
                 } else {
                     for (String line : existingLines) {
                         if (!orderExists || line.startsWith("#") || !line.contains(order.getId())) {
@@ -1878,6 +1923,7 @@ public class NewOrderPanel extends JPanel {
                 }
                 writer.println(buildOrderLine(order));
             }
+            OrderIndex.getInstance().reload();
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Error saving order: " + e.getMessage(), "File Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -1886,7 +1932,7 @@ public class NewOrderPanel extends JPanel {
     private String buildOrderLine(SenderOrder order) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm");
         String currentDateTime = sdf.format(new Date());
-        String estimatedDeliveryDate = calculateEstimatedDeliveryDate();
+        String estimatedDeliveryDate = calculateEstimatedDeliveryDate(order);
         String cleanNotes = order.getNotes() != null ? order.getNotes().replace("|", ";").replace("\n", " ").replace("\r", " ") : "";
         
         return String.join("|",
@@ -1894,16 +1940,20 @@ public class NewOrderPanel extends JPanel {
             safeString(order.getCustomerEmail()), safeString(order.getCustomerAddress()),
             safeString(order.getRecipientName()), safeString(order.getRecipientPhone()), safeString(order.getRecipientAddress()),
             "Pending", currentDateTime, estimatedDeliveryDate, "", "", "", String.valueOf(order.getWeight()),
-            safeString(order.getDimensions()), cleanNotes, "", "", "", "0", "0", "", "", "false",
+            safeString(order.getDimensions()), cleanNotes, "", "", "", "", "", "0", "0", "", "", "false",
             "Paid", safeString(order.getPaymentMethod()), safeString(order.getTransactionId()),
-            safeString(order.getPaymentDate() != null ? order.getPaymentDate() : currentDateTime));
+            safeString(order.getPaymentDate() != null ? order.getPaymentDate() : currentDateTime),
+            Order.formatAmount(order.getShippingCost()), Order.formatAmount(order.getInsuranceCost()),
+            Order.formatAmount(order.getTotalAmount()),
+            safeString(order.getPackageType()), order.getServiceLevel(), Order.formatAmount(order.getDeclaredValue()),
+            order.getOrigin().getCity(), order.getOrigin().getState(), order.getOrigin().getPostcode(),
+            order.getDestination().getCity(), order.getDestination().getState(), order.getDestination().getPostcode());
     }
     
-    private String calculateEstimatedDeliveryDate() {
-        int days = standardSpeedRadio.isSelected() ? 3 : 1;
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, days);
-        return new SimpleDateFormat("yyyy-MM-dd").format(cal.getTime());
+    private String calculateEstimatedDeliveryDate(SenderOrder order) {
+        Date estimate = EtaModel.getInstance().estimateDelivery(order.getOrigin(), order.getDestination(),
+            !standardSpeedRadio.isSelected(), null);
+        return new SimpleDateFormat("yyyy-MM-dd").format(estimate);
     }
     
     private String safeString(String s) { return s != null && !s.isEmpty() ? s : ""; }
@@ -2036,25 +2086,31 @@ public class NewOrderPanel extends JPanel {
             String selectedSpeed = expressSpeedRadio.isSelected() ? "Express" : "Standard";
             order.setEstimatedDelivery(expressSpeedRadio.isSelected() ? "Express: 1-2 business days" : "Standard: 3-5 business days");
             
-            double distance = calculateDistance(fromState, toState);
+            double distance = calculateDistance(new Location(fromCity, fromState, fromPostcode),
+                new Location(toCity, toState, toPostcode));
             String packageType = getSelectedPackageType();
+            QuoteEngine.RateTable rates = QuoteEngine.getInstance().getRates();
             
             StringBuilder notes = new StringBuilder();
             notes.append("Package Type: ").append(packageType);
             notes.append("; Shipping Speed: ").append(selectedSpeed);
             notes.append("; Distance: ").append(String.format("%.0f", distance)).append(" km");
-            notes.append("; Rate per kg: RM ").append(RATE_PER_KG);
-            notes.append("; Rate per km: RM ").append(RATE_PER_KM);
-            notes.append("; Base Fee: RM ").append(BASE_RATE);
+            notes.append("; Rate per kg: RM ").append(rates.ratePerKg);
+            notes.append("; Rate per km: RM ").append(rates.ratePerKm);
+            notes.append("; Base Fee: RM ").append(rates.baseRate);
             notes.append("; Weight: ").append(weight).append(" kg");
-            notes.append("; Weight Cost: RM ").append(String.format("%.2f", weight * RATE_PER_KG));
-            notes.append("; Distance Cost: RM ").append(String.format("%.2f", distance * RATE_PER_KM));
+            notes.append("; Weight Cost: RM ").append(String.format("%.2f", weight * rates.ratePerKg));
+            notes.append("; Distance Cost: RM ").append(String.format("%.2f", distance * rates.ratePerKm));
             notes.append("; Shipping Cost: RM ").append(String.format("%.2f", shippingCost));
             notes.append("; Payment Method: ").append(paymentMethod);
             
+            double declaredValue = 0;
             if (insuranceCheckBox.isSelected()) {
                 String declaredVal = declaredValueField.getText().trim();
                 if (declaredVal.equals("Enter declared value")) declaredVal = "";
+                try {
+                    declaredValue = Double.parseDouble(declaredVal);
+                } catch (NumberFormatException e) {}
                 notes.append("; Insurance: YES (Declared Value: RM ").append(declaredVal);
                 notes.append(", Insurance Cost: RM ").append(String.format("%.2f", insuranceCost)).append(")");
             } else {
@@ -2066,6 +2122,14 @@ public class NewOrderPanel extends JPanel {
             if (description.equals("Describe the package contents...")) description = "";
             notes.append("; Description: ").append(description);
             order.setNotes(notes.toString());
+            order.setShippingCost(shippingCost);
+            order.setInsuranceCost(insuranceCost);
+            order.setTotalAmount(totalCost);
+            order.setPackageType(packageType);
+            order.setServiceLevel(selectedSpeed);
+            order.setDeclaredValue(declaredValue);
+            order.setOrigin(new Location(fromCity, fromState, fromPostcode));
+            order.setDestination(new Location(toCity, toState, toPostcode));
             
             JDialog processingDialog = createPaymentProcessingDialog(totalCost, paymentMethod);
             
@@ -2287,7 +2351,7 @@ public class NewOrderPanel extends JPanel {
                 if (declaredValue > 50000) {
                     int confirm = JOptionPane.showConfirmDialog(this,
                         "Declared value is RM " + String.format("%.2f", declaredValue) + 
-                        ". Insurance premium will be RM " + String.format("%.2f", Math.max(declaredValue * INSURANCE_RATE, MIN_INSURANCE)) +
+                        ". Insurance premium will be RM " + String.format("%.2f", QuoteEngine.getInstance().insuranceCost(declaredValue)) +
                         ". Do you want to continue?",
                         "High Value Item",
                         JOptionPane.YES_NO_OPTION);
@@ -10,6 +10,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.ArrayList;
 
+import logistics.ui.ScrollPager;
+
 public class PaymentPanel extends JPanel {
     private SenderDashboard dashboard;
     private JTable paymentsTable;
@@ -19,6 +21,10 @@ public class PaymentPanel extends JPanel {
     private JLabel selectedMethodLabel;
     private JButton payBtn;
     private List<PaymentRecord> paymentRecords;
+    private List<PaymentRecord> pendingRecords;
+    private ScrollPager<SenderOrder> paymentsPager;
+    
+    private static final int PAGE_SIZE = 50;
     
     // Modern color scheme
     private final Color BLUE_PRIMARY = new Color(0, 123, 255);
@@ -34,6 +40,7 @@ public class PaymentPanel extends JPanel {
     public PaymentPanel(SenderDashboard dashboard) {
         this.dashboard = dashboard;
         this.paymentRecords = new ArrayList<>();
+        this.pendingRecords = new ArrayList<>();
         initialize();
     }
 
@@ -179,6 +186,10 @@ public class PaymentPanel extends JPanel {
         scrollPane.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
         scrollPane.getViewport().setBackground(CARD_BG);
         tablePanel.add(scrollPane, BorderLayout.CENTER);
+        
+        paymentsPager = new ScrollPager<>(scrollPane, PAGE_SIZE,
+            (cursor, limit) -> SenderOrderRepository.getInstance().getOrdersPage(dashboard.getSenderEmail(), cursor, limit),
+            SenderOrderRepository::cursorOf, this::appendPaymentRows);
 
         return tablePanel;
     }
@@ -274,54 +285,26 @@ public class PaymentPanel extends JPanel {
     public void refreshData() {
         tableModel.setRowCount(0);
         paymentRecords.clear();
+        pendingRecords.clear();
         
         // Refresh data from main system
         SenderOrderRepository.getInstance().refreshData();
         
         String userEmail = dashboard.getSenderEmail();
-        List<SenderOrder> userOrders = SenderOrderRepository.getInstance().getOrdersByEmail(userEmail);
+        SenderOrderRepository repository = SenderOrderRepository.getInstance();
         
-        
-        if (!userOrders.isEmpty()) {
-            int paymentCounter = 1;
-            for (SenderOrder order : userOrders) {
-                double amount = extractCostFromOrder(order);
-                String paymentStatus = order.getPaymentStatus() != null ? order.getPaymentStatus() : "Pending";
-                String transactionId = order.getTransactionId() != null ? order.getTransactionId() : 
-                                      ("Paid".equals(paymentStatus) ? generateTransactionId(order) : 
-                                      ("Pending".equals(paymentStatus) ? "Pending" : "-"));
-                String paymentMethod = order.getPaymentMethod() != null && !"Not Selected".equals(order.getPaymentMethod()) ?
-                                       order.getPaymentMethod() : (String) methodCombo.getSelectedItem();
-                String paymentDate = order.getPaymentDate() != null ? order.getPaymentDate() : order.getOrderDate();
-                
-                PaymentRecord record = new PaymentRecord(
-                    "PAY-" + String.format("%03d", paymentCounter),
-                    order.getId(),
-                    amount,
-                    paymentDate,
-                    paymentStatus,
-                    paymentMethod,
-                    transactionId
-                );
-                
-                paymentRecords.add(record);
-                
-                String[] row = {
-                    record.paymentId,
-                    record.orderId,
-                    String.format("RM %.2f", record.amount),
-                    record.date,
-                    record.status,
-                    record.method,
-                    record.transactionId
-                };
-                
-                tableModel.addRow(row);
-                paymentCounter++;
+        // The balance and the Pay button cover every pending order, not only the rows loaded so far
+        for (SenderOrder order : repository.getOrdersByEmail(userEmail)) {
+            PaymentRecord record = createRecord(order, 0);
+            if ("Pending".equals(record.status)) {
+                pendingRecords.add(record);
             }
         }
         
-        if (userOrders.isEmpty()) {
+        if (repository.getOrderCount(userEmail) > 0) {
+            paymentsPager.start();
+        } else {
+            paymentsPager.stop();
             String[] emptyMessage = {
                 "No payments yet",
                 "-",
@@ -337,6 +320,46 @@ public class PaymentPanel extends JPanel {
         updateBalance();
         updatePayButtonState();
     }
+    
+    private void appendPaymentRows(List<SenderOrder> page) {
+        for (SenderOrder order : page) {
+            PaymentRecord record = createRecord(order, paymentRecords.size() + 1);
+            paymentRecords.add(record);
+            
+            String[] row = {
+                record.paymentId,
+                record.orderId,
+                String.format("RM %.2f", record.amount),
+                record.date,
+                record.status,
+                record.method,
+                record.transactionId
+            };
+            
+            tableModel.addRow(row);
+        }
+    }
+    
+    private PaymentRecord createRecord(SenderOrder order, int paymentNumber) {
+        double amount = extractCostFromOrder(order);
+        String paymentStatus = order.getPaymentStatus() != null ? order.getPaymentStatus() : "Pending";
+        String transactionId = order.getTransactionId() != null ? order.getTransactionId() : 
+                              ("Paid".equals(paymentStatus) ? generateTransactionId(order) : 
+                              ("Pending".equals(paymentStatus) ? "Pending" : "-"));
+        String paymentMethod = order.getPaymentMethod() != null && !"Not Selected".equals(order.getPaymentMethod()) ?
+                               order.getPaymentMethod() : (String) methodCombo.getSelectedItem();
+        String paymentDate = order.getPaymentDate() != null ? order.getPaymentDate() : order.getOrderDate();
+        
+        return new PaymentRecord(
+            "PAY-" + String.format("%03d", paymentNumber),
+            order.getId(),
+            amount,
+            paymentDate,
+            paymentStatus,
+            paymentMethod,
+            transactionId
+        );
+    }
 
     private double extractCostFromOrder(SenderOrder order) {
         // Use the helper method from SenderOrder
@@ -349,7 +372,7 @@ public class PaymentPanel extends JPanel {
 
     private void updateBalance() {
         double balance = 0;
-        for (PaymentRecord record : paymentRecords) {
+        for (PaymentRecord record : pendingRecords) {
             if ("Pending".equals(record.status)) {
                 balance += record.amount;
             }
@@ -365,7 +388,7 @@ public class PaymentPanel extends JPanel {
 
     private void updatePayButtonState() {
         boolean hasPending = false;
-        for (PaymentRecord record : paymentRecords) {
+        for (PaymentRecord record : pendingRecords) {
             if ("Pending".equals(record.status)) {
                 hasPending = true;
                 break;
@@ -384,16 +407,16 @@ public class PaymentPanel extends JPanel {
 
     private void payOutstanding() {
         double totalPending = 0;
-        List<PaymentRecord> pendingRecords = new ArrayList<>();
+        List<PaymentRecord> toPay = new ArrayList<>();
         
-        for (PaymentRecord record : paymentRecords) {
+        for (PaymentRecord record : pendingRecords) {
             if ("Pending".equals(record.status)) {
                 totalPending += record.amount;
-                pendingRecords.add(record);
+                toPay.add(record);
             }
         }
 
-        if (pendingRecords.isEmpty()) {
+        if (toPay.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
                 "No outstanding payments to process", 
                 "Information", JOptionPane.INFORMATION_MESSAGE);
@@ -407,7 +430,7 @@ public class PaymentPanel extends JPanel {
             "Payment Method: %s\n\n" +
             "Orders to be paid: %d\n\n" +
             "Process payment?",
-            totalPending, selectedMethod, pendingRecords.size()
+            totalPending, selectedMethod, toPay.size()
         );
 
         int confirm = JOptionPane.showConfirmDialog(this, 
@@ -415,11 +438,11 @@ public class PaymentPanel extends JPanel {
             "Confirm Payment", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            processPayment(pendingRecords, selectedMethod, totalPending);
+            processPayment(toPay, selectedMethod, totalPending);
         }
     }
 
-    private void processPayment(List<PaymentRecord> pendingRecords, String paymentMethod, double amount) {
+    private void processPayment(List<PaymentRecord> toPay, String paymentMethod, double amount) {
         JDialog processingDialog = createProcessingDialog();
         
         SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
@@ -436,7 +459,7 @@ public class PaymentPanel extends JPanel {
                 String transactionId = "TXN" + System.currentTimeMillis();
                 String paymentDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
                 
-                for (PaymentRecord record : pendingRecords) {
+                for (PaymentRecord record : toPay) {
                     record.status = "Paid";
                     record.method = paymentMethod;
                     record.transactionId = transactionId;
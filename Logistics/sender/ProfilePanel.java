@@ -9,7 +9,9 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.*;
 import java.util.List;
-import javax.imageio.ImageIO;
+import logistics.orders.Order;
+import logistics.ui.AppScheduler;
+import logistics.ui.ThumbnailService;
 
 public class ProfilePanel extends JPanel {
     private SenderDashboard dashboard;
@@ -358,31 +360,20 @@ public class ProfilePanel extends JPanel {
         fileChooser.setFileFilter(new FileNameExtensionFilter("Image Files", "jpg", "jpeg", "png", "gif"));
         
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                File file = fileChooser.getSelectedFile();
-                BufferedImage original = ImageIO.read(file);
-                if (original != null) {
-                    profileImage = resizeImage(original, AVATAR_SIZE, AVATAR_SIZE);
+            File file = fileChooser.getSelectedFile();
+            // Decoding and scaling happen on the thumbnail worker, not the EDT
+            ThumbnailService.getInstance().requestThumbnail(file.getPath(), AVATAR_SIZE, AVATAR_SIZE, thumb -> {
+                if (thumb != null) {
+                    profileImage = thumb;
                     avatarComponent.setImage(profileImage);
                     JOptionPane.showMessageDialog(this, "Profile picture updated successfully!");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Error loading image: " + file.getName());
                 }
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Error loading image: " + ex.getMessage());
-            }
+            });
         }
     }
     
-    private BufferedImage resizeImage(BufferedImage original, int width, int height) {
-        Image tmp = original.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = resized.createGraphics();
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.drawImage(tmp, 0, 0, null);
-        g2d.dispose();
-        return resized;
-    }
-    
     private void sendVerificationEmail() {
         JOptionPane.showMessageDialog(this, 
             "Verification email sent to " + dashboard.getSenderEmail() + 
@@ -1236,7 +1227,6 @@ public class ProfilePanel extends JPanel {
     class StatisticsPanel extends JPanel {
         private SenderDashboard dashboard;
         private JPanel statsGridPanel;
-        private javax.swing.Timer refreshTimer;
         
         public StatisticsPanel(SenderDashboard dashboard) {
             this.dashboard = dashboard;
@@ -1319,42 +1309,13 @@ public class ProfilePanel extends JPanel {
         }
         
         private double extractTotalCostFromOrder(SenderOrder order) {
-            // First try from notes field
-            String notes = order.getNotes();
-            if (notes != null && !notes.isEmpty()) {
-                // Look for Total Amount
-                if (notes.contains("Total Amount: RM")) {
-                    try {
-                        int start = notes.indexOf("Total Amount: RM") + 15;
-                        int end = notes.indexOf(";", start);
-                        if (end == -1) end = notes.indexOf("|", start);
-                        if (end == -1) end = notes.length();
-                        String costStr = notes.substring(start, end).trim();
-                        costStr = costStr.replaceAll("[^0-9.]", "");
-                        if (!costStr.isEmpty()) {
-                            return Double.parseDouble(costStr);
-                        }
-                    } catch (Exception e) {}
-                }
-                
-                // Look for Total Cost
-                if (notes.contains("Total Cost: RM")) {
-                    try {
-                        int start = notes.indexOf("Total Cost: RM") + 14;
-                        int end = notes.indexOf(";", start);
-                        if (end == -1) end = notes.indexOf("|", start);
-                        if (end == -1) end = notes.length();
-                        String costStr = notes.substring(start, end).trim();
-                        costStr = costStr.replaceAll("[^0-9.]", "");
-                        if (!costStr.isEmpty()) {
-                            return Double.parseDouble(costStr);
-                        }
-                    } catch (Exception e) {}
-                }
+            if (order.getTotalAmount() > 0) {
+                return order.getTotalAmount();
             }
             
-            // Fallback to estimated cost from SenderOrder
-            return order.getEstimatedCost();
+            // Older orders may only have a "Total Cost" in the notes
+            double noted = Order.amountFromNotes(order.getNotes(), "Total Cost: RM");
+            return noted > 0 ? noted : order.getEstimatedCost();
         }
         
         private String getMemberSinceDate(List<SenderOrder> orders) {
@@ -1426,16 +1387,11 @@ public class ProfilePanel extends JPanel {
         
         private void startAutoRefresh() {
             // Refresh statistics every 30 seconds
-            refreshTimer = new javax.swing.Timer(30000, e -> {
-                SwingUtilities.invokeLater(() -> refreshStats());
-            });
-            refreshTimer.start();
+            AppScheduler.getInstance().every(this, "stats-refresh", 30000, this::refreshStats);
         }
         
         public void stopAutoRefresh() {
-            if (refreshTimer != null) {
-                refreshTimer.stop();
-            }
+            AppScheduler.getInstance().cancel(this, "stats-refresh");
         }
     }
 }
\ No newline at end of file
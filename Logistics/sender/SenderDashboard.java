@@ -1,6 +1,8 @@
 package sender;
 
 import logistics.login.Login;
+import logistics.ui.AppScheduler;
+import logistics.ui.ImageCache;
 
 import javax.swing.*;
 import java.awt.*;
@@ -56,9 +58,6 @@ public class SenderDashboard extends JFrame {
     private int deliveredOrders = 0;
     private int pendingPayments = 0;
     private double totalSpent = 0.0;
-    
-    // Timer for auto-refresh
-    private Timer refreshTimer;
 
     // Constructor with user data
     public SenderDashboard(String name, String email, String phone, String username) {
@@ -102,48 +101,7 @@ public class SenderDashboard extends JFrame {
     }
 
     private void initializeStats() {
-        List<SenderOrder> userOrders = SenderOrderRepository.getInstance().getOrdersByEmail(senderEmail);
-        
-        activeOrders = 0;
-        deliveredOrders = 0;
-        pendingPayments = 0;
-        totalSpent = 0.0;
-        
-        System.out.println("Initializing stats for " + senderEmail + " with " + userOrders.size() + " orders");
-        
-        for (SenderOrder order : userOrders) {
-            // Count active orders (not delivered and not cancelled)
-            if (!"Delivered".equals(order.getStatus()) && !"Cancelled".equals(order.getStatus())) {
-                activeOrders++;
-                System.out.println("  Active order: " + order.getId() + " - Status: " + order.getStatus());
-            }
-            
-            // Count delivered orders
-            if ("Delivered".equals(order.getStatus())) {
-                deliveredOrders++;
-                System.out.println("  Delivered order: " + order.getId());
-            }
-            
-            // Count pending payments - FIX: Check payment status correctly
-            if ("Pending".equals(order.getPaymentStatus())) {
-                pendingPayments++;
-                System.out.println("  Pending payment order: " + order.getId() + " - Payment Status: " + order.getPaymentStatus());
-            } else {
-                System.out.println("  Order " + order.getId() + " payment status: " + order.getPaymentStatus());
-            }
-            
-            // Calculate total spent from paid orders only
-            if ("Paid".equals(order.getPaymentStatus())) {
-                double cost = order.getEstimatedCost();
-                totalSpent += cost;
-                System.out.println("  Paid order amount: RM " + cost);
-            }
-        }
-        
-        System.out.println("Stats - Active: " + activeOrders + 
-                           ", Delivered: " + deliveredOrders + 
-                           ", Pending Payments: " + pendingPayments + 
-                           ", Total Spent: RM " + String.format("%.2f", totalSpent));
+        refreshStats();
     }
 
     private void initialize() {
@@ -201,11 +159,9 @@ public class SenderDashboard extends JFrame {
         leftPanel.setOpaque(false);
 
         // Load and display logo in top bar
-        ImageIcon logoIcon = loadLogo("logos.png");
+        ImageIcon logoIcon = ImageCache.getInstance().getIcon(getClass(), "logos.png", 45, 45);
         if (logoIcon != null) {
-            Image img = logoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(45, 45, Image.SCALE_SMOOTH);
-            JLabel logoImage = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoImage = new JLabel(logoIcon);
             leftPanel.add(logoImage);
         } else {
             // Fallback text if logo not found
@@ -241,10 +197,9 @@ public class SenderDashboard extends JFrame {
         timeLabel.setForeground(Color.WHITE);
         timePanel.add(timeLabel);
 
-        Timer timer = new Timer(1000, e -> 
+        AppScheduler.getInstance().everyNow(this, "clock", 1000, () ->
             timeLabel.setText(new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss").format(new Date()))
         );
-        timer.start();
 
         rightPanel.add(timePanel);
 
@@ -271,11 +226,9 @@ public class SenderDashboard extends JFrame {
         logoPanel.setBorder(BorderFactory.createEmptyBorder(30, 15, 25, 15));
 
         // Load and display logo in sidebar
-        ImageIcon logoIcon = loadLogo("logos.png");
+        ImageIcon logoIcon = ImageCache.getInstance().getIcon(getClass(), "logos.png", 80, 80);
         if (logoIcon != null) {
-            Image img = logoIcon.getImage();
-            Image resizedImg = img.getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-            JLabel logoImage = new JLabel(new ImageIcon(resizedImg));
+            JLabel logoImage = new JLabel(logoIcon);
             logoImage.setHorizontalAlignment(SwingConstants.CENTER);
             logoPanel.add(logoImage, BorderLayout.NORTH);
         } else {
@@ -456,42 +409,6 @@ public class SenderDashboard extends JFrame {
         return btn;
     }
 
-    /**
-     * Loads an image from file
-     * @param path The path to the image file
-     * @return ImageIcon if successful, null if failed
-     */
-    private ImageIcon loadLogo(String path) {
-        try {
-            // Try loading from classpath (same package)
-            java.net.URL imgURL = getClass().getResource(path);
-            if (imgURL != null) {
-                return new ImageIcon(imgURL);
-            } else {
-                // Try loading from file system
-                java.io.File file = new java.io.File(path);
-                if (file.exists()) {
-                    return new ImageIcon(file.getAbsolutePath());
-                }
-                
-                // Try loading from parent directory
-                file = new java.io.File("../" + path);
-                if (file.exists()) {
-                    return new ImageIcon(file.getAbsolutePath());
-                }
-                
-                // Try loading from resources folder
-                file = new java.io.File("resources/" + path);
-                if (file.exists()) {
-                    return new ImageIcon(file.getAbsolutePath());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Could not load logo: " + e.getMessage());
-        }
-        return null;
-    }
-
     private void createContentPanel() {
         cardLayout = new CardLayout();
         contentPanel = new JPanel(cardLayout);
@@ -516,11 +433,10 @@ public class SenderDashboard extends JFrame {
         status.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         status.setForeground(TEXT_GRAY);
         
-        Timer statusTimer = new Timer(1000, e -> 
+        AppScheduler.getInstance().every(this, "status-bar", 1000, () ->
             status.setText("  System Status: Connected | Last updated: " + 
                 new SimpleDateFormat("HH:mm:ss").format(new Date()))
         );
-        statusTimer.start();
         
         statusBar.add(status, BorderLayout.WEST);
 
@@ -563,11 +479,7 @@ public class SenderDashboard extends JFrame {
             JOptionPane.QUESTION_MESSAGE);
             
         if (confirm == JOptionPane.YES_OPTION) {
-            // Stop auto-refresh timer
-            if (refreshTimer != null) {
-                refreshTimer.stop();
-            }
-            
+            // Disposing the frame cancels its scheduled jobs
             dispose();
             SwingUtilities.invokeLater(() -> {
                 Login login = new Login();
@@ -580,12 +492,7 @@ public class SenderDashboard extends JFrame {
      * Start auto-refresh timer to keep data in sync
      */
     private void startAutoRefresh() {
-        refreshTimer = new Timer(30000, e -> {
-            SwingUtilities.invokeLater(() -> {
-                refreshAllData();
-            });
-        });
-        refreshTimer.start();
+        AppScheduler.getInstance().every(this, "auto-refresh", 30000, this::refreshAllData);
     }
 
     /**
@@ -627,43 +534,12 @@ public class SenderDashboard extends JFrame {
      * Refresh statistics from current data - FIXED VERSION
      */
     public void refreshStats() {
-        List<SenderOrder> userOrders = SenderOrderRepository.getInstance().getOrdersByEmail(senderEmail);
-        
-        activeOrders = 0;
-        deliveredOrders = 0;
-        pendingPayments = 0;
-        totalSpent = 0.0;
-        
-        System.out.println("Refreshing stats for " + senderEmail + " - Total orders: " + userOrders.size());
-        
-        for (SenderOrder order : userOrders) {
-            // Count active orders (not delivered and not cancelled)
-            if (!"Delivered".equals(order.getStatus()) && !"Cancelled".equals(order.getStatus())) {
-                activeOrders++;
-                System.out.println("  Active order: " + order.getId() + " - Status: " + order.getStatus());
-            }
-            
-            // Count delivered orders
-            if ("Delivered".equals(order.getStatus())) {
-                deliveredOrders++;
-                System.out.println("  Delivered order: " + order.getId());
-            }
-            
-            // Count pending payments - FIX: Check payment status correctly
-            if ("Pending".equals(order.getPaymentStatus())) {
-                pendingPayments++;
-                System.out.println("  Pending payment order: " + order.getId() + " - Payment Status: " + order.getPaymentStatus());
-            } else {
-                System.out.println("  Order " + order.getId() + " payment status: " + order.getPaymentStatus());
-            }
-            
-            // Calculate total spent from paid orders only
-            if ("Paid".equals(order.getPaymentStatus())) {
-                double cost = order.getEstimatedCost();
-                totalSpent += cost;
-                System.out.println("  Paid order amount: RM " + cost);
-            }
-        }
+        // Maintained by the repository as orders change, so this does not scan the orders
+        SenderStats stats = SenderOrderRepository.getInstance().getStats(senderEmail);
+        activeOrders = stats.getActiveOrders();
+        deliveredOrders = stats.getDeliveredOrders();
+        pendingPayments = stats.getPendingPayments();
+        totalSpent = stats.getTotalSpent();
         
         System.out.println("Stats refreshed - Active: " + activeOrders + 
                            ", Delivered: " + deliveredOrders + 
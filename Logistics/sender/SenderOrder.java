@@ -3,6 +3,9 @@ package sender;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import logistics.geo.Location;
+import logistics.orders.Order;
+
 public class SenderOrder {
     private String id;
     private String customerName;
@@ -23,6 +26,18 @@ public class SenderOrder {
     private String transactionId;
     private String paymentDate;
     
+    // Amounts charged, in RM
+    private double shippingCost;
+    private double insuranceCost;
+    private double totalAmount;
+    
+    // Null until set or loaded; getters fall back to the notes for orders built in memory
+    private String packageType;
+    private String serviceLevel;
+    private double declaredValue;
+    private Location origin;
+    private Location destination;
+    
     // New fields for tracking
     private String driverId;
     private String vehicleId;
@@ -109,6 +124,47 @@ public class SenderOrder {
     public String getPaymentDate() { return paymentDate; }
     public void setPaymentDate(String paymentDate) { this.paymentDate = paymentDate; }
     
+    public double getShippingCost() { return shippingCost; }
+    public void setShippingCost(double shippingCost) { this.shippingCost = shippingCost; }
+    
+    public double getInsuranceCost() { return insuranceCost; }
+    public void setInsuranceCost(double insuranceCost) { this.insuranceCost = insuranceCost; }
+    
+    public double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(double totalAmount) { this.totalAmount = totalAmount; }
+    
+    public void setPackageType(String packageType) { this.packageType = packageType; }
+    
+    /** "Express" or "Standard". */
+    public String getServiceLevel() {
+        if (serviceLevel != null) return serviceLevel;
+        String noted = Order.textFromNotes(notes, Order.SERVICE_LEVEL_LABEL);
+        return Order.normalizeServiceLevel(noted != null ? noted : estimatedDelivery);
+    }
+    public void setServiceLevel(String serviceLevel) {
+        this.serviceLevel = serviceLevel != null ? Order.normalizeServiceLevel(serviceLevel) : null;
+    }
+    
+    public boolean isExpress() {
+        return Order.SERVICE_EXPRESS.equals(getServiceLevel());
+    }
+    
+    /** Value declared for insurance, or 0 if the order is not insured. */
+    public double getDeclaredValue() { return declaredValue; }
+    public void setDeclaredValue(double declaredValue) { this.declaredValue = declaredValue; }
+    
+    /** Pickup location, parsed from the sender address if it was not set. */
+    public Location getOrigin() {
+        return origin != null ? origin : Location.parse(customerAddress);
+    }
+    public void setOrigin(Location origin) { this.origin = origin; }
+    
+    /** Delivery location, parsed from the recipient address if it was not set. */
+    public Location getDestination() {
+        return destination != null ? destination : Location.parse(recipientAddress);
+    }
+    public void setDestination(Location destination) { this.destination = destination; }
+    
     public String getDriverId() { return driverId; }
     public void setDriverId(String driverId) { this.driverId = driverId; }
     
@@ -116,9 +172,12 @@ public class SenderOrder {
     public void setVehicleId(String vehicleId) { this.vehicleId = vehicleId; }
     
     /**
-     * Extract package type from notes
+     * Package type, from the notes if it was not set
      */
     public String getPackageType() {
+        if (packageType != null && !packageType.isEmpty()) {
+            return packageType;
+        }
         if (notes != null && !notes.isEmpty()) {
             if (notes.contains("Package Type:")) {
                 String[] parts = notes.split(";");
@@ -143,9 +202,12 @@ public class SenderOrder {
     }
     
     /**
-     * Extract estimated cost from notes
+     * The order's total amount; falls back to an "Estimated Cost" in the notes
      */
     public double getEstimatedCost() {
+        if (totalAmount > 0) {
+            return totalAmount;
+        }
         if (notes != null && !notes.isEmpty()) {
             if (notes.contains("Estimated Cost:")) {
                 String[] parts = notes.split(";");
@@ -240,6 +302,9 @@ public class SenderOrder {
         
         String cleanNotes = notes != null ? notes.replace("\n", " ").replace("\r", " ").replace("|", ";") : "";
         sb.append(cleanNotes).append("|");
+        // reason, pickupTime, inTransitTime, outForDeliveryTime, deliveryTime: courier side only
+        sb.append("|");
+        sb.append("|");
         sb.append("|");
         sb.append("|");
         sb.append("|");
@@ -251,11 +316,26 @@ public class SenderOrder {
         sb.append(safeString(paymentStatus)).append("|");
         sb.append(safeString(paymentMethod)).append("|");
         sb.append(safeString(transactionId)).append("|");
-        sb.append(safeString(paymentDate));
+        sb.append(safeString(paymentDate)).append("|");
+        sb.append(Order.formatAmount(shippingCost)).append("|");
+        sb.append(Order.formatAmount(insuranceCost)).append("|");
+        sb.append(Order.formatAmount(totalAmount)).append("|");
+        sb.append(safeString(getPackageType())).append("|");
+        sb.append(getServiceLevel()).append("|");
+        sb.append(Order.formatAmount(declaredValue)).append("|");
+        appendLocation(sb, getOrigin());
+        sb.append("|");
+        appendLocation(sb, getDestination());
         
         return sb.toString();
     }
     
+    private static void appendLocation(StringBuilder sb, Location location) {
+        sb.append(location.getCity()).append("|");
+        sb.append(location.getState()).append("|");
+        sb.append(location.getPostcode());
+    }
+    
     private String safeString(String s) {
         return s != null && !s.isEmpty() ? s : "";
     }
@@ -1,14 +1,37 @@
 package sender;
 
+import logistics.ContactIndex;
+import logistics.geo.Location;
+import logistics.orders.Order;
+import logistics.orders.OrderIndex;
+
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class SenderOrderRepository {
     private static final String ORDER_FILE = "orders.txt";
     private static SenderOrderRepository instance;
+    
+    // Newest first; the cursor of a page is the (orderDate, id) of its last order
+    private static final Comparator<SenderOrder> NEWEST_FIRST =
+        Comparator.comparing((SenderOrder o) -> safeKey(o.getOrderDate()))
+            .thenComparing(o -> safeKey(o.getId()))
+            .reversed();
+    
     private List<SenderOrder> orders;
+    // Normalized email -> that sender's orders, newest first. Each list is replaced, never
+    // modified, so background page fetches can read it while the EDT changes orders
+    private volatile Map<String, List<SenderOrder>> ordersByEmail = new ConcurrentHashMap<>();
+    private volatile Map<String, SenderStats> statsByEmail = new ConcurrentHashMap<>();
+    private long loadedModified = -1;
+    private long loadedLength = -1;
     
     private SenderOrderRepository() {
         orders = new ArrayList<>();
@@ -16,7 +39,7 @@ public class SenderOrderRepository {
         System.out.println("SenderOrderRepository initialized. Loaded " + orders.size() + " orders from orders.txt");
     }
     
-    public static SenderOrderRepository getInstance() {
+    public static synchronized SenderOrderRepository getInstance() {
         if (instance == null) {
             instance = new SenderOrderRepository();
         }
@@ -30,6 +53,8 @@ public class SenderOrderRepository {
         if (!file.exists()) {
             System.out.println("Orders file not found at: " + file.getAbsolutePath());
             System.out.println("Will create orders.txt when first order is placed.");
+            ordersByEmail = new ConcurrentHashMap<>();
+            statsByEmail = new ConcurrentHashMap<>();
             return;
         }
         
@@ -67,11 +92,74 @@ public class SenderOrderRepository {
             System.out.println("Error loading orders: " + e.getMessage());
             e.printStackTrace();
         }
+        
+        loadedModified = file.lastModified();
+        loadedLength = file.length();
+        rebuildEmailIndex();
+    }
+    
+    // Full rebuild after a load, or after a save of orders that may have been changed directly
+    private void rebuildEmailIndex() {
+        Map<String, List<SenderOrder>> index = new ConcurrentHashMap<>();
+        Map<String, SenderStats> stats = new ConcurrentHashMap<>();
+        for (SenderOrder order : orders) {
+            String key = ContactIndex.normalizeEmail(order.getCustomerEmail());
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(order);
+                stats.computeIfAbsent(key, k -> new SenderStats()).put(order);
+            }
+        }
+        for (Map.Entry<String, List<SenderOrder>> entry : index.entrySet()) {
+            entry.getValue().sort(NEWEST_FIRST);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        ordersByEmail = index;
+        statsByEmail = stats;
+    }
+    
+    // The incremental versions, for changes made through this repository
+    
+    private void indexAdded(SenderOrder order) {
+        String key = ContactIndex.normalizeEmail(order.getCustomerEmail());
+        if (key == null) return;
+        
+        List<SenderOrder> bucket = new ArrayList<>(ordersByEmail.getOrDefault(key, Collections.emptyList()));
+        int at = Collections.binarySearch(bucket, order, NEWEST_FIRST);
+        bucket.add(at < 0 ? -at - 1 : at, order);
+        ordersByEmail.put(key, Collections.unmodifiableList(bucket));
+        statsByEmail.computeIfAbsent(key, k -> new SenderStats()).put(order);
+    }
+    
+    private void indexRemoved(SenderOrder order) {
+        String key = ContactIndex.normalizeEmail(order.getCustomerEmail());
+        if (key == null) return;
+        
+        List<SenderOrder> bucket = new ArrayList<>(ordersByEmail.getOrDefault(key, Collections.emptyList()));
+        bucket.removeIf(o -> o == order);
+        ordersByEmail.put(key, Collections.unmodifiableList(bucket));
+        SenderStats stats = statsByEmail.get(key);
+        if (stats != null) stats.remove(order.getId());
+    }
+    
+    private void indexUpdated(SenderOrder order) {
+        String key = ContactIndex.normalizeEmail(order.getCustomerEmail());
+        if (key == null) return;
+        statsByEmail.computeIfAbsent(key, k -> new SenderStats()).put(order);
+    }
+    
+    private List<SenderOrder> indexedOrders(String email) {
+        String key = ContactIndex.normalizeEmail(email);
+        if (key == null) return Collections.emptyList();
+        return ordersByEmail.getOrDefault(key, Collections.emptyList());
+    }
+    
+    private static String safeKey(String s) {
+        return s != null ? s : "";
     }
     
     /**
-     * Parse order from the full 29-field format
-     * FIXED: Correct field index mapping for status at index 8
+     * Parse an order line; see Order.FILE_HEADER for the columns. Older lines written
+     * by the sender screens had 29 columns, with the payment fields at 25-28.
      */
     private SenderOrder parseOrderFromString(String line) {
         try {
@@ -85,37 +173,6 @@ public class SenderOrderRepository {
             
             SenderOrder order = new SenderOrder();
             
-            // Field indices (0-based) based on Order.java toFileString():
-            // 0: id
-            // 1: customerName
-            // 2: customerPhone
-            // 3: customerEmail
-            // 4: customerAddress
-            // 5: recipientName
-            // 6: recipientPhone
-            // 7: recipientAddress
-            // 8: status ← CRITICAL FIX: Status is at index 8
-            // 9: orderDate
-            // 10: estimatedDelivery
-            // 11: actualDelivery (skip)
-            // 12: driverId
-            // 13: vehicleId
-            // 14: weight
-            // 15: dimensions
-            // 16: notes
-            // 17: reason (skip)
-            // 18: pickupTime (skip)
-            // 19: deliveryTime (skip)
-            // 20: distance (skip)
-            // 21: fuelUsed (skip)
-            // 22: deliveryPhoto (skip)
-            // 23: recipientSignature (skip)
-            // 24: onTime (skip)
-            // 25: paymentStatus
-            // 26: paymentMethod
-            // 27: transactionId
-            // 28: paymentDate
-            
             order.setId(parts[0]);
             order.setCustomerName(parts[1]);
             order.setCustomerPhone(parts[2]);
@@ -156,23 +213,50 @@ public class SenderOrderRepository {
             // Notes at index 16
             order.setNotes(parts[16].isEmpty() ? null : parts[16]);
             
-            // Payment fields at indices 25-28
-            if (parts.length > 25) {
-                order.setPaymentStatus(parts[25].isEmpty() ? "Pending" : parts[25]);
+            // Payment fields at indices 27-30, or 25-28 in the old sender layout
+            int pay = parts.length <= 29 ? 25 : 27;
+            if (parts.length > pay) {
+                order.setPaymentStatus(parts[pay].isEmpty() ? "Pending" : parts[pay]);
             } else {
                 order.setPaymentStatus("Pending");
             }
             
-            if (parts.length > 26) {
-                order.setPaymentMethod(parts[26].isEmpty() ? null : parts[26]);
+            if (parts.length > pay + 1) {
+                order.setPaymentMethod(parts[pay + 1].isEmpty() ? null : parts[pay + 1]);
             }
             
-            if (parts.length > 27) {
-                order.setTransactionId(parts[27].isEmpty() ? null : parts[27]);
+            if (parts.length > pay + 2) {
+                order.setTransactionId(parts[pay + 2].isEmpty() ? null : parts[pay + 2]);
             }
             
-            if (parts.length > 28) {
-                order.setPaymentDate(parts[28].isEmpty() ? null : parts[28]);
+            if (parts.length > pay + 3) {
+                order.setPaymentDate(parts[pay + 3].isEmpty() ? null : parts[pay + 3]);
+            }
+            
+            // Amounts at 31-33; lines from before those columns only have them in the notes
+            if (parts.length > 33) {
+                order.setShippingCost(Order.parseAmount(parts, 31));
+                order.setInsuranceCost(Order.parseAmount(parts, 32));
+                order.setTotalAmount(Order.parseAmount(parts, 33));
+            } else {
+                order.setShippingCost(Order.amountFromNotes(parts[16], Order.SHIPPING_COST_LABEL));
+                order.setInsuranceCost(Order.amountFromNotes(parts[16], Order.INSURANCE_COST_LABEL));
+                order.setTotalAmount(Order.amountFromNotes(parts[16], Order.TOTAL_AMOUNT_LABEL));
+            }
+            
+            // Package type, service level and declared value at 34-36; same fallback
+            if (parts.length > 36) {
+                order.setPackageType(parts[34].isEmpty() ? null : parts[34]);
+                order.setServiceLevel(parts[35].isEmpty() ? null : parts[35]);
+                order.setDeclaredValue(Order.parseAmount(parts, 36));
+            } else {
+                order.setDeclaredValue(Order.amountFromNotes(parts[16], Order.DECLARED_VALUE_LABEL));
+            }
+            
+            // Origin and destination city|state|postcode at 37-42; otherwise parsed from the addresses
+            if (parts.length > 42) {
+                order.setOrigin(new Location(parts[37], parts[38], parts[39]));
+                order.setDestination(new Location(parts[40], parts[41], parts[42]));
             }
             
             return order;
@@ -185,47 +269,17 @@ public class SenderOrderRepository {
     }
     
     private String orderToString(SenderOrder order) {
-        String cleanNotes = order.getNotes() != null ? 
-            order.getNotes().replace("\n", " ").replace("\r", " ") : "";
-        
-        return String.join("|",
-            safeString(order.getId()),
-            safeString(order.getCustomerName()),
-            safeString(order.getCustomerPhone()),
-            safeString(order.getCustomerEmail()),
-            safeString(order.getCustomerAddress()),
-            safeString(order.getRecipientName()),
-            safeString(order.getRecipientPhone()),
-            safeString(order.getRecipientAddress()),
-            safeString(order.getStatus()),
-            safeString(order.getOrderDate()),
-            safeString(order.getEstimatedDelivery()),
-            "",
-            safeString(order.getDriverId()),
-            safeString(order.getVehicleId()),
-            String.valueOf(order.getWeight()),
-            safeString(order.getDimensions()),
-            cleanNotes,
-            "",
-            "",
-            "",
-            "0",
-            "0",
-            "",
-            "",
-            "false",
-            safeString(order.getPaymentStatus()),
-            safeString(order.getPaymentMethod()),
-            safeString(order.getTransactionId()),
-            safeString(order.getPaymentDate())
-        );
-    }
-    
-    private String safeString(String s) {
-        return s != null && !s.isEmpty() ? s : "";
+        return order.toMainSystemFormat();
     }
     
+    /** Writes every order and re-indexes them all; use after changing SenderOrder objects directly. */
     public void saveOrders() {
+        if (writeOrders()) {
+            rebuildEmailIndex();
+        }
+    }
+    
+    private boolean writeOrders() {
         try {
             File file = new File(ORDER_FILE);
             System.out.println("Saving orders to: " + file.getAbsolutePath());
@@ -240,7 +294,7 @@ public class SenderOrderRepository {
             
             try (BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile))) {
                 // Write header
-                bw.write("# id|customerName|customerPhone|customerEmail|customerAddress|recipientName|recipientPhone|recipientAddress|status|orderDate|estimatedDelivery|actualDelivery|driverId|vehicleId|weight|dimensions|notes|reason|pickupTime|deliveryTime|distance|fuelUsed|deliveryPhoto|recipientSignature|onTime|paymentStatus|paymentMethod|transactionId|paymentDate");
+                bw.write(Order.FILE_HEADER);
                 bw.newLine();
                 
                 // Write all orders
@@ -259,10 +313,15 @@ public class SenderOrderRepository {
             tempFile.renameTo(file);
             
             System.out.println("Saved " + orders.size() + " orders to " + file.getAbsolutePath());
+            loadedModified = file.lastModified();
+            loadedLength = file.length();
+            OrderIndex.getInstance().reload();
+            return true;
             
         } catch (IOException e) {
             System.out.println("Error saving orders: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
     
@@ -271,7 +330,8 @@ public class SenderOrderRepository {
             SenderOrder existing = getOrderById(order.getId());
             if (existing == null) {
                 orders.add(order);
-                saveOrders();
+                indexAdded(order);
+                writeOrders();
                 System.out.println("Order added: " + order.getId() + " for " + order.getCustomerEmail());
             } else {
                 System.out.println("Order already exists, not adding duplicate: " + order.getId());
@@ -324,7 +384,8 @@ public class SenderOrderRepository {
         
         if (removed) {
             // Save updated orders to file
-            saveOrders();
+            indexRemoved(orderToDelete);
+            writeOrders();
             System.out.println("Order deleted successfully: " + orderId);
             
             // Force reload to verify
@@ -362,12 +423,11 @@ public class SenderOrderRepository {
         return new ArrayList<>(orders);
     }
     
+    /** Every order placed with the email, newest first. */
     public List<SenderOrder> getOrdersByEmail(String email) {
         if (email == null) return new ArrayList<>();
         
-        List<SenderOrder> result = orders.stream()
-            .filter(o -> email.equalsIgnoreCase(o.getCustomerEmail()))
-            .collect(Collectors.toList());
+        List<SenderOrder> result = new ArrayList<>(indexedOrders(email));
         
         System.out.println("getOrdersByEmail(" + email + ") found " + result.size() + " orders");
         
@@ -385,6 +445,43 @@ public class SenderOrderRepository {
         return result;
     }
     
+    public int getOrderCount(String email) {
+        return indexedOrders(email).size();
+    }
+    
+    /**
+     * Up to limit of the sender's orders, newest first, following the order whose
+     * cursorOf() is afterCursor (null for the first page). Safe to call off the EDT.
+     */
+    public List<SenderOrder> getOrdersPage(String email, String afterCursor, int limit) {
+        List<SenderOrder> all = indexedOrders(email);
+        
+        int from = 0;
+        if (afterCursor != null) {
+            int split = afterCursor.indexOf('|');
+            String date = afterCursor.substring(0, Math.max(split, 0));
+            String id = afterCursor.substring(split + 1);
+            
+            // First order older than the cursor; still correct if that order was deleted
+            int lo = 0, hi = all.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                SenderOrder o = all.get(mid);
+                int c = safeKey(o.getOrderDate()).compareTo(date);
+                if (c == 0) c = safeKey(o.getId()).compareTo(id);
+                if (c >= 0) lo = mid + 1; else hi = mid;
+            }
+            from = lo;
+        }
+        
+        int to = Math.min(all.size(), from + limit);
+        return new ArrayList<>(all.subList(from, to));
+    }
+    
+    public static String cursorOf(SenderOrder order) {
+        return safeKey(order.getOrderDate()) + "|" + safeKey(order.getId());
+    }
+    
     public SenderOrder getOrderById(String orderId) {
         if (orderId == null) return null;
         
@@ -417,7 +514,8 @@ public class SenderOrderRepository {
         
         if (order != null) {
             order.setStatus(newStatus);
-            saveOrders();
+            indexUpdated(order);
+            writeOrders();
             
             try {
                 logistics.orders.OrderStorage mainStorage = new logistics.orders.OrderStorage();
@@ -441,7 +539,8 @@ public class SenderOrderRepository {
         
         if (order != null && !"Delivered".equals(order.getStatus()) && !"Cancelled".equals(order.getStatus())) {
             order.setStatus("Cancelled");
-            saveOrders();
+            indexUpdated(order);
+            writeOrders();
             
             try {
                 logistics.orders.OrderStorage mainStorage = new logistics.orders.OrderStorage();
@@ -469,7 +568,8 @@ public class SenderOrderRepository {
             order.setPaymentMethod(paymentMethod);
             order.setTransactionId(transactionId);
             order.setPaymentDate(paymentDate);
-            saveOrders();
+            indexUpdated(order);
+            writeOrders();
             
             try {
                 logistics.orders.OrderStorage mainStorage = new logistics.orders.OrderStorage();
@@ -491,45 +591,35 @@ public class SenderOrderRepository {
         return false;
     }
     
+    /** The sender's running totals; read-only for callers, kept current by this repository. */
+    public SenderStats getStats(String email) {
+        String key = ContactIndex.normalizeEmail(email);
+        SenderStats stats = key != null ? statsByEmail.get(key) : null;
+        return stats != null ? stats : new SenderStats();
+    }
+    
     public int getActiveOrders(String email) {
-        return (int) getOrdersByEmail(email).stream()
-            .filter(o -> !"Delivered".equals(o.getStatus()) && !"Cancelled".equals(o.getStatus()) && !"Failed".equals(o.getStatus()))
-            .count();
+        return getStats(email).getActiveOrders();
     }
     
     public int getDeliveredOrders(String email) {
-        return (int) getOrdersByEmail(email).stream()
-            .filter(o -> "Delivered".equals(o.getStatus()))
-            .count();
+        return getStats(email).getDeliveredOrders();
     }
     
     public int getPendingPayments(String email) {
-        List<SenderOrder> orders = getOrdersByEmail(email);
-        int pendingCount = (int) orders.stream()
-            .filter(o -> "Pending".equals(o.getPaymentStatus()))
-            .count();
-        
-        System.out.println("getPendingPayments(" + email + ") = " + pendingCount);
-        for (SenderOrder order : orders) {
-            if ("Pending".equals(order.getPaymentStatus())) {
-                System.out.println("  - Order " + order.getId() + " has pending payment");
-            }
-        }
-        return pendingCount;
+        return getStats(email).getPendingPayments();
     }
     
     public double getTotalSpent(String email) {
-        List<SenderOrder> orders = getOrdersByEmail(email);
-        double total = orders.stream()
-            .filter(o -> "Paid".equals(o.getPaymentStatus()))
-            .mapToDouble(o -> o.getEstimatedCost())
-            .sum();
-        
-        System.out.println("getTotalSpent(" + email + ") = RM " + total);
-        return total;
+        return getStats(email).getTotalSpent();
     }
     
+    /** Re-reads orders.txt if it changed since it was last loaded or saved here. */
     public void refreshData() {
+        File file = new File(ORDER_FILE);
+        if (file.lastModified() == loadedModified && file.length() == loadedLength) {
+            return;
+        }
         System.out.println("Refreshing sender data from main orders file...");
         loadOrders();
     }
@@ -0,0 +1,79 @@
+package sender;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running order totals for one sender, kept up to date by SenderOrderRepository
+ * as orders are added, removed and updated.
+ *
+ * What each order contributed is remembered by id, so replacing or removing an
+ * order takes back exactly what was counted for it, even if the SenderOrder
+ * object was changed in between. Money is summed in whole sen to avoid drift.
+ */
+public class SenderStats {
+    private final Map<String, Counted> countedById = new HashMap<>();
+    private int activeOrders;
+    private int deliveredOrders;
+    private int pendingPayments;
+    private long spentSen;
+
+    public int getTotalOrders() {
+        return countedById.size();
+    }
+
+    /** Orders that are not Delivered, Cancelled or Failed. */
+    public int getActiveOrders() {
+        return activeOrders;
+    }
+
+    public int getDeliveredOrders() {
+        return deliveredOrders;
+    }
+
+    public int getPendingPayments() {
+        return pendingPayments;
+    }
+
+    /** Estimated cost of the orders that have been paid. */
+    public double getTotalSpent() {
+        return spentSen / 100.0;
+    }
+
+    /** Counts the order, replacing whatever was counted for its id before. */
+    void put(SenderOrder order) {
+        remove(order.getId());
+        Counted counted = new Counted(order);
+        countedById.put(order.getId(), counted);
+        apply(counted, 1);
+    }
+
+    void remove(String orderId) {
+        Counted counted = countedById.remove(orderId);
+        if (counted != null) {
+            apply(counted, -1);
+        }
+    }
+
+    private void apply(Counted counted, int sign) {
+        if (counted.active) activeOrders += sign;
+        if (counted.delivered) deliveredOrders += sign;
+        if (counted.pendingPayment) pendingPayments += sign;
+        spentSen += sign * counted.paidSen;
+    }
+
+    private static class Counted {
+        final boolean active;
+        final boolean delivered;
+        final boolean pendingPayment;
+        final long paidSen;
+
+        Counted(SenderOrder order) {
+            String status = order.getStatus();
+            active = !"Delivered".equals(status) && !"Cancelled".equals(status) && !"Failed".equals(status);
+            delivered = "Delivered".equals(status);
+            pendingPayment = "Pending".equals(order.getPaymentStatus());
+            paidSen = "Paid".equals(order.getPaymentStatus()) ? Math.round(order.getEstimatedCost() * 100) : 0;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package sender;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.BufferedReader;
@@ -11,15 +13,23 @@ import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
-import java.util.Timer;
+import logistics.ui.AppScheduler;
+import logistics.ui.PrefixIndex;
+import logistics.ui.ScrollPager;
+import logistics.ui.Typeahead;
 
 public class TrackOrderPanel extends JPanel {
     private SenderDashboard dashboard;
     
     // Tracking components
     private JPanel trackingResultPanel;
+    private JScrollPane resultScrollPane;
+    private ScrollPager<SenderOrder> ordersPager;
+    private static final int ORDERS_PAGE_SIZE = 20;
     private JButton myOrdersBtn;
     private JPanel searchPanel;
+    private JTextField trackingField;
+    private PrefixIndex<String> ownOrderIds = PrefixIndex.<String>builder().build();
     
     // Cache for driver details
     private Map<String, DriverInfo> driverCache;
@@ -63,7 +73,6 @@ public class TrackOrderPanel extends JPanel {
         this.driverCache = new HashMap<>();
         initialize();
         loadDriverCache();
-        startAutoRefresh();
     }
 
     private void loadDriverCache() {
@@ -196,12 +205,12 @@ public class TrackOrderPanel extends JPanel {
         // Start with welcome message (fresh state)
         showWelcomeMessage();
 
-        JScrollPane scrollPane = new JScrollPane(trackingResultPanel);
-        scrollPane.setBorder(null);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        scrollPane.getViewport().setBackground(CARD_BG);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        resultScrollPane = new JScrollPane(trackingResultPanel);
+        resultScrollPane.setBorder(null);
+        resultScrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        resultScrollPane.getViewport().setBackground(CARD_BG);
+        resultScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        mainPanel.add(resultScrollPane, BorderLayout.CENTER);
 
         return mainPanel;
     }
@@ -219,14 +228,40 @@ public class TrackOrderPanel extends JPanel {
         gbc.anchor = GridBagConstraints.CENTER;
         gbc.fill = GridBagConstraints.NONE;
         
-        JLabel infoLabel = new JLabel("Click on any order below to track it");
+        JLabel infoLabel = new JLabel("Click on any order below to track it, or enter a tracking number:");
         infoLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         infoLabel.setForeground(TEXT_GRAY);
         panel.add(infoLabel, gbc);
         
+        gbc.gridx = 1;
+        trackingField = new JTextField(16);
+        trackingField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        trackingField.setBorder(BorderFactory.createCompoundBorder(
+            new RoundedBorder(8, BORDER_COLOR),
+            BorderFactory.createEmptyBorder(8, 12, 8, 12)
+        ));
+        trackingField.addActionListener(e -> displayTrackingResult(trackingField.getText().trim()));
+        // The sender's own order ids, refreshed each time the field is used
+        trackingField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                refreshOwnOrderIds();
+            }
+        });
+        Typeahead.attach(trackingField, text -> ownOrderIds.lookup(text, 8), id -> id, this::displayTrackingResult);
+        panel.add(trackingField, gbc);
+        
         return panel;
     }
     
+    private void refreshOwnOrderIds() {
+        PrefixIndex.Builder<String> builder = PrefixIndex.builder();
+        for (SenderOrder order : SenderOrderRepository.getInstance().getOrdersByEmail(dashboard.getSenderEmail())) {
+            builder.add(order.getId(), order.getId());
+        }
+        ownOrderIds = builder.build();
+    }
+    
     private JButton createModernButton(String text, Color bgColor, int fontSize) {
         JButton button = new JButton(text);
         button.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
@@ -263,6 +298,7 @@ public class TrackOrderPanel extends JPanel {
     }
 
     private void showWelcomeMessage() {
+        stopOrdersPager();
         trackingResultPanel.removeAll();
         
         // Welcome card
@@ -315,7 +351,8 @@ public class TrackOrderPanel extends JPanel {
 
     private void showRecentOrdersList() {
         String userEmail = dashboard.getSenderEmail();
-        List<SenderOrder> userOrders = SenderOrderRepository.getInstance().getOrdersByEmail(userEmail);
+        SenderOrderRepository repository = SenderOrderRepository.getInstance();
+        int orderCount = repository.getOrderCount(userEmail);
         
         // Section header
         JPanel headerPanel = new JPanel(new BorderLayout());
@@ -329,7 +366,7 @@ public class TrackOrderPanel extends JPanel {
         recentLabel.setForeground(TEXT_DARK);
         headerPanel.add(recentLabel, BorderLayout.WEST);
         
-        JLabel countLabel = new JLabel("(" + userOrders.size() + " orders)");
+        JLabel countLabel = new JLabel("(" + orderCount + " orders)");
         countLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         countLabel.setForeground(TEXT_GRAY);
         headerPanel.add(countLabel, BorderLayout.EAST);
@@ -337,11 +374,9 @@ public class TrackOrderPanel extends JPanel {
         trackingResultPanel.add(headerPanel);
         trackingResultPanel.add(Box.createVerticalStrut(10));
         
-        if (!userOrders.isEmpty()) {
-            // Show last 5 orders
-            int startIndex = Math.max(0, userOrders.size() - 5);
-            for (int i = startIndex; i < userOrders.size(); i++) {
-                SenderOrder order = userOrders.get(i);
+        if (orderCount > 0) {
+            // Show the 5 newest orders
+            for (SenderOrder order : repository.getOrdersPage(userEmail, null, 5)) {
                 JPanel orderCard = createOrderCard(order);
                 orderCard.setAlignmentX(Component.CENTER_ALIGNMENT);
                 trackingResultPanel.add(orderCard);
@@ -429,7 +464,7 @@ public class TrackOrderPanel extends JPanel {
         statusLabel.setForeground(getStatusColor(order.getStatus()));
         centerPanel.add(statusLabel);
         
-        double totalCost = extractTotalCostFromNotes(order);
+        double totalCost = totalCostOf(order);
         JLabel costLabel = new JLabel(String.format("RM %.2f", totalCost));
         costLabel.setFont(new Font("Segoe UI", Font.BOLD, 12));
         costLabel.setForeground(SUCCESS_GREEN);
@@ -442,17 +477,11 @@ public class TrackOrderPanel extends JPanel {
         JPanel rightPanel = new JPanel(new GridLayout(2, 1, 2, 4));
         rightPanel.setOpaque(false);
         
-        String shippingSpeed = extractShippingSpeed(order.getNotes());
-        if (shippingSpeed != null) {
-            JLabel speedLabel = new JLabel(shippingSpeed.equals("Express") ? "Express" : "Standard");
-            speedLabel.setFont(new Font("Segoe UI", Font.PLAIN, 10));
-            speedLabel.setForeground(shippingSpeed.equals("Express") ? ORANGE : TEXT_GRAY);
-            speedLabel.setHorizontalAlignment(SwingConstants.RIGHT);
-            rightPanel.add(speedLabel);
-        } else {
-            JLabel spacerLabel = new JLabel(" ");
-            rightPanel.add(spacerLabel);
-        }
+        JLabel speedLabel = new JLabel(order.getServiceLevel());
+        speedLabel.setFont(new Font("Segoe UI", Font.PLAIN, 10));
+        speedLabel.setForeground(order.isExpress() ? ORANGE : TEXT_GRAY);
+        speedLabel.setHorizontalAlignment(SwingConstants.RIGHT);
+        rightPanel.add(speedLabel);
         
         String orderDate = formatDateShort(order.getOrderDate());
         JLabel dateLabel = new JLabel(orderDate);
@@ -499,10 +528,11 @@ public class TrackOrderPanel extends JPanel {
     }
 
     private void showMyRecentOrders() {
+        stopOrdersPager();
         trackingResultPanel.removeAll();
         
         String userEmail = dashboard.getSenderEmail();
-        List<SenderOrder> userOrders = SenderOrderRepository.getInstance().getOrdersByEmail(userEmail);
+        SenderOrderRepository repository = SenderOrderRepository.getInstance();
         
         // Header
         JPanel headerCard = new JPanel();
@@ -526,16 +556,27 @@ public class TrackOrderPanel extends JPanel {
         trackingResultPanel.add(headerCard);
         trackingResultPanel.add(Box.createVerticalStrut(15));
         
-        if (!userOrders.isEmpty()) {
-            List<SenderOrder> sortedOrders = new ArrayList<>(userOrders);
-            sortedOrders.sort((a, b) -> b.getOrderDate().compareTo(a.getOrderDate()));
+        if (repository.getOrderCount(userEmail) > 0) {
+            // Newest first, a page at a time as the list is scrolled
+            JPanel ordersListPanel = new JPanel();
+            ordersListPanel.setLayout(new BoxLayout(ordersListPanel, BoxLayout.Y_AXIS));
+            ordersListPanel.setBackground(CARD_BG);
+            ordersListPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            trackingResultPanel.add(ordersListPanel);
             
-            for (SenderOrder order : sortedOrders) {
-                JPanel orderCard = createOrderCard(order);
-                orderCard.setAlignmentX(Component.CENTER_ALIGNMENT);
-                trackingResultPanel.add(orderCard);
-                trackingResultPanel.add(Box.createVerticalStrut(8));
-            }
+            ordersPager = new ScrollPager<>(resultScrollPane, ORDERS_PAGE_SIZE,
+                (cursor, limit) -> repository.getOrdersPage(userEmail, cursor, limit),
+                SenderOrderRepository::cursorOf, page -> {
+                    for (SenderOrder order : page) {
+                        JPanel orderCard = createOrderCard(order);
+                        orderCard.setAlignmentX(Component.CENTER_ALIGNMENT);
+                        ordersListPanel.add(orderCard);
+                        ordersListPanel.add(Box.createVerticalStrut(8));
+                    }
+                    ordersListPanel.revalidate();
+                    ordersListPanel.repaint();
+                });
+            ordersPager.start();
         } else {
             JPanel emptyCard = new JPanel();
             emptyCard.setLayout(new BoxLayout(emptyCard, BoxLayout.Y_AXIS));
@@ -571,6 +612,13 @@ public class TrackOrderPanel extends JPanel {
         trackingResultPanel.repaint();
     }
 
+    private void stopOrdersPager() {
+        if (ordersPager != null) {
+            ordersPager.stop();
+            ordersPager = null;
+        }
+    }
+
     private void addBackButton() {
         JButton backBtn = new JButton("Back to Search");
         backBtn.setFont(new Font("Segoe UI", Font.BOLD, 12));
@@ -602,6 +650,7 @@ public class TrackOrderPanel extends JPanel {
             return;
         }
 
+        stopOrdersPager();
         trackingResultPanel.removeAll();
         
         // Show loading indicator
@@ -620,39 +669,32 @@ public class TrackOrderPanel extends JPanel {
         trackingResultPanel.revalidate();
         trackingResultPanel.repaint();
         
-        // Simulate loading
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                SwingUtilities.invokeLater(() -> {
-                    trackingResultPanel.removeAll();
-                    
-                    SenderOrderRepository.getInstance().refreshData();
-                    SenderOrder currentOrder = SenderOrderRepository.getInstance().getOrderById(trackingNumber);
-                    String userEmail = dashboard.getSenderEmail();
+        // Simulate loading; a newer lookup replaces one that has not fired yet
+        AppScheduler.getInstance().runLater(this, "track-lookup", 500, () -> {
+            trackingResultPanel.removeAll();
+            
+            SenderOrderRepository.getInstance().refreshData();
+            SenderOrder currentOrder = SenderOrderRepository.getInstance().getOrderById(trackingNumber);
+            String userEmail = dashboard.getSenderEmail();
 
-                    if (currentOrder == null) {
-                        showOrderNotFound(trackingNumber);
-                    } else {
-                        boolean isAuthorized = currentOrder.getCustomerEmail() != null && 
-                                               userEmail != null && 
-                                               currentOrder.getCustomerEmail().trim().equalsIgnoreCase(userEmail.trim());
-                        
-                        
-                        if (isAuthorized) {
-                            displayOrderTrackingDetails(currentOrder);
-                        } else {
-                            showUnauthorizedMessage();
-                        }
-                    }
-                    
-                    trackingResultPanel.revalidate();
-                    trackingResultPanel.repaint();
-                });
-                timer.cancel();
+            if (currentOrder == null) {
+                showOrderNotFound(trackingNumber);
+            } else {
+                boolean isAuthorized = currentOrder.getCustomerEmail() != null && 
+                                       userEmail != null && 
+                                       currentOrder.getCustomerEmail().trim().equalsIgnoreCase(userEmail.trim());
+                
+                
+                if (isAuthorized) {
+                    displayOrderTrackingDetails(currentOrder);
+                } else {
+                    showUnauthorizedMessage();
+                }
             }
-        }, 500);
+            
+            trackingResultPanel.revalidate();
+            trackingResultPanel.repaint();
+        });
     }
 
     private void showOrderNotFound(String trackingNumber) {
@@ -820,7 +862,7 @@ public class TrackOrderPanel extends JPanel {
         dateLabel.setHorizontalAlignment(SwingConstants.RIGHT);
         rightPanel.add(dateLabel);
         
-        double totalCost = extractTotalCostFromNotes(order);
+        double totalCost = totalCostOf(order);
         JLabel costLabel = new JLabel(String.format("RM %.2f", totalCost));
         costLabel.setFont(new Font("Segoe UI", Font.BOLD, 22));
         costLabel.setForeground(SUCCESS_GREEN);
@@ -1202,9 +1244,9 @@ public class TrackOrderPanel extends JPanel {
     }
     
     private JPanel createCostBreakdownPanel(SenderOrder order) {
-        double shippingCost = extractShippingCostFromNotes(order);
-        double insuranceCost = extractInsuranceCostFromNotes(order);
-        double totalCost = extractTotalCostFromNotes(order);
+        double shippingCost = shippingCostOf(order);
+        double insuranceCost = insuranceCostOf(order);
+        double totalCost = totalCostOf(order);
         
         JPanel costPanel = new JPanel(new GridBagLayout());
         costPanel.setBackground(new Color(248, 249, 250));
@@ -1374,18 +1416,12 @@ public class TrackOrderPanel extends JPanel {
         
         int row = 0;
         
-        String shippingSpeed = "Standard";
-        String notes = order.getNotes();
-        if (notes != null) {
-            if (notes.contains("Express")) {
-                shippingSpeed = "Express (Priority)";
-            } else if (notes.contains("Standard")) {
-                shippingSpeed = "Standard (Economy)";
-            }
-        }
+        String shippingSpeed = order.isExpress() ? "Express (Priority)" : "Standard (Economy)";
         
         String insuranceInfo = "Not Insured";
-        if (notes != null && notes.contains("Insurance: YES")) {
+        if (order.getDeclaredValue() > 0) {
+            insuranceInfo = String.format("Insured (Declared RM %.2f)", order.getDeclaredValue());
+        } else if (order.getNotes() != null && order.getNotes().contains("Insurance: YES")) {
             insuranceInfo = "Insured";
         }
         
@@ -1711,87 +1747,18 @@ public class TrackOrderPanel extends JPanel {
         return address != null ? address : "N/A";
     }
     
-    private String extractShippingSpeed(String notes) {
-        if (notes != null && !notes.isEmpty()) {
-            if (notes.contains("Shipping Speed: Express")) {
-                return "Express";
-            } else if (notes.contains("Shipping Speed: Standard")) {
-                return "Standard";
-            }
-        }
-        return null;
-    }
-    
-    private double extractTotalCostFromNotes(SenderOrder order) {
-        String notes = order.getNotes();
-        if (notes != null && !notes.isEmpty()) {
-            if (notes.contains("Total Amount: RM")) {
-                try {
-                    int start = notes.indexOf("Total Amount: RM") + 15;
-                    int end = notes.indexOf(";", start);
-                    if (end == -1) end = notes.indexOf("|", start);
-                    if (end == -1) end = notes.indexOf(" ", start + 10);
-                    if (end == -1) end = notes.length();
-                    String costStr = notes.substring(start, end).trim();
-                    costStr = costStr.replaceAll("[^0-9.]", "");
-                    if (!costStr.isEmpty()) {
-                        return Double.parseDouble(costStr);
-                    }
-                } catch (Exception e) {}
-            }
-        }
+    private double totalCostOf(SenderOrder order) {
         return order.getEstimatedCost();
     }
     
-    private double extractShippingCostFromNotes(SenderOrder order) {
-        String notes = order.getNotes();
-        if (notes != null && !notes.isEmpty()) {
-            if (notes.contains("Shipping Cost: RM")) {
-                try {
-                    int start = notes.indexOf("Shipping Cost: RM") + 16;
-                    int end = notes.indexOf(";", start);
-                    if (end == -1) end = notes.indexOf("|", start);
-                    if (end == -1) end = notes.indexOf(" ", start + 10);
-                    if (end == -1) end = notes.length();
-                    String costStr = notes.substring(start, end).trim();
-                    costStr = costStr.replaceAll("[^0-9.]", "");
-                    if (!costStr.isEmpty()) {
-                        return Double.parseDouble(costStr);
-                    }
-                } catch (Exception e) {}
-            }
-        }
-        return order.getEstimatedCost();
+    private double shippingCostOf(SenderOrder order) {
+        return order.getShippingCost() > 0 ? order.getShippingCost() : order.getEstimatedCost();
     }
     
-    private double extractInsuranceCostFromNotes(SenderOrder order) {
-        String notes = order.getNotes();
-        if (notes != null && !notes.isEmpty()) {
-            if (notes.contains("Insurance Cost: RM")) {
-                try {
-                    int start = notes.indexOf("Insurance Cost: RM") + 17;
-                    int end = notes.indexOf(")", start);
-                    if (end == -1) end = notes.indexOf(";", start);
-                    if (end == -1) end = notes.indexOf("|", start);
-                    if (end == -1) end = notes.length();
-                    String costStr = notes.substring(start, end).trim();
-                    costStr = costStr.replaceAll("[^0-9.]", "");
-                    if (!costStr.isEmpty()) {
-                        return Double.parseDouble(costStr);
-                    }
-                } catch (Exception e) {}
-            }
-        }
-        return 0.0;
+    private double insuranceCostOf(SenderOrder order) {
+        return order.getInsuranceCost();
     }
     
-    private void startAutoRefresh() {
-        javax.swing.Timer timer = new javax.swing.Timer(30000, e -> {
-            // Do nothing - auto-refresh is disabled to prevent unwanted behavior
-        });
-        timer.start();
-    }
-
     // Custom rounded border class
     class RoundedBorder extends AbstractBorder {
         private int radius;